@@ -0,0 +1,92 @@
+package liquibase.util.csv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the same loadData style file with {@link CSVReader} and with {@link BufferedCSVReader}, once through the
+ * String[] it shares with CSVReader and once through its char buffer, as loadData reads it.
+ * <p/>
+ * Run with mvn -Pbenchmark test-compile exec:exec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CSVReaderBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private String data;
+
+    @Setup
+    public void createData() {
+        StringBuilder builder = new StringBuilder("id,name,description,active,created,amount\n");
+        for (int i = 0; i < rows; i++) {
+            builder.append(i).append(",name ").append(i)
+                    .append(",\"a description, with a comma and a \"\"quoted\"\" word\",")
+                    .append(i % 2 == 0 ? "true" : "false")
+                    .append(",2011-02-03T04:05:06,")
+                    .append(i * 1.5)
+                    .append(i % 10 == 0 ? "\r\n" : "\n");
+        }
+        data = builder.toString();
+    }
+
+    @Benchmark
+    public int csvReader() throws IOException {
+        CSVReader reader = new CSVReader(new StringReader(data));
+        int length = 0;
+        String[] line;
+        while ((line = reader.readNext()) != null) {
+            for (String field : line) {
+                length += field.length();
+            }
+        }
+        reader.close();
+        return length;
+    }
+
+    @Benchmark
+    public int bufferedCSVReaderReadNext() throws IOException {
+        BufferedCSVReader reader = new BufferedCSVReader(new StringReader(data));
+        int length = 0;
+        String[] line;
+        while ((line = reader.readNext()) != null) {
+            for (String field : line) {
+                length += field.length();
+            }
+        }
+        reader.close();
+        return length;
+    }
+
+    @Benchmark
+    public int bufferedCSVReaderFields() throws IOException {
+        BufferedCSVReader reader = new BufferedCSVReader(new StringReader(data));
+        int length = 0;
+        while (reader.next()) {
+            for (int i = 0; i < reader.getFieldCount(); i++) {
+                length += reader.getFieldLength(i);
+            }
+        }
+        reader.close();
+        return length;
+    }
+}
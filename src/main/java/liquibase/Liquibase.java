@@ -112,6 +112,7 @@ public class Liquibase {
             ChangeLogIterator changeLogIterator = getStandardChangelogIterator(contexts, changeLog);
 
             changeLogIterator.run(new UpdateVisitor(database), database);
+            database.commit();
         } finally {
             try {
                 lockService.releaseLock();
@@ -176,6 +177,7 @@ public class Liquibase {
                     new CountChangeSetFilter(changesToApply));
 
             logIterator.run(new UpdateVisitor(database), database);
+            database.commit();
         } finally {
             lockService.releaseLock();
         }
@@ -391,6 +393,7 @@ public class Liquibase {
                     new DbmsChangeSetFilter(database));
 
             logIterator.run(new ChangeLogSyncVisitor(database), database);
+            database.commit();
         } finally {
             lockService.releaseLock();
         }
@@ -437,6 +440,7 @@ public class Liquibase {
                     new CountChangeSetFilter(1));
 
             logIterator.run(new ChangeLogSyncVisitor(database), database);
+            database.commit();
         } finally {
             lockService.releaseLock();
         }
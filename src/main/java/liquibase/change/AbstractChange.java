@@ -17,7 +17,7 @@ import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
 import liquibase.logging.LogFactory;
 import liquibase.resource.ResourceAccessor;
-import liquibase.serializer.core.string.StringChangeLogSerializer;
+import liquibase.serializer.core.string.ChangeCheckSumEncoder;
 import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.SqlStatement;
 
@@ -41,6 +41,9 @@ public abstract class AbstractChange implements Change {
     @ChangeProperty(includeInSerialization = false)
     private ChangeLogParameters changeLogParameters;
 
+    @ChangeProperty(includeInSerialization = false)
+    private CheckSum checkSum;
+
 
     /**
      * Constructor with tag name and name
@@ -66,6 +69,7 @@ public abstract class AbstractChange implements Change {
 
     public void setChangeSet(ChangeSet changeSet) {
         this.changeSet = changeSet;
+        invalidateCheckSum();
     }
 
     public boolean requiresUpdatedDatabaseMetadata(Database database) {
@@ -137,10 +141,36 @@ public abstract class AbstractChange implements Change {
     }
 
     /**
+     * Returns the checksum computed by {@link #computeCheckSum()}.
+     * The value is cached until {@link #invalidateCheckSum()} is called.
+     *
      * @see liquibase.change.Change#generateCheckSum()
      */
     public CheckSum generateCheckSum() {
-        return CheckSum.compute(new StringChangeLogSerializer().serialize(this));
+        if (checkSum == null) {
+            checkSum = computeCheckSum();
+        }
+        return checkSum;
+    }
+
+    /**
+     * Computes the checksum of this change.  Subclasses whose checksum is not based on their properties override this method.
+     * The value is the same as the checksum of this change's {@link liquibase.serializer.core.string.StringChangeLogSerializer} output.
+     */
+    protected CheckSum computeCheckSum() {
+        return ChangeCheckSumEncoder.generateCheckSum(this);
+    }
+
+    /**
+     * Discards the cached checksum of this change and of the change set containing it.
+     * Property setters call this method.  Code which modifies nested objects such as ColumnConfigs or the lists returned by getters
+     * after the checksum was generated must call it as well.
+     */
+    public void invalidateCheckSum() {
+        this.checkSum = null;
+        if (changeSet != null) {
+            changeSet.invalidateCheckSum();
+        }
     }
 
     //~ ------------------------------------------------------------------------------- private methods
@@ -184,6 +214,7 @@ public abstract class AbstractChange implements Change {
      */
     public void setResourceAccessor(ResourceAccessor resourceAccessor) {
         this.resourceAccessor = resourceAccessor;
+        invalidateCheckSum();
     }
 
     /**
@@ -218,6 +249,7 @@ public abstract class AbstractChange implements Change {
 
     public void setChangeLogParameters(ChangeLogParameters changeLogParameters) {
         this.changeLogParameters = changeLogParameters;
+        invalidateCheckSum();
     }
 
 }
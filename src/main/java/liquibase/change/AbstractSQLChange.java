@@ -39,6 +39,7 @@ public abstract class AbstractSQLChange extends AbstractChange {
      * @param stripComments true if comments should be stripped out, otherwise false
      */
     public void setStripComments(Boolean stripComments) {
+        invalidateCheckSum();
         this.stripComments = stripComments;
     }
 
@@ -57,6 +58,7 @@ public abstract class AbstractSQLChange extends AbstractChange {
      * @param splitStatements set true if the SQL should be split, otherwise false
      */
     public void setSplitStatements(Boolean splitStatements) {
+        invalidateCheckSum();
         this.splitStatements = splitStatements;
     }
     
@@ -76,6 +78,7 @@ public abstract class AbstractSQLChange extends AbstractChange {
      * The raw SQL to use for this change.
      */
     public void setSql(String sql) {
+        invalidateCheckSum();
        this.sql = StringUtils.trimToNull(sql);
     }
 
@@ -84,6 +87,7 @@ public abstract class AbstractSQLChange extends AbstractChange {
     }
 
     public void setEndDelimiter(String endDelimiter) {
+        invalidateCheckSum();
         this.endDelimiter = endDelimiter;
     }
 
@@ -19,20 +19,39 @@ public class ChangeFactory {
 
     private Map<String, SortedSet<Class<? extends Change>>> registry = new ConcurrentHashMap<String, SortedSet<Class<? extends Change>>>();
 
+    private volatile boolean loaded;
+
     private ChangeFactory() {
-        Class<? extends Change>[] classes;
-        try {
-            classes = ServiceLocator.getInstance().findClasses(Change.class);
+    }
 
-            for (Class<? extends Change> clazz : classes) {
-                //noinspection unchecked
-                register(clazz);
+    /**
+     * Registers the Change classes found by the ServiceLocator the first time the factory is used rather than when it
+     * is created.  The classes are collected in a separate map that is copied into the registry before loaded is set,
+     * so a create() from another thread never finds only part of them.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            Class<? extends Change>[] classes;
+            try {
+                classes = ServiceLocator.getInstance().findClasses(Change.class);
+
+                Map<String, SortedSet<Class<? extends Change>>> found = new HashMap<String, SortedSet<Class<? extends Change>>>();
+                for (Class<? extends Change> clazz : classes) {
+                    //noinspection unchecked
+                    registerInternal(found, clazz);
+                }
+                registry.putAll(found);
+                loaded = true;
+            } catch (Exception e) {
+                throw new UnexpectedLiquibaseException(e);
             }
-
-        } catch (Exception e) {
-            throw new UnexpectedLiquibaseException(e);
         }
-
     }
 
     /**
@@ -45,16 +64,23 @@ public class ChangeFactory {
         return instance;
     }
 
-    public static void reset() {
+    public static synchronized void reset() {
         instance = new ChangeFactory();
     }
 
 
-    public void register(Class<? extends Change> changeClass) {
+    public synchronized void register(Class<? extends Change> changeClass) {
+        ensureLoaded();
+        registerInternal(registry, changeClass);
+    }
+
+    private void registerInternal(Map<String, SortedSet<Class<? extends Change>>> registry, Class<? extends Change> changeClass) {
         try {
             String name = changeClass.newInstance().getChangeMetaData().getName();
-            if (registry.get(name) == null) {
-                registry.put(name, new TreeSet<Class<? extends Change>>(new Comparator<Class<? extends Change>>() {
+            SortedSet<Class<? extends Change>> existing = registry.get(name);
+            SortedSet<Class<? extends Change>> classes;
+            if (existing == null) {
+                classes = new TreeSet<Class<? extends Change>>(new Comparator<Class<? extends Change>>() {
                     public int compare(Class<? extends Change> o1, Class<? extends Change> o2) {
                         try {
                             return -1 * new Integer(o1.newInstance().getChangeMetaData().getPriority()).compareTo(o2.newInstance().getChangeMetaData().getPriority());
@@ -62,23 +88,29 @@ public class ChangeFactory {
                             throw new UnexpectedLiquibaseException(e);
                         }
                     }
-                }));
+                });
+            } else {
+                classes = new TreeSet<Class<? extends Change>>(existing); //replaced rather than changed, so create() never sees a set being modified
             }
-            registry.get(name).add(changeClass);
+            classes.add(changeClass);
+            registry.put(name, classes);
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
         }
     }
 
-    public void unregister(String name) {
+    public synchronized void unregister(String name) {
+        ensureLoaded();
         registry.remove(name);
     }
 
     public Map<String, SortedSet<Class<? extends Change>>> getRegistry() {
+        ensureLoaded();
         return registry;
     }
 
     public Change create(String name) {
+        ensureLoaded();
         SortedSet<Class <? extends Change>> classes = registry.get(name);
 
         if (classes == null) {
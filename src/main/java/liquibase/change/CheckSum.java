@@ -36,6 +36,13 @@ public class CheckSum {
         return new CheckSum(MD5Util.computeMD5(stream), getCurrentVersion());
     }
 
+    /**
+     * Creates a current-version checksum from an already computed MD5 digest.
+     */
+    public static CheckSum fromDigest(byte[] md5Digest) {
+        return new CheckSum(new String(MD5Util.encodeHex(md5Digest)), getCurrentVersion());
+    }
+
     @Override
     public String toString() {
         return version+":"+this.checksum;
@@ -37,6 +37,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -45,6 +46,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -53,6 +55,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
 
@@ -61,6 +64,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        invalidateCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -69,6 +73,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
     
     public void setStartWith(BigInteger startWith) {
+        invalidateCheckSum();
     	this.startWith = startWith;
     }
     
@@ -77,6 +82,7 @@ public class AddAutoIncrementChange extends AbstractChange {
     }
     
     public void setIncrementBy(BigInteger incrementBy) {
+        invalidateCheckSum();
     	this.incrementBy = incrementBy;
     }
     
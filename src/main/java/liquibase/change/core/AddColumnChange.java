@@ -36,6 +36,7 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -44,6 +45,7 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -52,10 +54,12 @@ public class AddColumnChange extends AbstractChange implements ChangeWithColumns
     }
 
     public void addColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.add(column);
     }
 
     public void removeColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.remove(column);
     }
 
@@ -38,6 +38,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -46,6 +47,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -54,6 +56,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
     
@@ -62,6 +65,7 @@ public class AddDefaultValueChange extends AbstractChange {
 	}
     
     public void setColumnDataType(String columnDataType) {
+        invalidateCheckSum();
 		this.columnDataType = columnDataType;
 	}
 
@@ -70,6 +74,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValue(String defaultValue) {
+        invalidateCheckSum();
         this.defaultValue = defaultValue;
     }
 
@@ -79,6 +84,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueNumeric(String defaultValueNumeric) {
+        invalidateCheckSum();
         this.defaultValueNumeric = defaultValueNumeric;
     }
 
@@ -87,6 +93,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueDate(String defaultValueDate) {
+        invalidateCheckSum();
         this.defaultValueDate = defaultValueDate;
     }
 
@@ -96,6 +103,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueBoolean(Boolean defaultValueBoolean) {
+        invalidateCheckSum();
         this.defaultValueBoolean = defaultValueBoolean;
     }
 
@@ -104,6 +112,7 @@ public class AddDefaultValueChange extends AbstractChange {
     }
 
     public void setDefaultValueComputed(DatabaseFunction defaultValueComputed) {
+        invalidateCheckSum();
         this.defaultValueComputed = defaultValueComputed;
     }
 
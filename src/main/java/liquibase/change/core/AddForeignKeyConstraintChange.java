@@ -42,6 +42,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableSchemaName(String baseTableSchemaName) {
+        invalidateCheckSum();
         this.baseTableSchemaName = baseTableSchemaName;
     }
 
@@ -50,6 +51,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableName(String baseTableName) {
+        invalidateCheckSum();
         this.baseTableName = baseTableName;
     }
 
@@ -58,6 +60,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseColumnNames(String baseColumnNames) {
+        invalidateCheckSum();
         this.baseColumnNames = baseColumnNames;
     }
 
@@ -66,6 +69,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedTableSchemaName(String referencedTableSchemaName) {
+        invalidateCheckSum();
         this.referencedTableSchemaName = referencedTableSchemaName;
     }
 
@@ -74,6 +78,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedTableName(String referencedTableName) {
+        invalidateCheckSum();
         this.referencedTableName = referencedTableName;
     }
 
@@ -82,6 +87,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setReferencedColumnNames(String referencedColumnNames) {
+        invalidateCheckSum();
         this.referencedColumnNames = referencedColumnNames;
     }
 
@@ -90,6 +96,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        invalidateCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -98,6 +105,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setDeferrable(Boolean deferrable) {
+        invalidateCheckSum();
         this.deferrable = deferrable;
     }
 
@@ -106,6 +114,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setInitiallyDeferred(Boolean initiallyDeferred) {
+        invalidateCheckSum();
         this.initiallyDeferred = initiallyDeferred;
     }
 
@@ -114,12 +123,14 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
 //    }
 
     public void setDeleteCascade(Boolean deleteCascade) {
+        invalidateCheckSum();
         if (deleteCascade != null && deleteCascade) {
             setOnDelete("CASCADE");
         }
     }
 
     public void setOnUpdate(String rule) {
+        invalidateCheckSum();
         this.onUpdate = rule;
     }
 
@@ -128,6 +139,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setOnDelete(String onDelete) {
+        invalidateCheckSum();
         this.onDelete = onDelete;
     }
 
@@ -140,10 +152,12 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
 	}
 
 	public void setReferencesUniqueColumn(Boolean referencesUniqueColumn) {
+	    invalidateCheckSum();
 		this.referencesUniqueColumn = referencesUniqueColumn;
 	}
 
 	public void setOnDelete(ForeignKeyConstraintType rule) {
+	    invalidateCheckSum();
         if (rule == null) {
             //nothing
         } else if (rule == ForeignKeyConstraintType.importedKeyCascade) {
@@ -162,6 +176,7 @@ public class AddForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setOnUpdate(ForeignKeyConstraintType rule) {
+        invalidateCheckSum();
         if (rule == null) {
             //nothing
         } else if (rule == ForeignKeyConstraintType.importedKeyCascade) {
@@ -42,6 +42,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingTableSchemaName(String existingTableSchemaName) {
+        invalidateCheckSum();
         this.existingTableSchemaName = existingTableSchemaName;
     }
 
@@ -50,6 +51,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingTableName(String existingTableName) {
+        invalidateCheckSum();
         this.existingTableName = existingTableName;
     }
 
@@ -58,6 +60,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setExistingColumnName(String existingColumnName) {
+        invalidateCheckSum();
         this.existingColumnName = existingColumnName;
     }
 
@@ -67,6 +70,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewTableSchemaName(String newTableSchemaName) {
+        invalidateCheckSum();
         this.newTableSchemaName = newTableSchemaName;
     }
 
@@ -75,6 +79,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewTableName(String newTableName) {
+        invalidateCheckSum();
         this.newTableName = newTableName;
     }
 
@@ -83,6 +88,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewColumnName(String newColumnName) {
+        invalidateCheckSum();
         this.newColumnName = newColumnName;
     }
 
@@ -91,6 +97,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setNewColumnDataType(String newColumnDataType) {
+        invalidateCheckSum();
         this.newColumnDataType = newColumnDataType;
     }
 
@@ -107,6 +114,7 @@ public class AddLookupTableChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        invalidateCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -40,6 +40,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -48,6 +49,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -56,6 +58,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
 
@@ -64,6 +67,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setDefaultNullValue(String defaultNullValue) {
+        invalidateCheckSum();
         this.defaultNullValue = defaultNullValue;
     }
 
@@ -72,6 +76,7 @@ public class AddNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        invalidateCheckSum();
         this.columnDataType = columnDataType;
     }
 
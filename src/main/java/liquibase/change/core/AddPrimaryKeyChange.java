@@ -37,6 +37,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -45,6 +46,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -53,6 +55,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setColumnNames(String columnNames) {
+        invalidateCheckSum();
         this.columnNames = columnNames;
     }
 
@@ -61,6 +64,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        invalidateCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -70,6 +74,7 @@ public class AddPrimaryKeyChange extends AbstractChange {
     }
 
     public void setTablespace(String tablespace) {
+        invalidateCheckSum();
         this.tablespace = tablespace;
     }
 
@@ -39,6 +39,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -47,6 +48,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -55,6 +57,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setColumnNames(String columnNames) {
+        invalidateCheckSum();
         this.columnNames = columnNames;
     }
 
@@ -63,6 +66,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        invalidateCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -72,6 +76,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setTablespace(String tablespace) {
+        invalidateCheckSum();
         this.tablespace = tablespace;
     }
 
@@ -80,6 +85,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setDeferrable(Boolean deferrable) {
+        invalidateCheckSum();
         this.deferrable = deferrable;
     }
 
@@ -88,6 +94,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setInitiallyDeferred(Boolean initiallyDeferred) {
+        invalidateCheckSum();
         this.initiallyDeferred = initiallyDeferred;
     }
 
@@ -96,6 +103,7 @@ public class AddUniqueConstraintChange extends AbstractChange {
     }
 
     public void setDisabled(Boolean disabled) {
+        invalidateCheckSum();
         this.disabled = disabled;
     }
 
@@ -31,6 +31,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -39,6 +40,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setSequenceName(String sequenceName) {
+        invalidateCheckSum();
         this.sequenceName = sequenceName;
     }
 
@@ -48,6 +50,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setIncrementBy(BigInteger incrementBy) {
+        invalidateCheckSum();
         this.incrementBy = incrementBy;
     }
 
@@ -56,6 +59,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setMaxValue(BigInteger maxValue) {
+        invalidateCheckSum();
         this.maxValue = maxValue;
     }
 
@@ -64,6 +68,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setMinValue(BigInteger minValue) {
+        invalidateCheckSum();
         this.minValue = minValue;
     }
 
@@ -72,6 +77,7 @@ public class AlterSequenceChange extends AbstractChange {
     }
 
     public void setOrdered(Boolean ordered) {
+        invalidateCheckSum();
         this.ordered = ordered;
     }
 
@@ -36,6 +36,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setIndexName(String indexName) {
+        invalidateCheckSum();
         this.indexName = indexName;
     }
 
@@ -44,6 +45,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -52,6 +54,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -60,10 +63,12 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setColumns(List<ColumnConfig> columns) {
+        invalidateCheckSum();
         this.columns = columns;
     }
 
     public void addColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.add(column);
     }
 
@@ -73,6 +78,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTablespace(String tablespace) {
+        invalidateCheckSum();
         this.tablespace = tablespace;
     }
 
@@ -114,6 +120,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
      * @param isUnique the isUnique to set
      */
     public void setUnique(Boolean isUnique) {
+        invalidateCheckSum();
         this.unique = isUnique;
     }
 
@@ -136,6 +143,7 @@ public class CreateIndexChange extends AbstractChange implements ChangeWithColum
 	}
 
 	public void setAssociatedWith(String associatedWith) {
+	    invalidateCheckSum();
 		this.associatedWith = associatedWith;
 	}
 }
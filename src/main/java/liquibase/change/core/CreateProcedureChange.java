@@ -21,6 +21,7 @@ public class CreateProcedureChange extends AbstractChange {
     }
 
     public void setProcedureBody(String procedureBody) {
+        invalidateCheckSum();
         this.procedureBody = procedureBody;
     }
 
@@ -29,6 +30,7 @@ public class CreateProcedureChange extends AbstractChange {
     }
 
     public void setComments(String comments) {
+        invalidateCheckSum();
         this.comments = comments;
     }
 
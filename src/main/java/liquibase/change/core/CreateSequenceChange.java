@@ -33,6 +33,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -41,6 +42,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setSequenceName(String sequenceName) {
+        invalidateCheckSum();
         this.sequenceName = sequenceName;
     }
 
@@ -49,6 +51,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setStartValue(BigInteger startValue) {
+        invalidateCheckSum();
         this.startValue = startValue;
     }
 
@@ -57,6 +60,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setIncrementBy(BigInteger incrementBy) {
+        invalidateCheckSum();
         this.incrementBy = incrementBy;
     }
 
@@ -65,6 +69,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setMaxValue(BigInteger maxValue) {
+        invalidateCheckSum();
         this.maxValue = maxValue;
     }
 
@@ -73,6 +78,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setMinValue(BigInteger minValue) {
+        invalidateCheckSum();
         this.minValue = minValue;
     }
 
@@ -81,6 +87,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setOrdered(Boolean ordered) {
+        invalidateCheckSum();
         this.ordered = ordered;
     }
 
@@ -89,6 +96,7 @@ public class CreateSequenceChange extends AbstractChange {
     }
 
     public void setCycle(Boolean cycle) {
+        invalidateCheckSum();
         this.cycle = cycle;
     }
 
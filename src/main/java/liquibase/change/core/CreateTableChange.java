@@ -123,6 +123,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -131,6 +132,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -140,10 +142,12 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setTablespace(String tablespace) {
+        invalidateCheckSum();
         this.tablespace = tablespace;
     }
 
     public void addColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.add(column);
     }
 
@@ -152,6 +156,7 @@ public class CreateTableChange extends AbstractChange implements ChangeWithColum
     }
 
     public void setRemarks(String remarks) {
+        invalidateCheckSum();
         this.remarks = remarks;
     }
 
@@ -33,6 +33,7 @@ public class CreateViewChange extends AbstractChange {
 	}
 
 	public void setSchemaName(String schemaName) {
+	    invalidateCheckSum();
 		this.schemaName = StringUtils.trimToNull(schemaName);
 	}
 
@@ -41,6 +42,7 @@ public class CreateViewChange extends AbstractChange {
 	}
 
 	public void setViewName(String viewName) {
+	    invalidateCheckSum();
 		this.viewName = viewName;
 	}
 
@@ -49,6 +51,7 @@ public class CreateViewChange extends AbstractChange {
 	}
 
 	public void setSelectQuery(String selectQuery) {
+	    invalidateCheckSum();
 		this.selectQuery = selectQuery;
 	}
 
@@ -57,6 +60,7 @@ public class CreateViewChange extends AbstractChange {
 	}
 
 	public void setReplaceIfExists(Boolean replaceIfExists) {
+	    invalidateCheckSum();
 		this.replaceIfExists = replaceIfExists;
 	}
 
@@ -25,6 +25,7 @@ public class DeleteDataChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -33,6 +34,7 @@ public class DeleteDataChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -41,6 +43,7 @@ public class DeleteDataChange extends AbstractChange {
     }
 
     public void setWhereClause(String whereClause) {
+        invalidateCheckSum();
         this.whereClause = whereClause;
     }
 
@@ -36,6 +36,7 @@ public class DropAllForeignKeyConstraintsChange extends AbstractChange {
     }
 
     public void setBaseTableSchemaName(String baseTableSchemaName) {
+        invalidateCheckSum();
         this.baseTableSchemaName = baseTableSchemaName;
     }
 
@@ -44,6 +45,7 @@ public class DropAllForeignKeyConstraintsChange extends AbstractChange {
     }
 
     public void setBaseTableName(String baseTableName) {
+        invalidateCheckSum();
         this.baseTableName = baseTableName;
     }
 
@@ -34,6 +34,7 @@ public class DropColumnChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
 
@@ -43,6 +44,7 @@ public class DropColumnChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -51,6 +53,7 @@ public class DropColumnChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -34,6 +34,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -42,6 +43,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -50,6 +52,7 @@ public class DropDefaultValueChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
     
@@ -58,6 +61,7 @@ public class DropDefaultValueChange extends AbstractChange {
 	}
     
     public void setColumnDataType(String columnDataType) {
+        invalidateCheckSum();
 		this.columnDataType = columnDataType;
 	}
 
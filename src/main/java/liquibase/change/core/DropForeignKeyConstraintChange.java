@@ -24,6 +24,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableSchemaName(String baseTableSchemaName) {
+        invalidateCheckSum();
         this.baseTableSchemaName = baseTableSchemaName;
     }
 
@@ -32,6 +33,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setBaseTableName(String baseTableName) {
+        invalidateCheckSum();
         this.baseTableName = baseTableName;
     }
 
@@ -40,6 +42,7 @@ public class DropForeignKeyConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        invalidateCheckSum();
         this.constraintName = constraintName;
     }
 
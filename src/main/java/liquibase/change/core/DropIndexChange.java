@@ -29,6 +29,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -37,6 +38,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setIndexName(String indexName) {
+        invalidateCheckSum();
         this.indexName = indexName;
     }
 
@@ -45,6 +47,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -63,6 +66,7 @@ public class DropIndexChange extends AbstractChange {
     }
 
     public void setAssociatedWith(String associatedWith) {
+        invalidateCheckSum();
         this.associatedWith = associatedWith;
     }
 }
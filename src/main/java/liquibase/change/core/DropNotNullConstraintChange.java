@@ -35,6 +35,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -43,6 +44,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -51,6 +53,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
 
@@ -59,6 +62,7 @@ public class DropNotNullConstraintChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        invalidateCheckSum();
         this.columnDataType = columnDataType;
     }
 
@@ -24,6 +24,7 @@ public class DropSequenceChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -32,6 +33,7 @@ public class DropSequenceChange extends AbstractChange {
     }
 
     public void setSequenceName(String sequenceName) {
+        invalidateCheckSum();
         this.sequenceName = sequenceName;
     }
 
@@ -26,6 +26,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -34,6 +35,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -42,6 +44,7 @@ public class DropTableChange extends AbstractChange {
     }
 
     public void setCascadeConstraints(Boolean cascadeConstraints) {
+        invalidateCheckSum();
         this.cascadeConstraints = cascadeConstraints;
     }
 
@@ -36,6 +36,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -44,6 +45,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -52,6 +54,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
     }
 
     public void setConstraintName(String constraintName) {
+        invalidateCheckSum();
         this.constraintName = constraintName;
     }
 
@@ -60,6 +63,7 @@ public class DropUniqueConstraintChange extends AbstractChange {
 	}
 
 	public void setUniqueColumns(String uniqueColumns) {
+	    invalidateCheckSum();
 		this.uniqueColumns = uniqueColumns;
 	}
 
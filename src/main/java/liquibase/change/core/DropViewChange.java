@@ -23,6 +23,7 @@ public class DropViewChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -31,6 +32,7 @@ public class DropViewChange extends AbstractChange {
     }
 
     public void setViewName(String viewName) {
+        invalidateCheckSum();
         this.viewName = viewName;
     }
 
@@ -41,15 +41,18 @@ public class ExecuteShellCommandChange extends AbstractChange {
     }
 
     public void setExecutable(String executable) {
+        invalidateCheckSum();
         this.executable = executable;
     }
 
     public void addArg(String arg) {
+        invalidateCheckSum();
         this.args.add(arg);
     }
 
 
     public void setOs(String os) {
+        invalidateCheckSum();
         this.os = StringUtils.splitAndTrim(os, ",");
     }
 
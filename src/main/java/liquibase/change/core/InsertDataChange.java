@@ -31,6 +31,7 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -39,6 +40,7 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -47,14 +49,17 @@ public class InsertDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setColumns(List<ColumnConfig> columns) {
+        invalidateCheckSum();
         this.columns = columns;
     }
 
     public void addColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.add(column);
     }
 
     public void removeColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.remove(column);
     }
 
@@ -1,19 +1,29 @@
 package liquibase.change.core;
 
 import liquibase.change.*;
+import liquibase.database.AbstractDatabase;
 import liquibase.database.Database;
+import liquibase.database.bulkload.BulkLoader;
+import liquibase.database.bulkload.BulkLoaderFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.logging.LogFactory;
 import liquibase.logging.Logger;
 import liquibase.resource.ResourceAccessor;
+import liquibase.sql.visitor.SqlVisitor;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.InsertStatement;
 import liquibase.util.StringUtils;
+import liquibase.util.csv.BufferedCSVReader;
 import liquibase.util.csv.CSVReader;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +40,15 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
 
     private List<LoadDataColumnConfig> columns = new ArrayList<LoadDataColumnConfig>();
 
+    @ChangeProperty(includeInSerialization = false)
+    private int chunkSize = System.getProperty("liquibase.loadDataChunkSize") == null ? 0 : Integer.parseInt(System.getProperty("liquibase.loadDataChunkSize"));
+    @ChangeProperty(includeInSerialization = false)
+    private int commitInterval = System.getProperty("liquibase.loadDataCommitInterval") == null ? 0 : Integer.parseInt(System.getProperty("liquibase.loadDataCommitInterval"));
+    @ChangeProperty(includeInSerialization = false)
+    private int partitions = System.getProperty("liquibase.loadDataPartitions") == null ? 0 : Integer.parseInt(System.getProperty("liquibase.loadDataPartitions"));
+    @ChangeProperty(includeInSerialization = false)
+    private boolean bulkLoad = Boolean.getBoolean("liquibase.loadDataBulkLoad");
+
 
     public LoadDataChange() {
         super("loadData", "Load Data", ChangeMetaData.PRIORITY_DEFAULT);
@@ -45,6 +64,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -53,6 +73,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -61,6 +82,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     }
 
     public void setFile(String file) {
+        invalidateCheckSum();
         this.file = file;
     }
 
@@ -69,6 +91,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     }
 
     public void setEncoding(String encoding) {
+        invalidateCheckSum();
         this.encoding = encoding;
     }
 
@@ -77,6 +100,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
 	}
 
 	public void setSeparator(String separator) {
+	    invalidateCheckSum();
 		this.separator = separator;
 	}
 
@@ -85,10 +109,12 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
 	}
 
 	public void setQuotchar(String quotchar) {
+	    invalidateCheckSum();
 		this.quotchar = quotchar;
 	}
 
 	public void addColumn(LoadDataColumnConfig column) {
+	    invalidateCheckSum();
       	columns.add(column);
     }
 
@@ -97,6 +123,207 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     }
 
     public SqlStatement[] generateStatements(Database database) {
+        final List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        try {
+            readRows(new RowHandler() {
+                public void handle(InsertStatement insertStatement) {
+                    statements.add(insertStatement);
+                }
+            });
+
+            return statements.toArray(new SqlStatement[statements.size()]);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (UnexpectedLiquibaseException ule) {
+                if (getChangeSet() != null && getChangeSet().getFailOnError() != null && !getChangeSet().getFailOnError()) {
+                    Logger log = LogFactory.getLogger();
+                    log.info("Change set " + getChangeSet().toString(false) + " failed, but failOnError was false.  Error: " + ule.getMessage());        
+                }
+
+            return new SqlStatement[0];
+        } catch (LiquibaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    /**
+     * Executes the rows of the data file in chunks of {@link #getChunkSize()} rows as they are read, so memory use does
+     * not depend on the size of the file.  The statements and their order are the same as the ones of
+     * {@link #generateStatements(Database)}, but a row that cannot be read fails the change rather than skipping the
+     * whole file.
+     * <p/>
+     * If {@link #getCommitInterval()} is set, the rows are committed every that many rows, and the rows committed
+     * before a failure stay in the table.
+     */
+    public void executeStreaming(Database database, List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+        StreamingRowHandler handler = new StreamingRowHandler(database, sqlVisitors, getChunkSize(), getCommitInterval());
+        try {
+            readRows(handler);
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        handler.flush();
+    }
+
+    /**
+     * Executes the rows of the given reader in chunks of the given size, committing every commitInterval rows if it is
+     * greater than 0.
+     */
+    void executeRows(BufferedCSVReader reader, String[] headers, Database database, List<SqlVisitor> sqlVisitors, int chunkSize, int commitInterval) throws IOException, LiquibaseException {
+        StreamingRowHandler handler = new StreamingRowHandler(database, sqlVisitors, chunkSize, commitInterval);
+        readRows(reader, headers, handler);
+        handler.flush();
+    }
+
+    /**
+     * Loads the data without generating all statements up front if possible: through the {@link BulkLoader} of the
+     * database if there is one and {@link #isBulkLoad()} is set, otherwise through
+     * {@link #executeStreaming(Database, List)} if {@link #getChunkSize()} is set.  Only done when the statements run
+     * through a JdbcExecutor, so the output of updateSQL does not change.
+     *
+     * @return false if nothing was done and the statements of {@link #generateStatements(Database)} should be executed
+     */
+    public boolean executeDirectly(Database database, List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+        if (!(ExecutorService.getInstance().getExecutor(database) instanceof JdbcExecutor)) {
+            return false;
+        }
+
+        //bulk loaders only insert, and bypass the sql visitors
+        if (isBulkLoad() && (sqlVisitors == null || sqlVisitors.size() == 0)
+                && createStatement(getSchemaName(), getTableName()).getClass().equals(InsertStatement.class)) {
+            BulkLoader bulkLoader = BulkLoaderFactory.getInstance().getBulkLoader(this, database);
+            if (bulkLoader != null && bulkLoader.load(this, database)) {
+                return true;
+            }
+        }
+
+        if (getPartitions() > 1 && !isCSVReaderOverridden() && database instanceof AbstractDatabase && ((AbstractDatabase) database).getConnectionSupplier() != null
+                && new LoadDataPartitions(this, database, sqlVisitors).execute()) {
+            return true;
+        }
+
+        if (getChunkSize() > 0) {
+            executeStreaming(database, sqlVisitors);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Number of parts the data file is split into to load them in parallel, each over its own connection from the
+     * {@link liquibase.database.ConnectionSupplier} of the database.  Defaults to the liquibase.loadDataPartitions
+     * system property.  A value of 1 or less loads the file over the connection of the change set, as do change sets
+     * that run in a transaction.
+     *
+     * @see LoadDataPartitions
+     */
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * Whether the data is loaded through the {@link BulkLoader} of the database if there is one.  Defaults to the
+     * liquibase.loadDataBulkLoad system property, or false if it is not set, since bulk loaders report errors
+     * differently from insert statements.
+     */
+    public boolean isBulkLoad() {
+        return bulkLoad;
+    }
+
+    public void setBulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+    }
+
+    /**
+     * Number of rows read and executed at a time by {@link #executeStreaming(Database, List)}.  Defaults to the
+     * liquibase.loadDataChunkSize system property.  A value of 0 or less disables streaming.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Number of rows after which {@link #executeStreaming(Database, List)} commits.  Defaults to the
+     * liquibase.loadDataCommitInterval system property.  A value of 0 or less commits only with the change set.
+     */
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Reads the data file, passing the statement of each row to the given handler.  Column mapping, NULL values and
+     * column types are applied the same way as for {@link #generateStatements(Database)}.
+     */
+    public void readRows(RowHandler handler) throws IOException, LiquibaseException {
+        if (isCSVReaderOverridden()) {
+            readRowsFromCSVReader(handler);
+            return;
+        }
+
+        BufferedCSVReader reader = null;
+        try {
+            reader = openCSVReader();
+
+            String[] headers = reader.readNext();
+            if (headers == null) {
+                throw new UnexpectedLiquibaseException("Data file "+getFile()+" was empty");
+            }
+
+            readRows(reader, headers, handler);
+        } finally {
+			if (null != reader) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					;
+				}
+			}
+		}
+    }
+
+    /**
+     * Reads the rows after the header line from the given reader.
+     */
+    void readRows(BufferedCSVReader reader, String[] headers, RowHandler handler) throws IOException, LiquibaseException {
+        String[] columnNames = getColumnNames(headers);
+        LoadDataConverter[] converters = getConverters(headers);
+
+        int lineNumber = 0;
+
+        while (reader.next()) {
+            lineNumber++;
+
+            if (reader.getFieldCount() == 1 && reader.isFieldBlank(0)) {
+                continue; //nothing on this line
+            }
+            InsertStatement insertStatement = this.createStatement(getSchemaName(), getTableName());
+            for (int i=0; i<headers.length; i++) {
+                if( i >= reader.getFieldCount() ) {
+                  throw new UnexpectedLiquibaseException("CSV Line " + lineNumber + " has only " + (i-1) + " columns, the header has " + headers.length);
+                }
+
+                insertStatement.addColumnValue(columnNames[i], converters[i].convert(reader, i));
+            }
+            handler.handle(insertStatement);
+        }
+    }
+
+    /**
+     * Reads the rows through {@link #getCSVReader()}, for subclasses that override it.
+     */
+    private void readRowsFromCSVReader(RowHandler handler) throws IOException, LiquibaseException {
         CSVReader reader = null;
         try {
             reader = getCSVReader();
@@ -105,11 +332,11 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
             if (headers == null) {
                 throw new UnexpectedLiquibaseException("Data file "+getFile()+" was empty");
             }
+            String[] columnNames = getColumnNames(headers);
+            LoadDataConverter[] converters = getConverters(headers);
 
-            List<SqlStatement> statements = new ArrayList<SqlStatement>();
-            String[] line = null;
+            String[] line;
             int lineNumber = 0;
-
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
 
@@ -118,58 +345,14 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
                 }
                 InsertStatement insertStatement = this.createStatement(getSchemaName(), getTableName());
                 for (int i=0; i<headers.length; i++) {
-                    String columnName = null;
                     if( i >= line.length ) {
                       throw new UnexpectedLiquibaseException("CSV Line " + lineNumber + " has only " + (i-1) + " columns, the header has " + headers.length);
                     }
 
-                    Object value = line[i];
-
-                    ColumnConfig columnConfig = getColumnConfig(i, headers[i]);
-                    if (columnConfig != null) {
-                        columnName = columnConfig.getName();
-
-                        if (value.toString().equalsIgnoreCase("NULL")) {
-                            value = "NULL";
-                        } else if (columnConfig.getType() != null) {
-                            ColumnConfig valueConfig = new ColumnConfig();
-                            if (columnConfig.getType().equalsIgnoreCase("BOOLEAN")) {
-                                valueConfig.setValueBoolean(Boolean.parseBoolean(value.toString().toLowerCase()));
-                            } else if (columnConfig.getType().equalsIgnoreCase("NUMERIC")) {
-                                valueConfig.setValueNumeric(value.toString());
-                            } else if (columnConfig.getType().toLowerCase().contains("date") ||columnConfig.getType().toLowerCase().contains("time")) {
-                                valueConfig.setValueDate(value.toString());
-                            } else if (columnConfig.getType().equalsIgnoreCase("STRING")) {
-                                valueConfig.setValue(value.toString());
-                            } else if (columnConfig.getType().equalsIgnoreCase("COMPUTED")) {
-                                valueConfig.setValue(value.toString());
-                            } else {
-                                throw new UnexpectedLiquibaseException("loadData type of "+columnConfig.getType()+" is not supported.  Please use BOOLEAN, NUMERIC, DATE, STRING, or COMPUTED");
-                            }
-                            value = valueConfig.getValueObject();
-                        }
-                    }
-
-                    if (columnName == null) {
-                        columnName = headers[i];
-                    }
-
-
-                    insertStatement.addColumnValue(columnName, value);
+                    insertStatement.addColumnValue(columnNames[i], converters[i].convert(line, i));
                 }
-                statements.add(insertStatement);
+                handler.handle(insertStatement);
             }
-
-            return statements.toArray(new SqlStatement[statements.size()]);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } catch (UnexpectedLiquibaseException ule) {
-                if (getChangeSet() != null && getChangeSet().getFailOnError() != null && !getChangeSet().getFailOnError()) {
-                    Logger log = LogFactory.getLogger();
-                    log.info("Change set " + getChangeSet().toString(false) + " failed, but failOnError was false.  Error: " + ule.getMessage());        
-                }
-
-            return new SqlStatement[0];
         } finally {
 			if (null != reader) {
 				try {
@@ -181,7 +364,64 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
 		}
     }
 
+    private String[] getColumnNames(String[] headers) {
+        String[] columnNames = new String[headers.length];
+        for (int i=0; i<headers.length; i++) {
+            ColumnConfig columnConfig = getColumnConfig(i, headers[i]);
+            if (columnConfig != null && columnConfig.getName() != null) {
+                columnNames[i] = columnConfig.getName();
+            } else {
+                columnNames[i] = headers[i];
+            }
+        }
+        return columnNames;
+    }
+
+    private LoadDataConverter[] getConverters(String[] headers) {
+        LoadDataConverter[] converters = new LoadDataConverter[headers.length];
+        for (int i=0; i<headers.length; i++) {
+            converters[i] = LoadDataConverter.forColumn(getColumnConfig(i, headers[i]));
+        }
+        return converters;
+    }
+
+    /**
+     * Whether a subclass overrides {@link #getCSVReader()}, in which case the file is read through it rather than
+     * through a {@link BufferedCSVReader}, and is not split into partitions.
+     */
+    boolean isCSVReaderOverridden() {
+        for (Class<?> clazz = getClass(); !clazz.equals(LoadDataChange.class); clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("getCSVReader");
+                return true;
+            } catch (NoSuchMethodException e) {
+                //look at the superclass
+            }
+        }
+        return false;
+    }
+
     protected CSVReader getCSVReader() throws IOException {
+        return new CSVReader(openDataFile(), separator.charAt(0), getQuoteCharacter());
+    }
+
+    /**
+     * Returns a {@link BufferedCSVReader} of the data file, read with the encoding, separator and quote character of
+     * this change.
+     */
+    BufferedCSVReader openCSVReader() throws IOException {
+        return new BufferedCSVReader(openDataFile(), separator.charAt(0), getQuoteCharacter());
+    }
+
+    /**
+     * Returns a reader of the data in the given stream, read with the encoding, separator and quote character of this
+     * change.
+     */
+    BufferedCSVReader openCSVReader(InputStream stream) throws IOException {
+        return new BufferedCSVReader(toReader(stream), separator.charAt(0), getQuoteCharacter());
+    }
+
+    private Reader openDataFile() throws IOException {
         ResourceAccessor opener = getResourceAccessor();
         if (opener == null) {
             throw new UnexpectedLiquibaseException("No file opener specified for "+getFile());
@@ -190,25 +430,24 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
         if (stream == null) {
             throw new UnexpectedLiquibaseException("Data file "+getFile()+" was not found");
         }
+        return toReader(stream);
+    }
 
-        InputStreamReader streamReader;
+    private Reader toReader(InputStream stream) throws IOException {
         if (getEncoding() == null) {
-            streamReader = new InputStreamReader(stream);
+            return new InputStreamReader(stream);
         } else {
-            streamReader = new InputStreamReader(stream, getEncoding());
+            return new InputStreamReader(stream, getEncoding());
         }
+    }
 
-        char quotchar;
+    char getQuoteCharacter() {
         if (0 == this.quotchar.length() ) {
         	// hope this is impossible to have a field surrounded with non ascii char 0x01
-        	quotchar = '\1';
+        	return '\1';
         } else {
-        	quotchar = this.quotchar.charAt(0);
+        	return this.quotchar.charAt(0);
         }
-
-        CSVReader reader = new CSVReader(streamReader, separator.charAt(0), quotchar );
-
-        return reader;
     }
 
     protected InsertStatement createStatement(String schemaName, String tableName){
@@ -236,7 +475,7 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
     }
 
     @Override
-    public CheckSum generateCheckSum() {
+    protected CheckSum computeCheckSum() {
         InputStream stream = null;
         try {
             stream = getResourceAccessor().getResourceAsStream(getFile());
@@ -256,4 +495,62 @@ public class LoadDataChange extends AbstractChange implements ChangeWithColumns<
             }
         }
     }
+
+    /**
+     * Receives the rows read by {@link LoadDataChange#readRows(RowHandler)}.
+     */
+    public interface RowHandler {
+        void handle(InsertStatement insertStatement) throws LiquibaseException;
+    }
+
+    /**
+     * Executes the rows it is given in chunks, committing every commitInterval rows if it is greater than 0.
+     * Statements are numbered from 1 in each chunk, so errors are prefixed with the rows of the failed chunk and the
+     * rows already committed.
+     */
+    private static class StreamingRowHandler implements RowHandler {
+        private Database database;
+        private List<SqlVisitor> sqlVisitors;
+        private int chunkSize;
+        private int commitInterval;
+        private List<SqlStatement> chunk = new ArrayList<SqlStatement>();
+        private int rowsSinceCommit = 0;
+        private int rowsExecuted = 0;
+        private int rowsCommitted = 0;
+
+        private StreamingRowHandler(Database database, List<SqlVisitor> sqlVisitors, int chunkSize, int commitInterval) {
+            this.database = database;
+            this.sqlVisitors = sqlVisitors;
+            this.chunkSize = chunkSize;
+            this.commitInterval = commitInterval;
+        }
+
+        public void handle(InsertStatement insertStatement) throws LiquibaseException {
+            chunk.add(insertStatement);
+            rowsSinceCommit++;
+            if (chunk.size() >= chunkSize || (commitInterval > 0 && rowsSinceCommit >= commitInterval)) {
+                flush();
+            }
+        }
+
+        private void flush() throws LiquibaseException {
+            if (chunk.size() > 0) {
+                try {
+                    database.execute(chunk.toArray(new SqlStatement[chunk.size()]), sqlVisitors);
+                } catch (DatabaseException e) {
+                    int firstRow = rowsExecuted + 1;
+                    throw new DatabaseException("Loading rows " + firstRow + " to " + (rowsExecuted + chunk.size())
+                            + " failed, statement 1 being row " + firstRow
+                            + (rowsCommitted == 0 ? "" : " and rows 1 to " + rowsCommitted + " committed") + ": " + e.getMessage(), e);
+                }
+                rowsExecuted += chunk.size();
+                chunk.clear();
+            }
+            if (commitInterval > 0 && rowsSinceCommit >= commitInterval) {
+                database.commit();
+                rowsSinceCommit = 0;
+                rowsCommitted = rowsExecuted;
+            }
+        }
+    }
 }
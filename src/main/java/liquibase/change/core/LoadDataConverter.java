@@ -0,0 +1,156 @@
+package liquibase.change.core;
+
+import liquibase.change.ColumnConfig;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.statement.DatabaseFunction;
+import liquibase.util.ISODateFormat;
+import liquibase.util.csv.BufferedCSVReader;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the values of one column of a loadData file into the values of its insert statements, converted the same way
+ * as ColumnConfig.setValueNumeric(), setValueDate() and setValueBoolean() would.  The converter for each column is
+ * chosen once per file rather than once per value.
+ * <p/>
+ * Converters keep their own formatters, so one must only be used by one thread at a time.
+ */
+abstract class LoadDataConverter {
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("\\d+\\.?\\d*");
+
+    /**
+     * Returns the converter for a column with the given configuration, which may be null.
+     */
+    static LoadDataConverter forColumn(ColumnConfig columnConfig) {
+        if (columnConfig == null) {
+            return new Unmapped();
+        }
+        String type = columnConfig.getType();
+        if (type == null) {
+            return new Text();
+        } else if (type.equalsIgnoreCase("BOOLEAN")) {
+            return new BooleanValue();
+        } else if (type.equalsIgnoreCase("NUMERIC")) {
+            return new NumericValue();
+        } else if (type.toLowerCase().contains("date") || type.toLowerCase().contains("time")) {
+            return new DateValue();
+        } else if (type.equalsIgnoreCase("STRING") || type.equalsIgnoreCase("COMPUTED")) {
+            return new Text();
+        } else {
+            return new Unsupported(type);
+        }
+    }
+
+    /**
+     * Returns the value for the given field of the current record of the reader.  A NULL value becomes the "NULL"
+     * literal.
+     */
+    Object convert(BufferedCSVReader reader, int field) {
+        if (reader.fieldEqualsIgnoreCase(field, "NULL")) {
+            return "NULL";
+        }
+        return convert(reader.getField(field));
+    }
+
+    /**
+     * Returns the value for the given field of a record read by a {@link liquibase.util.csv.CSVReader}.  A NULL value
+     * becomes the "NULL" literal.
+     */
+    Object convert(String[] line, int field) {
+        if (line[field].equalsIgnoreCase("NULL")) {
+            return "NULL";
+        }
+        return convert(line[field]);
+    }
+
+    abstract Object convert(String value);
+
+    /**
+     * Column without configuration, which keeps every value as it is, including NULL.
+     */
+    private static class Unmapped extends LoadDataConverter {
+        @Override
+        Object convert(BufferedCSVReader reader, int field) {
+            return reader.getField(field);
+        }
+
+        @Override
+        Object convert(String[] line, int field) {
+            return line[field];
+        }
+
+        @Override
+        Object convert(String value) {
+            return value;
+        }
+    }
+
+    private static class Text extends LoadDataConverter {
+        @Override
+        Object convert(String value) {
+            return value;
+        }
+    }
+
+    private static class BooleanValue extends LoadDataConverter {
+        @Override
+        Object convert(String value) {
+            return Boolean.valueOf(value);
+        }
+    }
+
+    private static class NumericValue extends LoadDataConverter {
+        private NumberFormat numberFormat = NumberFormat.getInstance(Locale.US);
+
+        @Override
+        Object convert(String value) {
+            if (value.length() > 0 && value.charAt(0) == '(') {
+                value = value.substring(1);
+            }
+            if (value.length() > 0 && value.charAt(value.length() - 1) == ')') {
+                value = value.substring(0, value.length() - 1);
+            }
+
+            if (NUMBER_PATTERN.matcher(value).matches()) {
+                try {
+                    return numberFormat.parse(value);
+                } catch (ParseException e) {
+                    throw new RuntimeException(e);
+                }
+            } else {
+                return new DatabaseFunction(value);
+            }
+        }
+    }
+
+    private static class DateValue extends LoadDataConverter {
+        private ISODateFormat dateFormat = new ISODateFormat();
+
+        @Override
+        Object convert(String value) {
+            try {
+                return dateFormat.parse(value);
+            } catch (ParseException e) {
+                //probably a function
+                return new DatabaseFunction(value);
+            }
+        }
+    }
+
+    private static class Unsupported extends LoadDataConverter {
+        private String type;
+
+        private Unsupported(String type) {
+            this.type = type;
+        }
+
+        @Override
+        Object convert(String value) {
+            throw new UnexpectedLiquibaseException("loadData type of "+type+" is not supported.  Please use BOOLEAN, NUMERIC, DATE, STRING, or COMPUTED");
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package liquibase.change.core;
+
+import liquibase.database.AbstractDatabase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.DatabaseFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.logging.LogFactory;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.util.csv.BufferedCSVReader;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the data file of a {@link LoadDataChange} in parallel over connections from the
+ * {@link liquibase.database.ConnectionSupplier} of the database.
+ * <p/>
+ * The file is split into byte ranges of about the same size, each starting at a record boundary.  The boundaries are
+ * found with one scan over the bytes of the file which tracks quoted values the same way the CSV reader does, so a
+ * line break inside a quoted value never starts a range.  Each range is read by its own thread and executed over its
+ * own connection in chunks through Database.execute(), so statement batching and multi-row inserts apply as usual.
+ * <p/>
+ * The ranges are loaded in separate transactions, so the load cannot be rolled back as a whole.  It is therefore only
+ * done when the connection of the change set is in auto-commit mode, as it is for change sets with
+ * runInTransaction="false": earlier changes such as the creation of the table are then already visible to the other
+ * connections, and the change set did not ask for its changes to be atomic.
+ * <p/>
+ * Nothing is committed until all ranges have loaded without error.  If one fails, all are rolled back.  The
+ * connections commit one after another, so a failure while committing can leave some ranges committed; the error names
+ * them and their byte ranges.
+ */
+class LoadDataPartitions {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_SAMPLE_INTERVAL = 1024;
+    private static final int MAX_SAMPLES = 4096;
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private LoadDataChange change;
+    private Database database;
+    private List<SqlVisitor> sqlVisitors;
+
+    LoadDataPartitions(LoadDataChange change, Database database, List<SqlVisitor> sqlVisitors) {
+        this.change = change;
+        this.database = database;
+        this.sqlVisitors = sqlVisitors;
+    }
+
+    /**
+     * Loads the file, or returns false without doing anything if it cannot be split into at least two ranges, such as
+     * when it is too small or its encoding is not ASCII compatible, or if the connection of the change set is not in
+     * auto-commit mode.
+     */
+    boolean execute() throws LiquibaseException {
+        if (!database.isAutoCommit()) {
+            LogFactory.getLogger().info("Loading " + change.getFile() + " over one connection since its change set runs in a transaction");
+            return false;
+        }
+        if (!isAsciiCompatible()) {
+            return false;
+        }
+
+        final long[] ranges;
+        final String[] headers;
+        try {
+            ranges = findRanges();
+            if (ranges == null) {
+                return false;
+            }
+            headers = readHeaders(ranges[0]);
+            if (headers == null) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+
+        int partitions = ranges.length - 1;
+        StringBuffer description = new StringBuffer();
+        for (int i = 0; i < partitions; i++) {
+            description.append(i == 0 ? "" : ", ").append(ranges[i]).append("-").append(ranges[i + 1]);
+        }
+        LogFactory.getLogger().info("Loading " + change.getFile() + " in " + partitions + " partitions, bytes " + description);
+
+        final List<Database> databases = new ArrayList<Database>();
+        try {
+            for (int i = 0; i < partitions; i++) {
+                databases.add(openDatabase());
+            }
+
+            final Exception[] errors = new Exception[partitions];
+            Thread[] threads = new Thread[partitions];
+            for (int i = 0; i < partitions; i++) {
+                final int partition = i;
+                threads[i] = new Thread(new Runnable() {
+                    public void run() {
+                        try {
+                            load(databases.get(partition), headers, ranges[partition], ranges[partition + 1]);
+                        } catch (Exception e) {
+                            errors[partition] = e;
+                        }
+                    }
+                }, "liquibase-loaddata-" + (i + 1));
+                threads[i].setDaemon(true);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UnexpectedLiquibaseException(e);
+                }
+            }
+
+            for (int i = 0; i < partitions; i++) {
+                if (errors[i] != null) {
+                    rollback(databases);
+                    throw new LiquibaseException("Loading partition " + (i + 1) + " (bytes " + ranges[i] + "-" + ranges[i + 1] + ") of " + change.getFile() + " failed: " + errors[i].getMessage(), errors[i]);
+                }
+            }
+
+            StringBuffer committed = new StringBuffer();
+            for (int i = 0; i < partitions; i++) {
+                try {
+                    databases.get(i).commit();
+                } catch (DatabaseException e) {
+                    rollback(databases);
+                    throw new DatabaseException("Committing partition " + (i + 1) + " of " + change.getFile() + " failed"
+                            + (committed.length() == 0 ? "" : " after the partitions with bytes " + committed + " were committed") + ": " + e.getMessage(), e);
+                }
+                committed.append(i == 0 ? "" : ", ").append(ranges[i]).append("-").append(ranges[i + 1]);
+            }
+        } finally {
+            for (Database partitionDatabase : databases) {
+                ExecutorService.getInstance().clearExecutor(partitionDatabase);
+                try {
+                    partitionDatabase.close();
+                } catch (DatabaseException e) {
+                    LogFactory.getLogger().warning("Cannot close loadData connection: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether bytes below 128 of the encoding of the file always stand for the same ASCII characters, so the line
+     * breaks and quote characters can be found in the bytes.  Only known encodings are accepted: others, such as EBCDIC
+     * or Shift_JIS, use those bytes for other characters or inside multi-byte characters.
+     */
+    boolean isAsciiCompatible() {
+        if (change.getQuoteCharacter() >= 128) {
+            return false;
+        }
+        String encoding;
+        try {
+            encoding = change.getEncoding() == null ? Charset.defaultCharset().name() : Charset.forName(change.getEncoding()).name();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        encoding = encoding.toUpperCase();
+        return encoding.equals("US-ASCII") || encoding.equals("UTF-8") || encoding.startsWith("ISO-8859-") || encoding.startsWith("WINDOWS-125");
+    }
+
+    /**
+     * Returns the start of each range followed by the end of the last one, or null if the file is too small to split.
+     * The first range starts after the header line.
+     */
+    long[] findRanges() throws IOException {
+        List<Long> boundaries = new ArrayList<Long>();
+        long length = scanRecordBoundaries(boundaries);
+        if (boundaries.size() == 0) {
+            return null;
+        }
+
+        long headerEnd = boundaries.get(0);
+        int partitions = change.getPartitions();
+        List<Long> starts = new ArrayList<Long>();
+        starts.add(headerEnd);
+        int next = 1;
+        for (int i = 1; i < partitions; i++) {
+            long target = headerEnd + (length - headerEnd) * i / partitions;
+            while (next < boundaries.size() && boundaries.get(next) < target) {
+                next++;
+            }
+            if (next < boundaries.size() && boundaries.get(next) < length) {
+                starts.add(boundaries.get(next));
+                next++;
+            }
+        }
+        if (starts.size() < 2) {
+            return null;
+        }
+
+        long[] ranges = new long[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            ranges[i] = starts.get(i);
+        }
+        ranges[starts.size()] = length;
+        return ranges;
+    }
+
+    /**
+     * Adds the end of the header record to the given list, followed by record boundaries spread over the file, and
+     * returns the length of the file.  The distance between boundaries starts small and doubles whenever the list gets
+     * too long, so the list stays short for large files but is fine enough to split small ones.  Like the CSV reader, a
+     * line ends at \n, \r or \r\n and a record ends at the end of a line with an even number of quote characters since
+     * the start of the record.
+     */
+    long scanRecordBoundaries(List<Long> boundaries) throws IOException {
+        byte quote = (byte) change.getQuoteCharacter();
+        InputStream in = openDataFile();
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            boolean inQuotes = false;
+            boolean afterCr = false;
+            long position = 0;
+            long nextSample = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    position++;
+                    if (afterCr) {
+                        afterCr = false;
+                        if (b == '\n') {
+                            nextSample = addBoundary(boundaries, position, nextSample, inQuotes);
+                            continue;
+                        }
+                        nextSample = addBoundary(boundaries, position - 1, nextSample, inQuotes);
+                    }
+                    if (b == quote) {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\r') {
+                        afterCr = true;
+                    } else if (b == '\n') {
+                        nextSample = addBoundary(boundaries, position, nextSample, inQuotes);
+                    }
+                }
+            }
+            if (afterCr) {
+                addBoundary(boundaries, position, nextSample, inQuotes);
+            }
+            return position;
+        } finally {
+            in.close();
+        }
+    }
+
+    private long addBoundary(List<Long> boundaries, long position, long nextSample, boolean inQuotes) {
+        if (inQuotes || position < nextSample) {
+            return nextSample;
+        }
+        boundaries.add(position);
+        if (boundaries.size() > MAX_SAMPLES) {
+            for (int i = boundaries.size() - 1; i > 0; i -= 2) {
+                boundaries.remove(i);
+            }
+        }
+        long interval = MIN_SAMPLE_INTERVAL;
+        if (boundaries.size() > 1) {
+            interval = Math.max(interval, (boundaries.get(boundaries.size() - 1) - boundaries.get(0)) / (boundaries.size() - 1));
+        }
+        return position + interval;
+    }
+
+    private String[] readHeaders(long headerEnd) throws IOException {
+        BufferedCSVReader reader = change.openCSVReader(new RangeInputStream(openDataFile(), headerEnd));
+        try {
+            return reader.readNext();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Database openDatabase() throws DatabaseException {
+        DatabaseConnection connection = ((AbstractDatabase) database).getConnectionSupplier().getConnection();
+        Database partitionDatabase = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(connection);
+        partitionDatabase.setAutoCommit(false);
+        if (database.getDefaultSchemaName() != null) {
+            partitionDatabase.setDefaultSchemaName(database.getDefaultSchemaName());
+        }
+        if (partitionDatabase instanceof AbstractDatabase) {
+            ((AbstractDatabase) partitionDatabase).setStatementBatchSize(((AbstractDatabase) database).getStatementBatchSize());
+            ((AbstractDatabase) partitionDatabase).setMultiRowInserts(((AbstractDatabase) database).isMultiRowInserts());
+        }
+        ExecutorService.getInstance().getExecutor(partitionDatabase);
+        return partitionDatabase;
+    }
+
+    private void load(Database partitionDatabase, String[] headers, long start, long end) throws IOException, LiquibaseException {
+        InputStream in = openDataFile();
+        long skipped = 0;
+        while (skipped < start) {
+            long count = in.skip(start - skipped);
+            if (count <= 0) {
+                if (in.read() == -1) {
+                    throw new IOException("Data file " + change.getFile() + " is shorter than " + start + " bytes");
+                }
+                count = 1;
+            }
+            skipped += count;
+        }
+
+        BufferedCSVReader reader = change.openCSVReader(new RangeInputStream(in, end - start));
+        try {
+            int chunkSize = change.getChunkSize() > 0 ? change.getChunkSize() : DEFAULT_CHUNK_SIZE;
+            change.executeRows(reader, headers, partitionDatabase, sqlVisitors, chunkSize, 0);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private InputStream openDataFile() throws IOException {
+        InputStream in = change.getResourceAccessor().getResourceAsStream(change.getFile());
+        if (in == null) {
+            throw new UnexpectedLiquibaseException("Data file " + change.getFile() + " was not found");
+        }
+        return in;
+    }
+
+    private void rollback(List<Database> databases) {
+        for (Database partitionDatabase : databases) {
+            try {
+                partitionDatabase.rollback();
+            } catch (DatabaseException e) {
+                LogFactory.getLogger().warning("Cannot roll back loadData connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads at most the given number of bytes from a stream.
+     */
+    private static class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
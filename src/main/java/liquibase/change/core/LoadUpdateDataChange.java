@@ -28,6 +28,7 @@ public class LoadUpdateDataChange extends LoadDataChange {
 
 
     public void setPrimaryKey(String primaryKey) throws LiquibaseException {
+        invalidateCheckSum();
         if (primaryKey == null) {
             throw new LiquibaseException("primaryKey cannot be null.");
         }
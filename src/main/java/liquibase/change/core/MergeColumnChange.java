@@ -39,6 +39,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -47,6 +48,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -55,6 +57,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setColumn1Name(String column1Name) {
+        invalidateCheckSum();
         this.column1Name = column1Name;
     }
 
@@ -63,6 +66,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setJoinString(String joinString) {
+        invalidateCheckSum();
         this.joinString = joinString;
     }
 
@@ -71,6 +75,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setColumn2Name(String column2Name) {
+        invalidateCheckSum();
         this.column2Name = column2Name;
     }
 
@@ -79,6 +84,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setFinalColumnName(String finalColumnName) {
+        invalidateCheckSum();
         this.finalColumnName = finalColumnName;
     }
 
@@ -87,6 +93,7 @@ public class MergeColumnChange extends AbstractChange {
     }
 
     public void setFinalColumnType(String finalColumnType) {
+        invalidateCheckSum();
         this.finalColumnType = finalColumnType;
     }
 
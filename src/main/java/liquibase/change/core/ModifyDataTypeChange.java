@@ -30,6 +30,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = schemaName;
     }
 
@@ -38,6 +39,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -46,6 +48,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setColumnName(String columnName) {
+        invalidateCheckSum();
         this.columnName = columnName;
     }
 
@@ -54,6 +57,7 @@ public class ModifyDataTypeChange extends AbstractChange {
     }
 
     public void setNewDataType(String newDataType) {
+        invalidateCheckSum();
         this.newDataType = newDataType;
     }
 }
@@ -24,6 +24,7 @@ public class RawSQLChange extends AbstractSQLChange {
     }
 
     public void setComments(String comments) {
+        invalidateCheckSum();
         this.comments = comments;
     }
 
@@ -36,6 +36,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -44,6 +45,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -52,6 +54,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setOldColumnName(String oldColumnName) {
+        invalidateCheckSum();
         this.oldColumnName = oldColumnName;
     }
 
@@ -60,6 +63,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setNewColumnName(String newColumnName) {
+        invalidateCheckSum();
         this.newColumnName = newColumnName;
     }
 
@@ -68,6 +72,7 @@ public class RenameColumnChange extends AbstractChange {
     }
 
     public void setColumnDataType(String columnDataType) {
+        invalidateCheckSum();
         this.columnDataType = columnDataType;
     }
 
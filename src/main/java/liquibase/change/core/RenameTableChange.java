@@ -32,6 +32,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -40,6 +41,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setOldTableName(String oldTableName) {
+        invalidateCheckSum();
         this.oldTableName = oldTableName;
     }
 
@@ -48,6 +50,7 @@ public class RenameTableChange extends AbstractChange {
     }
 
     public void setNewTableName(String newTableName) {
+        invalidateCheckSum();
         this.newTableName = newTableName;
     }
 
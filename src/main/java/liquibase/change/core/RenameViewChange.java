@@ -25,6 +25,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -33,6 +34,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setOldViewName(String oldViewName) {
+        invalidateCheckSum();
         this.oldViewName = oldViewName;
     }
 
@@ -41,6 +43,7 @@ public class RenameViewChange extends AbstractChange {
     }
 
     public void setNewViewName(String newViewName) {
+        invalidateCheckSum();
         this.newViewName = newViewName;
     }
 
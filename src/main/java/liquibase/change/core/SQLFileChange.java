@@ -50,6 +50,7 @@ public class SQLFileChange extends AbstractSQLChange {
      * @param fileName The file to use
      */
     public void setPath(String fileName) {
+        invalidateCheckSum();
         path = fileName;
     }
 
@@ -66,6 +67,7 @@ public class SQLFileChange extends AbstractSQLChange {
      * @param encoding the encoding to set
      */
     public void setEncoding(String encoding) {
+        invalidateCheckSum();
         this.encoding = encoding;
     }
 
@@ -75,6 +77,7 @@ public class SQLFileChange extends AbstractSQLChange {
     }
 
     public void setRelativeToChangelogFile(Boolean relativeToChangelogFile) {
+        invalidateCheckSum();
         this.relativeToChangelogFile = relativeToChangelogFile;
     }
 
@@ -92,7 +95,6 @@ public class SQLFileChange extends AbstractSQLChange {
         if (!loaded) {
             throw new SetupException("<sqlfile path=" + path + "> - Could not find file");
         }
-        LogFactory.getLogger().debug("SQLFile file contents is:" + getSql());
     }
 
     @Override
@@ -186,11 +188,15 @@ public class SQLFileChange extends AbstractSQLChange {
 
     /**
      * Calculates an MD5 from the contents of the file.
+     * <p/>
+     * The checksum is that of the SQL after changelog parameters are expanded, so it is computed from {@link #getSql()}
+     * rather than streamed from the file.  The SQL is held in memory anyway to be split into statements; digesting it
+     * does not make another copy of it.
      *
-     * @see liquibase.change.AbstractChange#generateCheckSum()
+     * @see liquibase.change.AbstractChange#computeCheckSum()
      */
     @Override
-    public CheckSum generateCheckSum() {
+    protected CheckSum computeCheckSum() {
         String sql = getSql();
         if (sql == null) {
             sql = "";
@@ -204,6 +210,7 @@ public class SQLFileChange extends AbstractSQLChange {
 
     @Override
     public void setSql(String sql) {
+        invalidateCheckSum();
         if (getChangeLogParameters() != null) {
             sql = getChangeLogParameters().expandExpressions(sql);
         }
@@ -21,6 +21,7 @@ public class StopChange extends AbstractChange {
     }
 
     public void setMessage(String message) {
+        invalidateCheckSum();
         this.message = StringUtils.trimToNull(message);
     }
 
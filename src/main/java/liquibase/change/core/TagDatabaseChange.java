@@ -20,6 +20,7 @@ public class TagDatabaseChange extends AbstractChange {
     }
 
     public void setTag(String tag) {
+        invalidateCheckSum();
         this.tag = tag;
     }
 
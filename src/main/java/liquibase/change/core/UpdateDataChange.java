@@ -32,6 +32,7 @@ public class UpdateDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setSchemaName(String schemaName) {
+        invalidateCheckSum();
         this.schemaName = StringUtils.trimToNull(schemaName);
     }
 
@@ -40,6 +41,7 @@ public class UpdateDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setTableName(String tableName) {
+        invalidateCheckSum();
         this.tableName = tableName;
     }
 
@@ -48,14 +50,17 @@ public class UpdateDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setColumns(List<ColumnConfig> columns) {
+        invalidateCheckSum();
         this.columns = columns;
     }
 
     public void addColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.add(column);
     }
 
     public void removeColumn(ColumnConfig column) {
+        invalidateCheckSum();
         columns.remove(column);
     }
 
@@ -64,6 +69,7 @@ public class UpdateDataChange extends AbstractChange implements ChangeWithColumn
     }
 
     public void setWhereClause(String whereClause) {
+        invalidateCheckSum();
         this.whereClause = whereClause;
     }
 
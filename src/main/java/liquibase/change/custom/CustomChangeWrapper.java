@@ -48,10 +48,12 @@ public class CustomChangeWrapper extends AbstractChange {
     }
 
     public void setClassLoader(ClassLoader classLoader) {
+        invalidateCheckSum();
         this.classLoader = classLoader;
     }
 
     public void setClass(String className) throws CustomChangeException {
+        invalidateCheckSum();
         this.className = className;
             try {
                 try {
@@ -73,6 +75,7 @@ public class CustomChangeWrapper extends AbstractChange {
     }
 
     public void setParam(String name, String value) {
+        invalidateCheckSum();
         this.params.add(name);
         this.paramValues.put(name, value);
     }
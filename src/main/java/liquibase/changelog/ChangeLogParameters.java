@@ -18,6 +18,11 @@ public class ChangeLogParameters {
     private Database currentDatabase;
     private List<String> currentContexts;
 
+    /**
+     * Last snapshot returned by getSnapshot(), reused until another parameter is set
+     */
+    private ChangeLogParameters snapshot;
+
     public ChangeLogParameters() {
         this(null);
     }
@@ -31,6 +36,25 @@ public class ChangeLogParameters {
         this.currentContexts = new ArrayList<String>();
     }
 
+    private ChangeLogParameters(List<ChangeLogParameter> changeLogParameters, ChangeLogParameters parameters) {
+        this.changeLogParameters = new ArrayList<ChangeLogParameter>(changeLogParameters);
+        this.expressionExpander = new ExpressionExpander(this);
+        this.currentDatabase = parameters.currentDatabase;
+        this.currentContexts = parameters.currentContexts;
+    }
+
+    /**
+     * Returns a copy of the parameters set so far, so expressions can be expanded later on exactly as they would be now
+     * even if more parameters are set in the meantime.
+     */
+    public ChangeLogParameters getSnapshot() {
+        if (snapshot == null || snapshot.changeLogParameters.size() != changeLogParameters.size()
+                || snapshot.currentContexts != currentContexts) {
+            snapshot = new ChangeLogParameters(changeLogParameters, this);
+        }
+        return snapshot;
+    }
+
     public void addContext(String context) {
         this.currentContexts.add(context);
     }
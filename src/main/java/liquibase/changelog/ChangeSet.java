@@ -3,11 +3,14 @@ package liquibase.changelog;
 import liquibase.change.Change;
 import liquibase.change.CheckSum;
 import liquibase.change.core.EmptyChange;
+import liquibase.change.core.InsertDataChange;
 import liquibase.change.core.RawSQLChange;
+import liquibase.database.AbstractDatabase;
 import liquibase.database.Database;
 import liquibase.exception.*;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.logging.LogFactory;
 import liquibase.logging.Logger;
 import liquibase.precondition.Conditional;
@@ -15,6 +18,7 @@ import liquibase.precondition.core.ErrorPrecondition;
 import liquibase.precondition.core.FailedPrecondition;
 import liquibase.precondition.core.PreconditionContainer;
 import liquibase.sql.visitor.SqlVisitor;
+import liquibase.sql.visitor.SqlVisitorFilter;
 import liquibase.statement.SqlStatement;
 import liquibase.util.StreamUtil;
 import liquibase.util.StringUtils;
@@ -153,6 +157,27 @@ public class ChangeSet implements Conditional {
      */
     private List<SqlVisitor> sqlVisitors = new ArrayList<SqlVisitor>();
 
+    /**
+     * Checksum cached by generateCheckSum(), reset by invalidateCheckSum()
+     */
+    private CheckSum checkSum;
+
+    /**
+     * Number of times the checksum has actually been computed rather than returned from the cache
+     */
+    private int checkSumComputationCount;
+
+    /**
+     * Builds the changes, rollback, preconditions, sql visitors and comments the first time they are needed, or null if
+     * they are already built
+     */
+    private ChangeSetBodyLoader bodyLoader;
+
+    /**
+     * Filters passed to filterSqlVisitors() before the body was built, applied to the sql visitors once it is
+     */
+    private List<SqlVisitorFilter> pendingSqlVisitorFilters = new ArrayList<SqlVisitorFilter>();
+
     public boolean shouldAlwaysRun() {
         return alwaysRun;
     }
@@ -194,7 +219,38 @@ public class ChangeSet implements Conditional {
         return filePath;
     }
 
-    public CheckSum generateCheckSum() {
+    /**
+     * Returns the checksum of the changes and sql visitors in this changeSet.
+     * The value is cached until {@link #invalidateCheckSum()} is called, which happens automatically when changes or sql visitors
+     * are added or a change's properties are set.  Safe to call from several threads.
+     */
+    public synchronized CheckSum generateCheckSum() {
+        if (checkSum == null) {
+            if (bodyLoader == null) {
+                checkSum = computeCheckSum();
+            } else {
+                checkSum = computeUnloadedCheckSum();
+            }
+            checkSumComputationCount++;
+        }
+        return checkSum;
+    }
+
+    /**
+     * Discards the cached checksum so the next call to {@link #generateCheckSum()} recomputes it.
+     */
+    public void invalidateCheckSum() {
+        this.checkSum = null;
+    }
+
+    /**
+     * Returns how many times the checksum of this changeSet has been computed.  Useful to confirm the cache is effective.
+     */
+    public int getCheckSumComputationCount() {
+        return checkSumComputationCount;
+    }
+
+    private CheckSum computeCheckSum() {
         StringBuffer stringToMD5 = new StringBuffer();
         for (Change change : getChanges()) {
             stringToMD5.append(change.generateCheckSum()).append(":");
@@ -208,6 +264,56 @@ public class ChangeSet implements Conditional {
         return CheckSum.compute(stringToMD5.toString());
     }
 
+    /**
+     * Computes the checksum of a body that has not been loaded by loading it into a copy of this changeSet, so the changes
+     * built for it can be garbage collected straight away.
+     */
+    private CheckSum computeUnloadedCheckSum() {
+        ChangeSet copy = new ChangeSet(id, author, alwaysRun, runOnChange, filePath, null, null, runInTransaction);
+        try {
+            bodyLoader.load(copy);
+        } catch (LiquibaseException e) {
+            throw new UnexpectedLiquibaseException("Cannot load changeSet " + toString(false), e);
+        }
+        for (SqlVisitorFilter filter : pendingSqlVisitorFilters) {
+            removeSqlVisitors(copy.sqlVisitors, filter);
+        }
+        return copy.computeCheckSum();
+    }
+
+    /**
+     * Sets what builds the body of this changeSet the first time it is needed.  Used by change log parsers to avoid building
+     * changes for changeSets that have already been ran.  The checksum can be computed without loading the body.
+     */
+    public void setBodyLoader(ChangeSetBodyLoader bodyLoader) {
+        this.bodyLoader = bodyLoader;
+        invalidateCheckSum();
+    }
+
+    /**
+     * Returns true unless the body of this changeSet is still to be built by its {@link ChangeSetBodyLoader}.
+     */
+    public boolean isBodyLoaded() {
+        return bodyLoader == null;
+    }
+
+    private synchronized void loadBody() {
+        if (bodyLoader == null) {
+            return;
+        }
+        ChangeSetBodyLoader loader = bodyLoader;
+        bodyLoader = null;
+        try {
+            loader.load(this);
+        } catch (LiquibaseException e) {
+            throw new UnexpectedLiquibaseException("Cannot load changeSet " + toString(false), e);
+        }
+        for (SqlVisitorFilter filter : pendingSqlVisitorFilters) {
+            removeSqlVisitors(sqlVisitors, filter);
+        }
+        pendingSqlVisitorFilters.clear();
+    }
+
     /**
      * This method will actually execute each of the changes in the list against the
      * specified database.
@@ -218,6 +324,7 @@ public class ChangeSet implements Conditional {
         if (validationFailed) {
             return ExecType.MARK_RAN;
         }
+        loadBody();
 
         long startTime = new Date().getTime();
 
@@ -313,9 +420,28 @@ public class ChangeSet implements Conditional {
                 }
 
                 log.debug("Reading ChangeSet: " + toString());
-                for (Change change : getChanges()) {
-                    database.executeStatements(change, databaseChangeLog, sqlVisitors);
-                    log.debug(change.getConfirmationMessage());
+                List<Change> changes = getChanges();
+                boolean combineInserts = combinesInserts(database, executor);
+                for (int i = 0; i < changes.size(); i++) {
+                    Change change = changes.get(i);
+                    if (combineInserts && change instanceof InsertDataChange && i + 1 < changes.size() && changes.get(i + 1) instanceof InsertDataChange) {
+                        //consecutive inserts are executed together so the database can combine them into multi-row inserts
+                        List<Change> insertChanges = new ArrayList<Change>();
+                        List<SqlStatement> statements = new ArrayList<SqlStatement>();
+                        while (i < changes.size() && changes.get(i) instanceof InsertDataChange) {
+                            insertChanges.add(changes.get(i));
+                            statements.addAll(Arrays.asList(changes.get(i).generateStatements(database)));
+                            i++;
+                        }
+                        i--;
+                        database.execute(statements.toArray(new SqlStatement[statements.size()]), sqlVisitors);
+                        for (Change insertChange : insertChanges) {
+                            log.debug(insertChange.getConfirmationMessage());
+                        }
+                    } else {
+                        database.executeStatements(change, databaseChangeLog, sqlVisitors);
+                        log.debug(change.getConfirmationMessage());
+                    }
                 }
 
                 if (runInTransaction) {
@@ -361,7 +487,17 @@ public class ChangeSet implements Conditional {
         return execType;
     }
 
+    /**
+     * Whether consecutive InsertDataChanges are executed together.  Only done if the database combines them into
+     * multi-row inserts, otherwise each change is executed through Database.executeStatements() like any other.
+     */
+    private boolean combinesInserts(Database database, Executor executor) {
+        return database instanceof AbstractDatabase && ((AbstractDatabase) database).isMultiRowInserts()
+                && executor instanceof JdbcExecutor && (sqlVisitors == null || sqlVisitors.size() == 0);
+    }
+
     public void rollback(Database database) throws RollbackFailedException {
+        loadBody();
         try {
             Executor executor = ExecutorService.getInstance().getExecutor(database);
             executor.comment("Rolling Back ChangeSet: " + toString());
@@ -407,12 +543,15 @@ public class ChangeSet implements Conditional {
      * Returns an unmodifiable list of changes.  To add one, use the addRefactoing method.
      */
     public List<Change> getChanges() {
+        loadBody();
         return Collections.unmodifiableList(changes);
     }
 
     public void addChange(Change change) {
+        loadBody();
         changes.add(change);
         change.setChangeSet(this);
+        invalidateCheckSum();
     }
 
     public String getId() {
@@ -441,10 +580,12 @@ public class ChangeSet implements Conditional {
     }
 
     public String getComments() {
+        loadBody();
         return comments;
     }
 
     public void setComments(String comments) {
+        loadBody();
         this.comments = comments;
     }
 
@@ -461,10 +602,12 @@ public class ChangeSet implements Conditional {
     }
 
     public Change[] getRollBackChanges() {
+        loadBody();
         return rollBackChanges.toArray(new Change[rollBackChanges.size()]);
     }
 
     public void addRollBackSQL(String sql) {
+        loadBody();
         if (StringUtils.trimToNull(sql) == null) {
             rollBackChanges.add(new EmptyChange());
             return;
@@ -476,11 +619,13 @@ public class ChangeSet implements Conditional {
     }
 
     public void addRollbackChange(Change change) throws UnsupportedChangeException {
+        loadBody();
         rollBackChanges.add(change);
     }
 
 
     public boolean supportsRollback(Database database) {
+        loadBody();
         if (rollBackChanges != null && rollBackChanges.size() > 0) {
             return true;
         }
@@ -572,18 +717,47 @@ public class ChangeSet implements Conditional {
     }
 
     public PreconditionContainer getPreconditions() {
+        loadBody();
         return preconditions;
     }
 
     public void setPreconditions(PreconditionContainer preconditionContainer) {
+        loadBody();
         this.preconditions = preconditionContainer;
     }
 
     public void addSqlVisitor(SqlVisitor sqlVisitor) {
+        loadBody();
         sqlVisitors.add(sqlVisitor);
+        invalidateCheckSum();
     }
 
     public List<SqlVisitor> getSqlVisitors() {
+        loadBody();
         return sqlVisitors;
     }
+
+    /**
+     * Removes the sql visitors the given filter does not accept.  If the body has not been built yet, the filter is applied
+     * when it is (and when the checksum is computed), so filtering does not build it.
+     */
+    public synchronized void filterSqlVisitors(SqlVisitorFilter filter) {
+        if (bodyLoader != null) {
+            pendingSqlVisitorFilters.add(filter);
+            invalidateCheckSum();
+        } else if (removeSqlVisitors(sqlVisitors, filter)) {
+            invalidateCheckSum();
+        }
+    }
+
+    private static boolean removeSqlVisitors(List<SqlVisitor> sqlVisitors, SqlVisitorFilter filter) {
+        boolean removed = false;
+        for (Iterator<SqlVisitor> iterator = sqlVisitors.iterator(); iterator.hasNext();) {
+            if (!filter.accepts(iterator.next())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
 }
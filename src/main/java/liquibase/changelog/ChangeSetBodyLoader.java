@@ -0,0 +1,18 @@
+package liquibase.changelog;
+
+import liquibase.exception.LiquibaseException;
+
+/**
+ * Builds the body of a {@link ChangeSet} that was parsed without it: its changes, rollback, preconditions, sql visitors
+ * and comments.
+ *
+ * @see ChangeSet#setBodyLoader(ChangeSetBodyLoader)
+ */
+public interface ChangeSetBodyLoader {
+
+    /**
+     * Adds the body to the given change set through its addChange(), addRollbackChange(), setPreconditions() etc.
+     * methods.  May be called more than once, each time with a different change set with the same header.
+     */
+    void load(ChangeSet changeSet) throws LiquibaseException;
+}
@@ -0,0 +1,202 @@
+package liquibase.changelog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * List of previously-ran change sets which keeps a hash index on the normalized (file path, id, author) of each entry
+ * so a change set's run history can be found without scanning the whole list.
+ * Paths are compared with '\' and '/' treated the same, and all three parts are compared case-insensitively, matching
+ * {@link RanChangeSet#isSameAs(ChangeSet)}.
+ * If the list contains more than one entry for the same change set, lookups return the first one, just like a linear scan.
+ */
+public class RanChangeSetList extends ArrayList<RanChangeSet> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<Key, RanChangeSet> index = new HashMap<Key, RanChangeSet>();
+
+    public RanChangeSetList() {
+    }
+
+    public RanChangeSetList(Collection<? extends RanChangeSet> ranChangeSets) {
+        super(ranChangeSets);
+        reindex();
+    }
+
+    /**
+     * Returns the given list if it is already a RanChangeSetList, otherwise an indexed copy of it.
+     */
+    public static RanChangeSetList indexed(List<RanChangeSet> ranChangeSets) {
+        if (ranChangeSets instanceof RanChangeSetList) {
+            return (RanChangeSetList) ranChangeSets;
+        }
+        if (ranChangeSets == null) {
+            return new RanChangeSetList();
+        }
+        return new RanChangeSetList(ranChangeSets);
+    }
+
+    /**
+     * Returns the history entry for the given change set, or null if it has not been ran.
+     */
+    public RanChangeSet getRanChangeSet(ChangeSet changeSet) {
+        return index.get(new Key(changeSet.getFilePath(), changeSet.getId(), changeSet.getAuthor()));
+    }
+
+    @Override
+    public boolean add(RanChangeSet ranChangeSet) {
+        super.add(ranChangeSet);
+        Key key = new Key(ranChangeSet);
+        if (!index.containsKey(key)) {
+            index.put(key, ranChangeSet);
+        }
+        return true;
+    }
+
+    @Override
+    public void add(int position, RanChangeSet ranChangeSet) {
+        super.add(position, ranChangeSet);
+        reindex();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends RanChangeSet> ranChangeSets) {
+        boolean changed = false;
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            changed = add(ranChangeSet) || changed;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean addAll(int position, Collection<? extends RanChangeSet> ranChangeSets) {
+        boolean changed = super.addAll(position, ranChangeSets);
+        reindex();
+        return changed;
+    }
+
+    @Override
+    public RanChangeSet set(int position, RanChangeSet ranChangeSet) {
+        RanChangeSet previous = super.set(position, ranChangeSet);
+        reindex();
+        return previous;
+    }
+
+    @Override
+    public RanChangeSet remove(int position) {
+        RanChangeSet removed = super.remove(position);
+        reindex(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int position = indexOf(o);
+        if (position < 0) {
+            return false;
+        }
+        remove(position);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = super.removeAll(c);
+        reindex();
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean changed = super.retainAll(c);
+        reindex();
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        index.clear();
+    }
+
+    /**
+     * Re-points the index entry for a removed change set to the next matching entry still in the list, if any.
+     */
+    private void reindex(RanChangeSet removed) {
+        Key key = new Key(removed);
+        if (index.get(key) != removed) {
+            return;
+        }
+        index.remove(key);
+        for (RanChangeSet ranChangeSet : this) {
+            if (key.equals(new Key(ranChangeSet))) {
+                index.put(key, ranChangeSet);
+                return;
+            }
+        }
+    }
+
+    private void reindex() {
+        index.clear();
+        for (RanChangeSet ranChangeSet : this) {
+            Key key = new Key(ranChangeSet);
+            if (!index.containsKey(key)) {
+                index.put(key, ranChangeSet);
+            }
+        }
+    }
+
+    private static class Key {
+        private final String filePath;
+        private final String id;
+        private final String author;
+        private final int hashCode;
+
+        private Key(RanChangeSet ranChangeSet) {
+            this(ranChangeSet.getChangeLog(), ranChangeSet.getId(), ranChangeSet.getAuthor());
+        }
+
+        private Key(String filePath, String id, String author) {
+            this.filePath = normalize(filePath == null ? null : filePath.replace('\\', '/'));
+            this.id = normalize(id);
+            this.author = normalize(author);
+
+            int result = this.filePath == null ? 0 : this.filePath.hashCode();
+            result = 29 * result + (this.id == null ? 0 : this.id.hashCode());
+            result = 29 * result + (this.author == null ? 0 : this.author.hashCode());
+            this.hashCode = result;
+        }
+
+        private static String normalize(String value) {
+            if (value == null) {
+                return null;
+            }
+            return value.toUpperCase(Locale.ENGLISH).toLowerCase(Locale.ENGLISH);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode
+                    && (filePath == null ? that.filePath == null : filePath.equals(that.filePath))
+                    && (id == null ? that.id == null : id.equals(that.id))
+                    && (author == null ? that.author == null : author.equals(that.author));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package liquibase.changelog.filter;
 import liquibase.changelog.ChangeSet;
 import liquibase.util.StringUtils;
 import liquibase.sql.visitor.SqlVisitor;
+import liquibase.sql.visitor.SqlVisitorFilter;
 
 import java.util.*;
 
@@ -33,21 +34,19 @@ public class ContextChangeSetFilter implements ChangeSetFilter {
     }
 
     public boolean accepts(ChangeSet changeSet) {
-        List<SqlVisitor> visitorsToRemove = new ArrayList<SqlVisitor>();
-        for (SqlVisitor visitor : changeSet.getSqlVisitors()) {
-            if (visitor.getContexts() != null && visitor.getContexts().size() > 0) {
-                boolean shouldRemove = true;
-                for (String context : contexts) {
-                    if (visitor.getContexts().contains(context.toLowerCase())) {
-                        shouldRemove = false;
+        changeSet.filterSqlVisitors(new SqlVisitorFilter() {
+            public boolean accepts(SqlVisitor visitor) {
+                if (visitor.getContexts() != null && visitor.getContexts().size() > 0) {
+                    for (String context : contexts) {
+                        if (visitor.getContexts().contains(context.toLowerCase())) {
+                            return true;
+                        }
                     }
+                    return false;
                 }
-                if (shouldRemove) {
-                    visitorsToRemove.add(visitor);
-                }
+                return true;
             }
-        }
-        changeSet.getSqlVisitors().removeAll(visitorsToRemove);
+        });
 
         if (contexts == null || contexts.size() == 0) {
             return true;
@@ -3,9 +3,7 @@ package liquibase.changelog.filter;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
 import liquibase.sql.visitor.SqlVisitor;
-
-import java.util.List;
-import java.util.ArrayList;
+import liquibase.sql.visitor.SqlVisitorFilter;
 
 public class DbmsChangeSetFilter implements ChangeSetFilter {
 
@@ -16,19 +14,14 @@ public class DbmsChangeSetFilter implements ChangeSetFilter {
     }
 
     public boolean accepts(ChangeSet changeSet) {
-         List<SqlVisitor> visitorsToRemove = new ArrayList<SqlVisitor>();
-        for (SqlVisitor visitor : changeSet.getSqlVisitors()) {
-            if (databaseString != null && visitor.getApplicableDbms() != null && visitor.getApplicableDbms().size() > 0) {
-                boolean shouldRemove = true;
-                    if (visitor.getApplicableDbms().contains(databaseString)) {
-                        shouldRemove = false;
-                    }
-                if (shouldRemove) {
-                    visitorsToRemove.add(visitor);
+        changeSet.filterSqlVisitors(new SqlVisitorFilter() {
+            public boolean accepts(SqlVisitor visitor) {
+                if (databaseString != null && visitor.getApplicableDbms() != null && visitor.getApplicableDbms().size() > 0) {
+                    return visitor.getApplicableDbms().contains(databaseString);
                 }
+                return true;
             }
-        }
-        changeSet.getSqlVisitors().removeAll(visitorsToRemove);
+        });
 
         if (databaseString == null) {
             return true;
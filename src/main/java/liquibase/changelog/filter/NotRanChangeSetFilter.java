@@ -2,6 +2,7 @@ package liquibase.changelog.filter;
 
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetList;
 
 import java.util.List;
 
@@ -10,18 +11,11 @@ public class NotRanChangeSetFilter implements ChangeSetFilter {
     public List<RanChangeSet> ranChangeSets;
 
     public NotRanChangeSetFilter(List<RanChangeSet> ranChangeSets) {
-        this.ranChangeSets = ranChangeSets;
+        this.ranChangeSets = RanChangeSetList.indexed(ranChangeSets);
     }
 
     @SuppressWarnings({"RedundantIfStatement"})
     public boolean accepts(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : ranChangeSets) {
-            if (ranChangeSet.getId().equalsIgnoreCase(changeSet.getId())
-                    && ranChangeSet.getAuthor().equalsIgnoreCase(changeSet.getAuthor())
-                    && ranChangeSet.getChangeLog().equalsIgnoreCase(changeSet.getFilePath())) {
-                return false;
-            }
-        }
-        return true;
+        return RanChangeSetList.indexed(ranChangeSets).getRanChangeSet(changeSet) == null;
     }
 }
@@ -2,6 +2,7 @@ package liquibase.changelog.filter;
 
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetList;
 
 import java.util.List;
 
@@ -9,18 +10,10 @@ public abstract class RanChangeSetFilter implements ChangeSetFilter {
     public List<RanChangeSet> ranChangeSets;
 
     public RanChangeSetFilter(List<RanChangeSet> ranChangeSets) {
-        this.ranChangeSets = ranChangeSets;
+        this.ranChangeSets = RanChangeSetList.indexed(ranChangeSets);
     }
 
     public RanChangeSet getRanChangeSet(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : ranChangeSets) {
-            if (ranChangeSet.getId().equalsIgnoreCase(changeSet.getId())
-                    && ranChangeSet.getAuthor().equalsIgnoreCase(changeSet.getAuthor())
-                    && ranChangeSet.getChangeLog().equalsIgnoreCase(changeSet.getFilePath())) {
-                return ranChangeSet;
-            }
-        }
-        return null;
-
+        return RanChangeSetList.indexed(ranChangeSets).getRanChangeSet(changeSet);
     }
 }
@@ -2,6 +2,7 @@ package liquibase.changelog.filter;
 
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetList;
 import liquibase.database.Database;
 import liquibase.exception.DatabaseException;
 import liquibase.executor.ExecutorService;
@@ -18,33 +19,21 @@ public class ShouldRunChangeSetFilter implements ChangeSetFilter {
 
     public ShouldRunChangeSetFilter(Database database) throws DatabaseException {
         this.database = database;
-        this.ranChangeSets = database.getRanChangeSetList();
+        this.ranChangeSets = RanChangeSetList.indexed(database.getRanChangeSetList());
     }
 
     @SuppressWarnings({"RedundantIfStatement"})
     public boolean accepts(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : ranChangeSets) {
-            if (ranChangeSet.getId().equals(changeSet.getId())
-                    && ranChangeSet.getAuthor().equals(changeSet.getAuthor())
-                    && isPathEquals(changeSet, ranChangeSet)) {
-                if (changeSet.shouldAlwaysRun() && ranChangeSet.getLastCheckSum() != null) {
-                    return true;
-                } else if (changeSet.shouldRunOnChange() && !changeSet.generateCheckSum().equals(ranChangeSet.getLastCheckSum())) {
-                    return true;
-                } else {
-                    return false;
-                }
-            }
+        RanChangeSet ranChangeSet = RanChangeSetList.indexed(ranChangeSets).getRanChangeSet(changeSet);
+        if (ranChangeSet == null) {
+            return true;
         }
-        return true;
-    }
-
-    private boolean isPathEquals(ChangeSet changeSet, RanChangeSet ranChangeSet) {
-        if (System.getProperty("os.name").toLowerCase().startsWith("win")) {
-            return ranChangeSet.getChangeLog().equalsIgnoreCase(changeSet.getFilePath());
+        if (changeSet.shouldAlwaysRun() && ranChangeSet.getLastCheckSum() != null) {
+            return true;
+        } else if (changeSet.shouldRunOnChange() && !changeSet.generateCheckSum().equals(ranChangeSet.getLastCheckSum())) {
+            return true;
         } else {
-            return ranChangeSet.getChangeLog().equalsIgnoreCase(changeSet.getFilePath());
+            return false;
         }
-
     }
 }
@@ -30,7 +30,6 @@ public class UpdateVisitor implements ChangeSetVisitor {
         }
 
         this.database.markChangeSetExecStatus(changeSet, execType);
-
-        this.database.commit();
+        this.database.commitChangeSetExecStatus();
     }
 }
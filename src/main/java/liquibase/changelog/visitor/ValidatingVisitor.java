@@ -4,6 +4,7 @@ import liquibase.change.Change;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetList;
 import liquibase.database.Database;
 import liquibase.exception.*;
 import liquibase.logging.Logger;
@@ -32,11 +33,11 @@ public class ValidatingVisitor implements ChangeSetVisitor {
 
     private Set<String> seenChangeSets = new HashSet<String>();
 
-    private List<RanChangeSet> ranChangeSets;
+    private RanChangeSetList ranChangeSets;
     private Database database;
 
     public ValidatingVisitor(List<RanChangeSet> ranChangeSets) {
-        this.ranChangeSets = ranChangeSets;
+        this.ranChangeSets = RanChangeSetList.indexed(ranChangeSets);
     }
 
     public void validate(Database database, DatabaseChangeLog changeLog) {
@@ -67,6 +68,14 @@ public class ValidatingVisitor implements ChangeSetVisitor {
     }
 
     public void visit(ChangeSet changeSet, DatabaseChangeLog databaseChangeLog, Database database) {
+        RanChangeSet ranChangeSet = ranChangeSets.getRanChangeSet(changeSet);
+        if (!changeSet.isBodyLoaded() && ranChangeSet != null && !changeSet.shouldAlwaysRun()
+                && changeSet.generateCheckSum().equals(ranChangeSet.getLastCheckSum())) {
+            //already ran and unchanged, so it will not be executed: no need to build and validate its changes
+            addIfDuplicate(changeSet);
+            return;
+        }
+
         for (Change change : changeSet.getChanges()) {
             try {
                 change.init();
@@ -91,19 +100,18 @@ public class ValidatingVisitor implements ChangeSetVisitor {
             }
         }
 
-        for (RanChangeSet ranChangeSet : ranChangeSets) {
-            if (ranChangeSet.getId().equalsIgnoreCase(changeSet.getId())
-                    && ranChangeSet.getAuthor().equalsIgnoreCase(changeSet.getAuthor())
-                    && ranChangeSet.getChangeLog().equalsIgnoreCase(changeSet.getFilePath())) {
-                if (!changeSet.isCheckSumValid(ranChangeSet.getLastCheckSum())) {
-                    if (!changeSet.shouldRunOnChange()) {
-                        invalidMD5Sums.add(changeSet);
-                    }
+        if (ranChangeSet != null) {
+            if (!changeSet.isCheckSumValid(ranChangeSet.getLastCheckSum())) {
+                if (!changeSet.shouldRunOnChange()) {
+                    invalidMD5Sums.add(changeSet);
                 }
             }
         }
 
+        addIfDuplicate(changeSet);
+    }
 
+    private void addIfDuplicate(ChangeSet changeSet) {
         String changeSetString = changeSet.toString(false);
         if (seenChangeSets.contains(changeSetString)) {
             duplicateChangeSets.add(changeSet);
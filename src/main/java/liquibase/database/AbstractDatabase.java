@@ -6,6 +6,7 @@ import liquibase.change.core.*;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetList;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.database.core.*;
@@ -14,6 +15,8 @@ import liquibase.diff.DiffStatusListener;
 import liquibase.exception.*;
 import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.BatchingExecutor;
+import liquibase.executor.jvm.JdbcExecutor;
 import liquibase.logging.LogFactory;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.DatabaseSnapshotGeneratorFactory;
@@ -33,6 +36,11 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.regex.Pattern;
 
 
@@ -51,7 +59,7 @@ public abstract class AbstractDatabase implements Database {
 	// List of Database native functions.
 	protected List<DatabaseFunction> databaseFunctions = new ArrayList<DatabaseFunction>();
 
-    private List<RanChangeSet> ranChangeSetList;
+    private RanChangeSetList ranChangeSetList;
 
     private static Pattern CREATE_VIEW_AS_PATTERN = Pattern.compile("^CREATE\\s+.*?VIEW\\s+.*?AS\\s+", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
@@ -59,6 +67,28 @@ public abstract class AbstractDatabase implements Database {
     private String databaseChangeLogLockTableName = System.getProperty("liquibase.databaseChangeLogLockTableName") == null ? "DatabaseChangeLogLock".toUpperCase() : System.getProperty("liquibase.databaseChangeLogLockTableName");
     private String liquibaseSchemaName = System.getProperty("liquibase.schemaName") == null ? null : System.getProperty("liquibase.schemaName");
 
+    /**
+     * Defaults of the batch sizes and checksum threads, read from their system properties once rather than by every
+     * instance, so a bad value is only reported once.
+     */
+    private static final int DEFAULT_DATABASE_CHANGE_LOG_BATCH_SIZE = getPositiveIntProperty("liquibase.databaseChangeLogBatchSize", 1);
+    private static final int DEFAULT_STATEMENT_BATCH_SIZE = getPositiveIntProperty("liquibase.statementBatchSize", 1000);
+    private static final int DEFAULT_CHECKSUM_THREADS = getPositiveIntProperty("liquibase.checkSumThreads", Runtime.getRuntime().availableProcessors());
+
+    private int databaseChangeLogBatchSize = DEFAULT_DATABASE_CHANGE_LOG_BATCH_SIZE;
+    private int statementBatchSize = DEFAULT_STATEMENT_BATCH_SIZE;
+    private int checkSumThreads = DEFAULT_CHECKSUM_THREADS;
+    private boolean multiRowInserts = Boolean.getBoolean("liquibase.multiRowInserts");
+    private ConnectionSupplier connectionSupplier;
+
+    /**
+     * Number of rows written per batch, and per commit, when updating stored checksums.
+     */
+    private static final int CHECKSUM_UPDATE_BATCH_SIZE = 1000;
+
+    private List<MarkChangeSetRanStatement> pendingChangeSetExecStatus = new ArrayList<MarkChangeSetRanStatement>();
+    private int writtenChangeSetExecStatus = 0;
+
     private Integer lastChangeSetSequenceValue;
 
     private boolean canCacheLiquibaseTableInfo = false;
@@ -71,6 +101,34 @@ public abstract class AbstractDatabase implements Database {
     protected AbstractDatabase() {
     }
 
+    /**
+     * Returns the value of the given system property, or the default value if it is not set.  A value that is not a
+     * number of at least 1 is logged and the default value used instead.
+     */
+    private static int getPositiveIntProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= 1) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            //logged below
+        }
+        LogFactory.getLogger().warning("Ignoring " + name + "=" + value + ", which is not a number of at least 1.  Using " + defaultValue);
+        return defaultValue;
+    }
+
+    private static int checkPositive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be at least 1, not " + value);
+        }
+        return value;
+    }
+
     public boolean requiresPassword() {
         return true;
     }
@@ -481,7 +539,7 @@ public abstract class AbstractDatabase implements Database {
                 String md5sum = md5sumRS.get(0).get("MD5SUM").toString();
                 if (!md5sum.startsWith(CheckSum.getCurrentVersion() + ":")) {
                     executor.comment("DatabaseChangeLog checksums are an incompatible version.  Setting them to null so they will be updated on next database update");
-                    statementsToExecute.add(new RawSqlStatement("UPDATE " + escapeTableName(getLiquibaseSchemaName(), getDatabaseChangeLogTableName()) + " SET MD5SUM=null"));
+                    statementsToExecute.add(new UpdateStatement(getLiquibaseSchemaName(), getDatabaseChangeLogTableName()).addNewColumnValue("MD5SUM", null));
                 }
             }
 
@@ -506,20 +564,105 @@ public abstract class AbstractDatabase implements Database {
         }
 
         if (updateExistingNullChecksums) {
+            List<ChangeSet> changeSetsToUpdate = new ArrayList<ChangeSet>();
             for (RanChangeSet ranChangeSet  : this.getRanChangeSetList()) {
                 if (ranChangeSet.getLastCheckSum() == null) {
                     ChangeSet changeSet = databaseChangeLog.getChangeSet(ranChangeSet);
                     if (changeSet != null && new ContextChangeSetFilter(contexts).accepts(changeSet) && new DbmsChangeSetFilter(this).accepts(changeSet)) {
                         LogFactory.getLogger().info("Updating null or out of date checksum on changeSet "+changeSet+" to correct value");
-                        executor.execute(new UpdateChangeSetChecksumStatement(changeSet));
+                        changeSetsToUpdate.add(changeSet);
                     }
                 }
             }
-            commit();
+            updateCheckSums(changeSetsToUpdate);
             this.ranChangeSetList = null;
         }
     }
 
+    /**
+     * Stores the current checksum of the given change sets in the change log table and commits.
+     * The checksums are computed on {@link #getCheckSumThreads()} threads and written with one
+     * {@link UpdateChangeSetChecksumStatement} per change set.  Against a live connection the statements all prepare to
+     * the same UPDATE, which a {@link BatchingExecutor} sends in batches, committing after each batch.
+     */
+    protected void updateCheckSums(List<ChangeSet> changeSets) throws DatabaseException {
+        if (changeSets.size() == 0) {
+            return;
+        }
+        List<CheckSum> checkSums = generateCheckSums(changeSets);
+
+        List<UpdateChangeSetChecksumStatement> statements = new ArrayList<UpdateChangeSetChecksumStatement>();
+        for (int i = 0; i < changeSets.size(); i++) {
+            statements.add(new UpdateChangeSetChecksumStatement(changeSets.get(i), checkSums.get(i)));
+        }
+
+        Executor executor = ExecutorService.getInstance().getExecutor(this);
+        if (!(executor instanceof JdbcExecutor)) {
+            for (UpdateChangeSetChecksumStatement statement : statements) {
+                executor.execute(statement);
+            }
+            commit();
+            return;
+        }
+
+        BatchingExecutor batchingExecutor = new BatchingExecutor((JdbcExecutor) executor, this, CHECKSUM_UPDATE_BATCH_SIZE);
+        for (int i = 0; i < statements.size(); i += CHECKSUM_UPDATE_BATCH_SIZE) {
+            for (UpdateChangeSetChecksumStatement statement : statements.subList(i, Math.min(i + CHECKSUM_UPDATE_BATCH_SIZE, statements.size()))) {
+                batchingExecutor.execute(statement);
+            }
+            batchingExecutor.flush();
+            commit();
+        }
+    }
+
+    /**
+     * Computes the checksums of the given change sets, in the same order.  Change sets whose body has not been loaded are
+     * replayed from their recording into a copy, which only reads the change log and the parameter snapshot they share,
+     * and a change set only refers to earlier change sets for its rollback, so they can be computed concurrently.
+     */
+    private List<CheckSum> generateCheckSums(List<ChangeSet> changeSets) {
+        List<CheckSum> checkSums = new ArrayList<CheckSum>();
+        int threadCount = Math.min(getCheckSumThreads(), changeSets.size());
+        if (threadCount <= 1) {
+            for (ChangeSet changeSet : changeSets) {
+                checkSums.add(changeSet.generateCheckSum());
+            }
+            return checkSums;
+        }
+
+        java.util.concurrent.ExecutorService threads = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "liquibase-checksum");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            List<Future<CheckSum>> results = new ArrayList<Future<CheckSum>>();
+            for (final ChangeSet changeSet : changeSets) {
+                results.add(threads.submit(new Callable<CheckSum>() {
+                    public CheckSum call() {
+                        return changeSet.generateCheckSum();
+                    }
+                }));
+            }
+            for (Future<CheckSum> result : results) {
+                checkSums.add(result.get());
+            }
+            return checkSums;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedLiquibaseException("Interrupted while computing checksums", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnexpectedLiquibaseException(e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
 
     protected boolean canCreateChangeLogTable() throws DatabaseException {
         return true;
@@ -553,6 +696,71 @@ public abstract class AbstractDatabase implements Database {
         return hasTable;
     }
 
+    /**
+     * Number of change log history rows to collect before writing them to the database in one batch.
+     * A value of 1 writes and commits each row as soon as its change set is marked.  Defaults to the
+     * liquibase.databaseChangeLogBatchSize system property, or 1 if it is not set.
+     */
+    public int getDatabaseChangeLogBatchSize() {
+        return databaseChangeLogBatchSize;
+    }
+
+    public void setDatabaseChangeLogBatchSize(int databaseChangeLogBatchSize) {
+        this.databaseChangeLogBatchSize = checkPositive("databaseChangeLogBatchSize", databaseChangeLogBatchSize);
+    }
+
+    /**
+     * Number of consecutive statements with the same prepared SQL, such as the inserts of a loadData change, sent to the
+     * database in one JDBC batch.  A value of 1 executes each statement on its own.  Defaults to the
+     * liquibase.statementBatchSize system property, or 1000 if it is not set.
+     */
+    public int getStatementBatchSize() {
+        return statementBatchSize;
+    }
+
+    public void setStatementBatchSize(int statementBatchSize) {
+        this.statementBatchSize = checkPositive("statementBatchSize", statementBatchSize);
+    }
+
+    /**
+     * Number of threads used to compute checksums when stored checksums are updated, such as after they were cleared.
+     * A value of 1 computes them on the calling thread.  Defaults to the liquibase.checkSumThreads system property, or
+     * the number of processors if it is not set.
+     */
+    public int getCheckSumThreads() {
+        return checkSumThreads;
+    }
+
+    public void setCheckSumThreads(int checkSumThreads) {
+        this.checkSumThreads = checkPositive("checkSumThreads", checkSumThreads);
+    }
+
+    /**
+     * Whether consecutive inserts into the same columns of a table, such as the rows of a loadData change, are sent as
+     * INSERT ... VALUES (...), (...) statements on databases with a generator for {@link MultiRowInsertStatement}.
+     * Only done when the statements run through a JdbcExecutor, so the output of updateSQL does not change.  Defaults
+     * to the liquibase.multiRowInserts system property, or false if it is not set.
+     */
+    public boolean isMultiRowInserts() {
+        return multiRowInserts;
+    }
+
+    public void setMultiRowInserts(boolean multiRowInserts) {
+        this.multiRowInserts = multiRowInserts;
+    }
+
+    /**
+     * Source of additional connections to this database, used to load partitioned loadData changes in parallel.
+     * Null if only the connection of this database may be used.
+     */
+    public ConnectionSupplier getConnectionSupplier() {
+        return connectionSupplier;
+    }
+
+    public void setConnectionSupplier(ConnectionSupplier connectionSupplier) {
+        this.connectionSupplier = connectionSupplier;
+    }
+
     public String getLiquibaseSchemaName() {
         return liquibaseSchemaName == null ? getDefaultSchemaName(): liquibaseSchemaName;
     }
@@ -713,6 +921,7 @@ public abstract class AbstractDatabase implements Database {
             }
 
 //            Timestamp lastExecutedDate = (Timestamp) this.getExecutor().queryForObject(createChangeToTagSQL(), Timestamp.class);
+            writePendingChangeSetExecStatus();
             executor.execute(new TagDatabaseStatement(tagString));
             this.commit();
 
@@ -865,14 +1074,8 @@ public abstract class AbstractDatabase implements Database {
             return ChangeSet.RunStatus.NOT_RAN;
         } else {
             if (foundRan.getLastCheckSum() == null) {
-                try {
-                    LogFactory.getLogger().info("Updating NULL md5sum for " + changeSet.toString());
-                    ExecutorService.getInstance().getExecutor(this).execute(new RawSqlStatement("UPDATE " + escapeTableName(getLiquibaseSchemaName(), getDatabaseChangeLogTableName()) + " SET MD5SUM='" + changeSet.generateCheckSum().toString() + "' WHERE ID='" + changeSet.getId() + "' AND AUTHOR='" + changeSet.getAuthor() + "' AND FILENAME='" + changeSet.getFilePath() + "'"));
-
-                    this.commit();
-                } catch (DatabaseException e) {
-                    throw new DatabaseException(e);
-                }
+                LogFactory.getLogger().info("Updating NULL md5sum for " + changeSet.toString());
+                updateCheckSums(Collections.singletonList(changeSet));
 
                 return ChangeSet.RunStatus.ALREADY_RAN;
             } else {
@@ -895,18 +1098,13 @@ public abstract class AbstractDatabase implements Database {
             return null;
         }
 
-        RanChangeSet foundRan = null;
-        for (RanChangeSet ranChange : getRanChangeSetList()) {
-            if (ranChange.isSameAs(changeSet)) {
-                foundRan = ranChange;
-                break;
-            }
-        }
-        return foundRan;
+        getRanChangeSetList();
+        return ranChangeSetList.getRanChangeSet(changeSet);
     }
 
     /**
      * Returns the ChangeSets that have been run against the current database.
+     * The returned list is a {@link RanChangeSetList}, so it can be searched without scanning.
      */
     public List<RanChangeSet> getRanChangeSetList() throws DatabaseException {
         if (this.ranChangeSetList != null) {
@@ -914,7 +1112,7 @@ public abstract class AbstractDatabase implements Database {
         }
 
         String databaseChangeLogTableName = escapeTableName(getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
-        ranChangeSetList = new ArrayList<RanChangeSet>();
+        ranChangeSetList = new RanChangeSetList();
         if (hasDatabaseChangeLogTable()) {
             LogFactory.getLogger().info("Reading from " + databaseChangeLogTableName);
             SqlStatement select = new SelectFromDatabaseChangeLogStatement("FILENAME", "AUTHOR", "ID", "MD5SUM", "DATEEXECUTED", "ORDEREXECUTED", "TAG", "EXECTYPE").setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
@@ -960,16 +1158,97 @@ public abstract class AbstractDatabase implements Database {
     /**
      * After the change set has been ran against the database this method will update the change log table
      * with the information.
+     * <p/>
+     * If {@link #getDatabaseChangeLogBatchSize()} is greater than 1 (group-commit mode) the history row is only queued.
+     * Queued rows are written as one JDBC batch when the batch size is reached, on the next {@link #commit()},
+     * before any statement is executed in auto-commit mode (non-transactional DDL) and before the history table is
+     * tagged or changed.
+     * On databases with transactional DDL this means a change set's history row is committed together with the next
+     * change set's changes, so if the process dies between the two commits the already-committed change set runs
+     * again on the next update.
+     * On databases without transactional DDL each change set is auto-committed, so queued rows are always written
+     * before the next change set's statements run, which keeps the same failure window as writing them one at a time.
+     * <p/>
+     * During update, {@link ChangeSet#execute(DatabaseChangeLog, Database)} commits each change set that runs in a
+     * transaction, which writes the rows queued before it.  There the mode saves the separate commit of each history
+     * row rather than batching rows.  Rows are batched when change sets are only marked, as by changeLogSync, or do not
+     * run in a transaction.
      */
     public void markChangeSetExecStatus(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException {
+        Executor executor = ExecutorService.getInstance().getExecutor(this);
+        if (isGroupingChangeSetExecStatus()) {
+            pendingChangeSetExecStatus.add(new MarkChangeSetRanStatement(changeSet, execType));
+            getRanChangeSetList().add(new RanChangeSet(changeSet, execType));
+            if (pendingChangeSetExecStatus.size() - writtenChangeSetExecStatus >= getDatabaseChangeLogBatchSize()) {
+                commit();
+            }
+            return;
+        }
 
-
-        ExecutorService.getInstance().getExecutor(this).execute(new MarkChangeSetRanStatement(changeSet, execType));
+        executor.execute(new MarkChangeSetRanStatement(changeSet, execType));
         commit();
         getRanChangeSetList().add(new RanChangeSet(changeSet, execType));
     }
 
+    /**
+     * Commits unless history rows are grouped, in which case they are committed by
+     * {@link #markChangeSetExecStatus(ChangeSet, ChangeSet.ExecType)} once {@link #getDatabaseChangeLogBatchSize()}
+     * of them are queued, or by the next {@link #commit()}.
+     */
+    public void commitChangeSetExecStatus() throws DatabaseException {
+        if (!isGroupingChangeSetExecStatus()) {
+            commit();
+        }
+    }
+
+    /**
+     * Whether history rows are queued in group-commit mode, which is only done if the batch size is greater than 1 and
+     * the statements are executed against the database rather than written out.
+     */
+    private boolean isGroupingChangeSetExecStatus() {
+        return getDatabaseChangeLogBatchSize() > 1 && ExecutorService.getInstance().getExecutor(this).updatesDatabase();
+    }
+
+    /**
+     * Executes the change log history rows queued in group-commit mode which have not been executed in the current
+     * transaction yet.  They stay queued until the transaction commits so a rollback does not lose them.
+     * <p/>
+     * If the rows cannot be written they are removed from the queue and from {@link #getRanChangeSetList()}, so their
+     * change sets count as not ran, the same as when writing a single row fails, rather than failing every later commit.
+     */
+    protected void writePendingChangeSetExecStatus() throws DatabaseException {
+        if (pendingChangeSetExecStatus.size() == writtenChangeSetExecStatus) {
+            return;
+        }
+        List<MarkChangeSetRanStatement> statements = new ArrayList<MarkChangeSetRanStatement>(pendingChangeSetExecStatus.subList(writtenChangeSetExecStatus, pendingChangeSetExecStatus.size()));
+
+        Executor executor = ExecutorService.getInstance().getExecutor(this);
+        try {
+            if (executor instanceof JdbcExecutor) {
+                ((JdbcExecutor) executor).executeBatch(statements, new ArrayList<SqlVisitor>());
+            } else {
+                for (MarkChangeSetRanStatement statement : statements) {
+                    executor.execute(statement);
+                }
+            }
+        } catch (DatabaseException e) {
+            pendingChangeSetExecStatus.subList(writtenChangeSetExecStatus, pendingChangeSetExecStatus.size()).clear();
+            for (MarkChangeSetRanStatement statement : statements) {
+                getRanChangeSetList().remove(new RanChangeSet(statement.getChangeSet()));
+            }
+            throw e;
+        }
+
+        if (isAutoCommit()) {
+            pendingChangeSetExecStatus.clear();
+            writtenChangeSetExecStatus = 0;
+        } else {
+            writtenChangeSetExecStatus = pendingChangeSetExecStatus.size();
+        }
+    }
+
     public void removeRanStatus(ChangeSet changeSet) throws DatabaseException {
+        writePendingChangeSetExecStatus();
 
         ExecutorService.getInstance().getExecutor(this).execute(new RemoveChangeSetRanStatusStatement(changeSet));
         commit();
@@ -986,7 +1265,10 @@ public abstract class AbstractDatabase implements Database {
 
     public void commit() throws DatabaseException {
         try {
+            writePendingChangeSetExecStatus();
             getConnection().commit();
+            pendingChangeSetExecStatus.clear();
+            writtenChangeSetExecStatus = 0;
         } catch (DatabaseException e) {
             throw new DatabaseException(e);
         }
@@ -995,6 +1277,7 @@ public abstract class AbstractDatabase implements Database {
     public void rollback() throws DatabaseException {
         try {
             getConnection().rollback();
+            writtenChangeSetExecStatus = 0;
         } catch (DatabaseException e) {
             throw new DatabaseException(e);
         }
@@ -1070,6 +1353,10 @@ public abstract class AbstractDatabase implements Database {
     }
 
     public void executeStatements(Change change, DatabaseChangeLog changeLog, List<SqlVisitor> sqlVisitors) throws LiquibaseException, UnsupportedChangeException {
+        if (change instanceof LoadDataChange && ((LoadDataChange) change).executeDirectly(this, sqlVisitors)) {
+            return;
+        }
+
         SqlStatement[] statements = change.generateStatements(this);
 
         execute(statements, sqlVisitors);
@@ -1083,13 +1370,83 @@ public abstract class AbstractDatabase implements Database {
      * @throws DatabaseException if there were problems issuing the statements
      */
     public void execute(SqlStatement[] statements, List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+        Executor executor = ExecutorService.getInstance().getExecutor(this);
+        if (executor instanceof JdbcExecutor && isMultiRowInserts() && (sqlVisitors == null || sqlVisitors.size() == 0)) {
+            statements = combineInserts(statements);
+        }
+
+        BatchingExecutor batchingExecutor = null;
+        if (executor instanceof JdbcExecutor && getStatementBatchSize() > 1
+                && (statements.length > 1 || (statements.length == 1 && statements[0] instanceof MultiRowInsertStatement))) {
+            batchingExecutor = new BatchingExecutor((JdbcExecutor) executor, this, getStatementBatchSize());
+            executor = batchingExecutor;
+        }
+
         for (SqlStatement statement : statements) {
             if (statement.skipOnUnsupported() && !SqlGeneratorFactory.getInstance().supports(statement, this)) {
                 continue;
             }
+            if (pendingChangeSetExecStatus.size() > 0 && (statement instanceof TagDatabaseStatement || isAutoCommit())) {
+                if (batchingExecutor != null) {
+                    batchingExecutor.flush();
+                }
+                writePendingChangeSetExecStatus();
+            }
             LogFactory.getLogger().debug("Executing Statement: " + statement);
-            ExecutorService.getInstance().getExecutor(this).execute(statement, sqlVisitors);
+            executor.execute(statement, sqlVisitors);
+        }
+        if (batchingExecutor != null) {
+            batchingExecutor.flush();
+        }
+    }
+
+    /**
+     * Replaces each run of two or more consecutive inserts into the same columns of the same table with one
+     * {@link MultiRowInsertStatement}, if the database has a generator for it.
+     */
+    protected SqlStatement[] combineInserts(SqlStatement[] statements) {
+        if (statements.length < 2) {
+            return statements;
+        }
+
+        List<SqlStatement> combined = new ArrayList<SqlStatement>();
+        List<InsertStatement> run = new ArrayList<InsertStatement>();
+        for (SqlStatement statement : statements) {
+            boolean isInsert = statement.getClass().equals(InsertStatement.class);
+            if (run.size() > 0 && !(isInsert && isSameInsertShape(run.get(0), (InsertStatement) statement))) {
+                addInsertRun(run, combined);
+            }
+            if (isInsert) {
+                run.add((InsertStatement) statement);
+            } else {
+                combined.add(statement);
+            }
+        }
+        addInsertRun(run, combined);
+
+        return combined.toArray(new SqlStatement[combined.size()]);
+    }
+
+    private boolean isSameInsertShape(InsertStatement first, InsertStatement insert) {
+        return StringUtils.trimToEmpty(first.getSchemaName()).equals(StringUtils.trimToEmpty(insert.getSchemaName()))
+                && StringUtils.trimToEmpty(first.getTableName()).equals(StringUtils.trimToEmpty(insert.getTableName()))
+                && first.getColumnValues().keySet().equals(insert.getColumnValues().keySet());
+    }
+
+    private void addInsertRun(List<InsertStatement> run, List<SqlStatement> combined) {
+        if (run.size() > 1) {
+            MultiRowInsertStatement multiRowInsert = new MultiRowInsertStatement(run.get(0).getSchemaName(), run.get(0).getTableName());
+            if (SqlGeneratorFactory.getInstance().supports(multiRowInsert, this)) {
+                for (InsertStatement insert : run) {
+                    multiRowInsert.addRow(insert.getColumnValues());
+                }
+                combined.add(multiRowInsert);
+                run.clear();
+                return;
+            }
         }
+        combined.addAll(run);
+        run.clear();
     }
 
 
@@ -0,0 +1,18 @@
+package liquibase.database;
+
+import liquibase.exception.DatabaseException;
+
+/**
+ * Provides additional connections to the database being updated, for work that is spread over several connections
+ * such as partitioned loadData changes.
+ *
+ * @see AbstractDatabase#setConnectionSupplier(ConnectionSupplier)
+ */
+public interface ConnectionSupplier {
+
+    /**
+     * Returns a new connection to the same database as the one being updated, logged in as a user that can do the same
+     * work.  The caller closes it when done.
+     */
+    DatabaseConnection getConnection() throws DatabaseException;
+}
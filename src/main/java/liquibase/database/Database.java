@@ -209,6 +209,12 @@ public interface Database extends DatabaseObject, PrioritizedService {
 
     void markChangeSetExecStatus(ChangeSet changeSet, ChangeSet.ExecType execType) throws DatabaseException;
 
+    /**
+     * Commits the change log history rows of the change sets marked so far, unless the implementation groups them to
+     * commit several at once, in which case it commits them when the group is complete or on the next commit().
+     */
+    void commitChangeSetExecStatus() throws DatabaseException;
+
     List<RanChangeSet> getRanChangeSetList() throws DatabaseException;
 
     Date getRanDate(ChangeSet changeSet) throws DatabaseException, DatabaseHistoryException;
@@ -7,34 +7,57 @@ import liquibase.logging.LogFactory;
 import liquibase.servicelocator.ServiceLocator;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DatabaseFactory {
-    private static DatabaseFactory instance;
-    private List<Database> implementedDatabases = new ArrayList<Database>();
+    private static volatile DatabaseFactory instance;
+    private List<Database> implementedDatabases = new CopyOnWriteArrayList<Database>();
+    private volatile boolean loaded;
 
     protected DatabaseFactory() {
-        try {
-            Class[] classes = ServiceLocator.getInstance().findClasses(Database.class);
+    }
 
-            //noinspection unchecked
-            for (Class<? extends Database> clazz : classes) {
-                register(clazz.getConstructor().newInstance());
+    /**
+     * Registers the Database implementations found by the ServiceLocator the first time the factory is used rather than
+     * when it is created.  Every instance is constructed before they are added in one call, so
+     * getImplementedDatabases() either blocks until loading is done or returns all of them.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try {
+                Class[] classes = ServiceLocator.getInstance().findClasses(Database.class);
+
+                List<Database> databases = new ArrayList<Database>();
+                //noinspection unchecked
+                for (Class<? extends Database> clazz : classes) {
+                    databases.add(0, clazz.getConstructor().newInstance());
+                }
+                implementedDatabases.addAll(0, databases);
+                loaded = true;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
             }
-
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
-
     }
 
     public static DatabaseFactory getInstance() {
         if (instance == null) {
-             instance = new DatabaseFactory();
+            synchronized (DatabaseFactory.class) {
+                if (instance == null) {
+                    instance = new DatabaseFactory();
+                }
+            }
         }
         return instance;
     }
 
-    public static void reset() {
+    public static synchronized void reset() {
         instance = new DatabaseFactory();
     }
 
@@ -42,10 +65,12 @@ public class DatabaseFactory {
      * Returns instances of all implemented database types.
      */
     public List<Database> getImplementedDatabases() {
+        ensureLoaded();
         return implementedDatabases;
     }
 
-    public void register(Database database) {
+    public synchronized void register(Database database) {
+        ensureLoaded();
         implementedDatabases.add(0, database);
     }
 
@@ -93,7 +118,8 @@ public class DatabaseFactory {
     /**
      * Removes all registered databases, even built in ones.  Useful for forcing a particular database implementation
      */
-    public void clearRegistry() {
+    public synchronized void clearRegistry() {
         implementedDatabases.clear();
+        loaded = true;
     }
 }
@@ -0,0 +1,28 @@
+package liquibase.database.bulkload;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.exception.LiquibaseException;
+import liquibase.servicelocator.PrioritizedService;
+
+/**
+ * Loads the data of a {@link LoadDataChange} through the native bulk load facility of a database rather than one
+ * INSERT per row.  Implementations are found through the ServiceLocator; the one with the highest priority that
+ * supports the change and database is used.
+ *
+ * @see BulkLoaderFactory
+ */
+public interface BulkLoader extends PrioritizedService {
+
+    int getPriority();
+
+    boolean supports(LoadDataChange change, Database database);
+
+    /**
+     * Loads the rows of the change into its table.
+     *
+     * @return false if the data turned out not to be bulk loadable before anything was sent to the database, in which
+     * case the change executes its insert statements instead
+     */
+    boolean load(LoadDataChange change, Database database) throws LiquibaseException;
+}
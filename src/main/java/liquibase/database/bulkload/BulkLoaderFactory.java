@@ -0,0 +1,62 @@
+package liquibase.database.bulkload;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.servicelocator.ServiceLocator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class BulkLoaderFactory {
+    private static BulkLoaderFactory instance;
+    private List<BulkLoader> loaders;
+
+    public static BulkLoaderFactory getInstance() {
+        if (instance == null) {
+            instance = new BulkLoaderFactory();
+        }
+        return instance;
+    }
+
+    public static void reset() {
+        instance = new BulkLoaderFactory();
+    }
+
+    private BulkLoaderFactory() {
+        loaders = new ArrayList<BulkLoader>();
+        try {
+            for (Class<?> loaderClass : ServiceLocator.getInstance().findClasses(BulkLoader.class)) {
+                register((BulkLoader) loaderClass.newInstance());
+            }
+        } catch (Exception e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    public Collection<BulkLoader> getLoaders() {
+        return loaders;
+    }
+
+    public void register(BulkLoader loader) {
+        loaders.add(loader);
+    }
+
+    public void unregister(BulkLoader loader) {
+        loaders.remove(loader);
+    }
+
+    /**
+     * Returns the loader with the highest priority that supports the given change and database, or null if there is none.
+     */
+    public BulkLoader getBulkLoader(LoadDataChange change, Database database) {
+        BulkLoader bestLoader = null;
+        for (BulkLoader loader : loaders) {
+            if ((bestLoader == null || loader.getPriority() > bestLoader.getPriority()) && loader.supports(change, database)) {
+                bestLoader = loader;
+            }
+        }
+        return bestLoader;
+    }
+}
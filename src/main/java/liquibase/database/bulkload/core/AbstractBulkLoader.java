@@ -0,0 +1,218 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.bulkload.BulkLoader;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.database.typeconversion.TypeConverterFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.logging.LogFactory;
+import liquibase.statement.DatabaseFunction;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawSqlStatement;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Base class of the bulk loaders.  The rows of the change are read the same way as for its insert statements and
+ * written to a temporary UTF-8 file, which the subclass then hands to the database.
+ * <p/>
+ * The file has no header line.  Fields are separated by commas and every value is enclosed in double quotes, with
+ * quotes in the value doubled.  NULL is written unquoted as {@link #getNullText()}, which is an empty field by default.
+ * Booleans are written as the literals the database uses for them, dates in JDBC escape format.
+ */
+public abstract class AbstractBulkLoader implements BulkLoader {
+
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    public boolean supports(LoadDataChange change, Database database) {
+        return database.getConnection() instanceof JdbcConnection;
+    }
+
+    public boolean load(LoadDataChange change, Database database) throws LiquibaseException {
+        File dataFile;
+        try {
+            dataFile = File.createTempFile("liquibase-loaddata", ".csv");
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+        try {
+            List<String> columnNames;
+            try {
+                columnNames = writeDataFile(change, database, dataFile);
+            } catch (IOException e) {
+                LogFactory.getLogger().debug("Cannot bulk load " + change.getFile() + ": " + e.getMessage());
+                return false;
+            } catch (UnexpectedLiquibaseException e) {
+                LogFactory.getLogger().debug("Cannot bulk load " + change.getFile() + ": " + e.getMessage());
+                return false;
+            }
+
+            if (columnNames.size() > 0) {
+                if (!canLoad(change, database, columnNames)) {
+                    LogFactory.getLogger().debug("Cannot bulk load " + change.getFile() + " into " + change.getTableName() + " with " + getClass().getName());
+                    return false;
+                }
+                LogFactory.getLogger().debug("Bulk loading " + change.getFile() + " into " + change.getTableName() + " with " + getClass().getName());
+                load(change, database, columnNames, dataFile);
+            }
+            return true;
+        } finally {
+            dataFile.delete();
+        }
+    }
+
+    /**
+     * Loads the given data file, whose fields are the values of the given columns in that order.
+     */
+    protected abstract void load(LoadDataChange change, Database database, List<String> columnNames, File dataFile) throws DatabaseException;
+
+    /**
+     * Returns false if the rows of the change cannot be loaded into the given columns by this loader, in which case
+     * they are inserted the usual way.  Nothing has been sent to the database at that point.  Returns true by default.
+     */
+    protected boolean canLoad(LoadDataChange change, Database database, List<String> columnNames) {
+        return true;
+    }
+
+    /**
+     * Returns the unquoted text NULL values are written as.
+     */
+    protected String getNullText() {
+        return "";
+    }
+
+    /**
+     * Returns true if the connection URL does not start with any of the given prefixes, which the subclass uses to name
+     * client/server connections.  Loaders that have the database read the data file by name only work in-process.
+     */
+    protected boolean isEmbedded(Database database, String... remoteUrlPrefixes) {
+        String url = database.getConnection().getURL();
+        if (url == null) {
+            return false;
+        }
+        for (String prefix : remoteUrlPrefixes) {
+            if (url.toLowerCase().startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected Connection getUnderlyingConnection(Database database) {
+        return ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+    }
+
+    protected void execute(String sql, Database database) throws DatabaseException {
+        ExecutorService.getInstance().getExecutor(database).execute(new RawSqlStatement(sql));
+    }
+
+    /**
+     * Returns the escaped table name of the change.
+     */
+    protected String getTableName(LoadDataChange change, Database database) {
+        return database.escapeTableName(change.getSchemaName(), change.getTableName());
+    }
+
+    /**
+     * Returns the escaped column names, separated by commas.
+     */
+    protected String getColumnList(LoadDataChange change, Database database, List<String> columnNames) {
+        StringBuffer columnList = new StringBuffer();
+        for (String columnName : columnNames) {
+            if (columnList.length() > 0) {
+                columnList.append(", ");
+            }
+            columnList.append(database.escapeColumnName(change.getSchemaName(), change.getTableName(), columnName));
+        }
+        return columnList.toString();
+    }
+
+    /**
+     * Returns the given text as a quoted SQL string literal.
+     */
+    protected String toLiteral(String text) {
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    /**
+     * Writes the rows of the change to the given file and returns the names of the columns the fields are values of.
+     */
+    List<String> writeDataFile(LoadDataChange change, final Database database, File dataFile) throws IOException {
+        final List<String> columnNames = new ArrayList<String>();
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(dataFile), "UTF-8"));
+        try {
+            change.readRows(new LoadDataChange.RowHandler() {
+                public void handle(InsertStatement insertStatement) {
+                    if (columnNames.size() == 0) {
+                        columnNames.addAll(insertStatement.getColumnValues().keySet());
+                    }
+                    try {
+                        for (int i = 0; i < columnNames.size(); i++) {
+                            if (i > 0) {
+                                writer.write(',');
+                            }
+                            String text = toText(insertStatement.getColumnValue(columnNames.get(i)), database);
+                            if (text == null) {
+                                writer.write(getNullText());
+                            } else {
+                                writer.write('"');
+                                writer.write(text.replace("\"", "\"\""));
+                                writer.write('"');
+                            }
+                        }
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UnexpectedLiquibaseException(e);
+                    }
+                }
+            });
+        } catch (LiquibaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        } finally {
+            writer.close();
+        }
+        return columnNames;
+    }
+
+    /**
+     * Returns the text of a value, or null for NULL.  Values the insert statements would write as SQL expressions,
+     * such as computed values, cannot be bulk loaded.
+     */
+    String toText(Object value, Database database) {
+        if (value == null || value.toString().equalsIgnoreCase("NULL")) {
+            return null;
+        } else if (value instanceof Boolean) {
+            if ((Boolean) value) {
+                return TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getTrueBooleanValue();
+            } else {
+                return TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getFalseBooleanValue();
+            }
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof Timestamp) {
+            return value.toString();
+        } else if (value instanceof Date) {
+            return new Timestamp(((Date) value).getTime()).toString();
+        } else if (value instanceof DatabaseFunction) {
+            throw new UnexpectedLiquibaseException("Computed value " + value + " cannot be bulk loaded");
+        }
+        return value.toString();
+    }
+}
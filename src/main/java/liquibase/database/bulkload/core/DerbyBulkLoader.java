@@ -0,0 +1,76 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.core.DerbyDatabase;
+import liquibase.exception.DatabaseException;
+
+import java.io.File;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Loads data with SYSCS_UTIL.SYSCS_IMPORT_DATA.  Derby reads unquoted empty fields as NULL.  Only used for embedded
+ * databases, since the file is read by the database.
+ * <p/>
+ * The procedure takes schema and table names as they are stored in the catalog.  Plain names are passed upper case,
+ * which is how Derby stores unquoted identifiers, and names given in double quotes are passed without them.  Column
+ * names are only passed as plain names, so changes with any other column name, or with names that are neither, are
+ * inserted the usual way.
+ */
+public class DerbyBulkLoader extends AbstractBulkLoader {
+
+    private static final Pattern PLAIN_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+
+    @Override
+    public boolean supports(LoadDataChange change, Database database) {
+        return database instanceof DerbyDatabase && super.supports(change, database) && isEmbedded(database, "jdbc:derby://");
+    }
+
+    @Override
+    protected boolean canLoad(LoadDataChange change, Database database, List<String> columnNames) {
+        if (change.getSchemaName() != null && getCatalogName(change.getSchemaName()) == null) {
+            return false;
+        }
+        if (getCatalogName(change.getTableName()) == null) {
+            return false;
+        }
+        for (String columnName : columnNames) {
+            if (!PLAIN_NAME.matcher(columnName).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void load(LoadDataChange change, Database database, List<String> columnNames, File dataFile) throws DatabaseException {
+        StringBuffer insertColumns = new StringBuffer();
+        for (String columnName : columnNames) {
+            if (insertColumns.length() > 0) {
+                insertColumns.append(",");
+            }
+            insertColumns.append(getCatalogName(columnName));
+        }
+
+        String schemaName = change.getSchemaName() == null ? "NULL" : toLiteral(getCatalogName(change.getSchemaName()));
+        execute("CALL SYSCS_UTIL.SYSCS_IMPORT_DATA(" + schemaName + ", " + toLiteral(getCatalogName(change.getTableName())) + ", "
+                + toLiteral(insertColumns.toString()) + ", NULL, " + toLiteral(dataFile.getAbsolutePath()) + ", ',', '\"', 'UTF-8', 0)", database);
+    }
+
+    /**
+     * Returns the name Derby stores the given identifier under, or null if it is neither a plain name nor quoted.
+     */
+    String getCatalogName(String name) {
+        if (PLAIN_NAME.matcher(name).matches()) {
+            return name.toUpperCase();
+        } else if (name.length() > 2 && name.startsWith("\"") && name.endsWith("\"")) {
+            String quoted = name.substring(1, name.length() - 1);
+            if (quoted.replace("\"\"", "").indexOf('"') >= 0) {
+                return null;
+            }
+            return quoted.replace("\"\"", "\"");
+        }
+        return null;
+    }
+}
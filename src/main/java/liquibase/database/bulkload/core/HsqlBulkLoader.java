@@ -0,0 +1,71 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.logging.LogFactory;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Loads data by attaching the data file to a temporary text table with SET TABLE ... SOURCE and copying it with
+ * INSERT ... SELECT.  HSQLDB reads unquoted empty fields as NULL.
+ * <p/>
+ * HSQLDB only opens text table sources outside the database directory if the textdb.allow_full_path system property is
+ * true, so this loader is only used then, and only for in-process databases.
+ * <p/>
+ * Creating and dropping the text table commits the current transaction, so this loader is also only used for change
+ * sets that do not run in a transaction.
+ */
+public class HsqlBulkLoader extends AbstractBulkLoader {
+
+    @Override
+    public boolean supports(LoadDataChange change, Database database) {
+        return database instanceof HsqlDatabase && Boolean.getBoolean("textdb.allow_full_path") && super.supports(change, database)
+                && isEmbedded(database, "jdbc:hsqldb:hsql:", "jdbc:hsqldb:hsqls:", "jdbc:hsqldb:http:", "jdbc:hsqldb:https:")
+                && isAutoCommit(database);
+    }
+
+    private boolean isAutoCommit(Database database) {
+        try {
+            return database.isAutoCommit();
+        } catch (DatabaseException e) {
+            LogFactory.getLogger().debug("Cannot read the auto-commit mode: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    protected void load(LoadDataChange change, Database database, List<String> columnNames, File dataFile) throws DatabaseException {
+        String textTable = "LIQUIBASE_LOAD_" + Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+        if (change.getSchemaName() != null) {
+            textTable = change.getSchemaName() + "." + textTable;
+        }
+
+        StringBuffer textColumns = new StringBuffer();
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                textColumns.append(", ");
+            }
+            textColumns.append("C").append(i).append(" LONGVARCHAR");
+        }
+
+        //1.8 expects the source in double quotes, 2.0 in single quotes
+        String source = dataFile.getAbsolutePath() + ";fs=,;quoted=true;encoding=UTF-8";
+        if (database.getDatabaseMajorVersion() >= 2) {
+            source = toLiteral(source);
+        } else {
+            source = "\"" + source + "\"";
+        }
+
+        execute("CREATE TEXT TABLE " + textTable + " (" + textColumns + ")", database);
+        try {
+            execute("SET TABLE " + textTable + " SOURCE " + source, database);
+            execute("INSERT INTO " + getTableName(change, database) + " (" + getColumnList(change, database, columnNames) + ") SELECT * FROM " + textTable, database);
+        } finally {
+            execute("DROP TABLE " + textTable, database);
+        }
+    }
+}
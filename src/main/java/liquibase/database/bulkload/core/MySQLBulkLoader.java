@@ -0,0 +1,113 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.util.JdbcUtils;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Loads data with LOAD DATA LOCAL INFILE, with the data file passed to Connector/J as a stream through reflection so
+ * the driver is not needed at compile time.  Only used if the server allows local_infile.
+ * <p/>
+ * NULL is written as the unquoted word NULL, which LOAD DATA reads as NULL when fields may be enclosed, and quotes in
+ * values are doubled since no escape character is used.
+ * <p/>
+ * With LOCAL, MySQL turns errors such as duplicate keys or values that do not fit their column into warnings and
+ * skips or changes the row.  The load fails if it reported any warnings, so the change set is rolled back rather than
+ * leaving data that differs from the file.
+ */
+public class MySQLBulkLoader extends AbstractBulkLoader {
+
+    private static final String[] STATEMENT_CLASSES = {"com.mysql.jdbc.Statement", "com.mysql.cj.jdbc.JdbcStatement"};
+
+    @Override
+    public boolean supports(LoadDataChange change, Database database) {
+        if (!(database instanceof MySQLDatabase) || !super.supports(change, database)) {
+            return false;
+        }
+        if (getLocalInfileMethod(getUnderlyingConnection(database).getClass().getClassLoader()) == null) {
+            return false;
+        }
+        try {
+            return ExecutorService.getInstance().getExecutor(database).queryForInt(new RawSqlStatement("SELECT @@local_infile")) == 1;
+        } catch (DatabaseException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected String getNullText() {
+        return "NULL";
+    }
+
+    @Override
+    protected void load(LoadDataChange change, Database database, List<String> columnNames, File dataFile) throws DatabaseException {
+        String sql = "LOAD DATA LOCAL INFILE " + toLiteral(dataFile.getName()) + " INTO TABLE " + getTableName(change, database)
+                + " CHARACTER SET utf8 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '' LINES TERMINATED BY '\\n'"
+                + " (" + getColumnList(change, database, columnNames) + ")";
+        Statement statement = null;
+        InputStream in = null;
+        try {
+            statement = getUnderlyingConnection(database).createStatement();
+            Method setLocalInfileInputStream = getLocalInfileMethod(statement.getClass().getClassLoader());
+            if (setLocalInfileInputStream == null || !setLocalInfileInputStream.getDeclaringClass().isInstance(statement)) {
+                throw new DatabaseException("Statement " + statement.getClass().getName() + " does not support LOAD DATA LOCAL INFILE streams");
+            }
+            in = new BufferedInputStream(new FileInputStream(dataFile));
+            setLocalInfileInputStream.invoke(statement, in);
+            statement.execute(sql);
+
+            SQLWarning warning = statement.getWarnings();
+            if (warning != null) {
+                StringBuffer message = new StringBuffer();
+                for (int i = 0; warning != null && i < 10; i++) {
+                    message.append("\n").append(warning.getMessage());
+                    warning = warning.getNextWarning();
+                }
+                throw new DatabaseException("Loading " + change.getFile() + " into " + change.getTableName() + " reported warnings:" + message);
+            }
+        } catch (InvocationTargetException e) {
+            throw new DatabaseException(e.getCause());
+        } catch (DatabaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException("Error executing SQL " + sql + ": " + e.getMessage(), e);
+        } finally {
+            JdbcUtils.closeStatement(statement);
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    //ok
+                }
+            }
+        }
+    }
+
+    private Method getLocalInfileMethod(ClassLoader classLoader) {
+        for (String className : STATEMENT_CLASSES) {
+            try {
+                return Class.forName(className, true, classLoader).getMethod("setLocalInfileInputStream", InputStream.class);
+            } catch (ClassNotFoundException e) {
+                //try the next one
+            } catch (NoSuchMethodException e) {
+                //try the next one
+            }
+        }
+        return null;
+    }
+}
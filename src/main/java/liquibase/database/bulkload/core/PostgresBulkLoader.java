@@ -0,0 +1,71 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.DatabaseException;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Loads data with COPY ... FROM STDIN through the CopyManager of the PostgreSQL driver, which is used through reflection
+ * so the driver is not needed at compile time.  COPY in CSV mode reads unquoted empty fields as NULL.
+ */
+public class PostgresBulkLoader extends AbstractBulkLoader {
+
+    @Override
+    public boolean supports(LoadDataChange change, Database database) {
+        if (!(database instanceof PostgresDatabase) || !super.supports(change, database)) {
+            return false;
+        }
+        try {
+            Connection connection = getUnderlyingConnection(database);
+            Class<?> pgConnectionClass = Class.forName("org.postgresql.PGConnection", true, connection.getClass().getClassLoader());
+            return pgConnectionClass.isInstance(connection) && hasCopyApi(pgConnectionClass);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private boolean hasCopyApi(Class<?> pgConnectionClass) {
+        try {
+            pgConnectionClass.getMethod("getCopyAPI");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false; //drivers before 8.4
+        }
+    }
+
+    @Override
+    protected void load(LoadDataChange change, Database database, List<String> columnNames, File dataFile) throws DatabaseException {
+        String sql = "COPY " + getTableName(change, database) + " (" + getColumnList(change, database, columnNames) + ") FROM STDIN WITH CSV";
+        InputStream in = null;
+        try {
+            Connection connection = getUnderlyingConnection(database);
+            ClassLoader classLoader = connection.getClass().getClassLoader();
+            Object copyManager = Class.forName("org.postgresql.PGConnection", true, classLoader).getMethod("getCopyAPI").invoke(connection);
+
+            in = new BufferedInputStream(new FileInputStream(dataFile));
+            Class.forName("org.postgresql.copy.CopyManager", true, classLoader).getMethod("copyIn", String.class, InputStream.class).invoke(copyManager, sql, in);
+        } catch (InvocationTargetException e) {
+            throw new DatabaseException("Error executing SQL " + sql + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    //ok
+                }
+            }
+        }
+    }
+}
@@ -15,11 +15,19 @@ import java.util.Map;
  */
 public class JdbcConnection implements DatabaseConnection {
     private java.sql.Connection con;
+    private PreparedStatementCache preparedStatementCache = new PreparedStatementCache(System.getProperty("liquibase.preparedStatementCacheSize") == null ? 50 : Integer.parseInt(System.getProperty("liquibase.preparedStatementCacheSize")));
 
     public JdbcConnection(java.sql.Connection connection) {
         this.con = connection;
     }
 
+    /**
+     * Returns the prepared statements kept open on this connection for reuse.  They are closed when this connection is closed.
+     */
+    public PreparedStatementCache getPreparedStatementCache() {
+        return preparedStatementCache;
+    }
+
     public String getDatabaseProductName() throws DatabaseException {
         try {
             return con.getMetaData().getDatabaseProductName();
@@ -87,6 +95,7 @@ public class JdbcConnection implements DatabaseConnection {
 
     public void close() throws DatabaseException {
         rollback();
+        preparedStatementCache.clear();
         try {
             con.close();
         } catch (SQLException e) {
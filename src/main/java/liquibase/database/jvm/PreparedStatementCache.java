@@ -0,0 +1,92 @@
+package liquibase.database.jvm;
+
+import liquibase.util.JdbcUtils;
+
+import java.sql.PreparedStatement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of the prepared statements of one connection, keyed by SQL text.
+ * <p/>
+ * A statement is taken out of the cache while it is used and released back afterwards, so it is never used twice at the
+ * same time.  Statements pushed out of the cache, and all statements when the cache is cleared, are closed.
+ */
+public class PreparedStatementCache {
+
+    private int maxSize;
+    private long hitCount;
+    private long missCount;
+    private LinkedHashMap<String, PreparedStatement> statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true);
+
+    public PreparedStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Removes and returns the cached statement for the given SQL, or returns null if there is none and the caller should
+     * prepare one.
+     */
+    public synchronized PreparedStatement take(String sql) {
+        PreparedStatement statement = statements.remove(sql);
+        if (statement == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return statement;
+    }
+
+    /**
+     * Puts a statement that is no longer used back in the cache, closing the least recently used statements if the cache
+     * is full.  Statements that failed should be closed rather than released.
+     */
+    public synchronized void release(String sql, PreparedStatement statement) {
+        PreparedStatement replaced = statements.put(sql, statement);
+        if (replaced != null && replaced != statement) {
+            JdbcUtils.closeStatement(replaced);
+        }
+        evict(maxSize);
+    }
+
+    /**
+     * Closes and removes all cached statements.  Called when the connection is closed.
+     */
+    public synchronized void clear() {
+        evict(0);
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets how many statements are kept open.  A value of 0 or less closes every statement once it has been used.
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        evict(maxSize);
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private void evict(int size) {
+        Iterator<Map.Entry<String, PreparedStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > Math.max(size, 0) && iterator.hasNext()) {
+            PreparedStatement statement = iterator.next().getValue();
+            iterator.remove();
+            JdbcUtils.closeStatement(statement);
+        }
+    }
+}
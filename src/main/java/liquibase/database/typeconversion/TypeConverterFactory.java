@@ -36,20 +36,25 @@ import liquibase.servicelocator.ServiceLocator;
 import liquibase.exception.UnexpectedLiquibaseException;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 public class TypeConverterFactory {
-    private static TypeConverterFactory instance;
+    private static volatile TypeConverterFactory instance;
     private Set<TypeConverter> allConverters;
 
     public static TypeConverterFactory getInstance() {
         if (instance == null) {
-            instance = new TypeConverterFactory();
+            synchronized (TypeConverterFactory.class) {
+                if (instance == null) {
+                    instance = new TypeConverterFactory();
+                }
+            }
         }
         return instance;
     }
 
     private TypeConverterFactory() {
-        allConverters = new HashSet<TypeConverter>();
+        allConverters = new CopyOnWriteArraySet<TypeConverter>();
         try {
             for (Class<? extends TypeConverter> converterClass : ServiceLocator.getInstance().findClasses(TypeConverter.class)) {
                 register(converterClass.newInstance());
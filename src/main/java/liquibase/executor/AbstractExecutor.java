@@ -19,7 +19,10 @@ public abstract class AbstractExecutor {
     }
 
     protected String[] applyVisitors(SqlStatement statement, List<SqlVisitor> sqlVisitors) throws DatabaseException {
-        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(statement, database);
+        return applyVisitors(SqlGeneratorFactory.getInstance().generateSql(statement, database), sqlVisitors);
+    }
+
+    protected String[] applyVisitors(Sql[] sql, List<SqlVisitor> sqlVisitors) {
         if (sql == null) {
             return new String[0];
         }
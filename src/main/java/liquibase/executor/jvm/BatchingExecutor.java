@@ -0,0 +1,267 @@
+package liquibase.executor.jvm;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.AbstractExecutor;
+import liquibase.executor.Executor;
+import liquibase.servicelocator.LiquibaseService;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.sqlgenerator.SqlGenerator;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.sqlgenerator.core.MultiRowInsertGenerator;
+import liquibase.statement.CallableSqlStatement;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executor that collects consecutive statements generating the same {@link PreparedSql} text and sends them to the
+ * database as one JDBC batch through a {@link JdbcExecutor}.  Statements generating several PreparedSql, such as a
+ * {@link liquibase.statement.core.MultiRowInsertStatement} split over several INSERTs, add each of them in order.
+ * <p/>
+ * Anything that cannot be batched, such as DDL, callable statements, statements modified by sql visitors and all
+ * queries and updates, first flushes the pending batch and then goes to the JdbcExecutor directly, so statements always
+ * run in order.  Callers must also call {@link #flush()} before committing and when they are done.
+ * <p/>
+ * Statements are numbered from 1 in the order they are passed to this executor, with each row of a
+ * MultiRowInsertStatement counted as a statement, so the numbers stay the same whether inserts are combined or not.
+ * If a batch fails, the error names the number and SQL of the first statement the driver reports as failed, or the
+ * numbers of the rows of the failed INSERT.
+ */
+@LiquibaseService(skip = true)
+@SuppressWarnings({"rawtypes"})
+public class BatchingExecutor extends AbstractExecutor implements Executor {
+
+    private JdbcExecutor delegate;
+    private int batchSize;
+    private int statementCount = 0;
+
+    private List<PreparedSql> batch = new ArrayList<PreparedSql>();
+    private List<Integer> batchStatementNumbers = new ArrayList<Integer>();
+    private List<SqlStatement> batchStatements = new ArrayList<SqlStatement>();
+    private List<Integer> batchSqlIndexes = new ArrayList<Integer>();
+
+    public BatchingExecutor(JdbcExecutor delegate, Database database, int batchSize) {
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        setDatabase(database);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void execute(SqlStatement sql) throws DatabaseException {
+        execute(sql, new ArrayList<SqlVisitor>());
+    }
+
+    public void execute(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        int statementNumber = statementCount + 1;
+        if (sql instanceof MultiRowInsertStatement) {
+            statementCount += ((MultiRowInsertStatement) sql).getRows().size();
+        } else {
+            statementCount++;
+        }
+        if (sql instanceof CallableSqlStatement || sqlVisitors.size() > 0) {
+            flush();
+            delegate.execute(sql, sqlVisitors);
+            return;
+        }
+
+        Sql[] generatedSql = SqlGeneratorFactory.getInstance().generateSql(sql, database);
+        if (!isAllPrepared(generatedSql)) {
+            flush();
+            delegate.execute(sql, generatedSql, sqlVisitors);
+            return;
+        }
+
+        for (int i = 0; i < generatedSql.length; i++) {
+            PreparedSql preparedSql = (PreparedSql) generatedSql[i];
+            if (batch.size() > 0 && !batch.get(0).getParameterizedSql().equals(preparedSql.getParameterizedSql())) {
+                flush();
+            }
+            batch.add(preparedSql);
+            batchStatementNumbers.add(statementNumber);
+            batchStatements.add(sql);
+            batchSqlIndexes.add(i);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+    }
+
+    private boolean isAllPrepared(Sql[] generatedSql) {
+        if (generatedSql == null || generatedSql.length == 0) {
+            return false;
+        }
+        for (Sql sql : generatedSql) {
+            if (!(sql instanceof PreparedSql)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends the pending batch to the database.
+     */
+    public void flush() throws DatabaseException {
+        if (batch.size() == 0) {
+            return;
+        }
+        try {
+            if (batch.size() == 1) {
+                delegate.execute(batch.get(0), new PreparedStatementCallback() {
+                    public Object doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                        return ps.execute();
+                    }
+                });
+            } else {
+                delegate.executePreparedBatch(batch);
+            }
+        } catch (DatabaseException e) {
+            throw translateBatchException(e);
+        } finally {
+            batch.clear();
+            batchStatementNumbers.clear();
+            batchStatements.clear();
+            batchSqlIndexes.clear();
+        }
+    }
+
+    /**
+     * Finds the failed statement from the update counts of a BatchUpdateException.  Drivers either stop at the first
+     * failure, returning counts for the statements before it, or go on and mark failures with EXECUTE_FAILED.
+     */
+    private DatabaseException translateBatchException(DatabaseException e) {
+        if (batch.size() == 1) {
+            String statement = describeStatement(0);
+            return new DatabaseException(statement.substring(0, 1).toUpperCase() + statement.substring(1) + ": " + e.getMessage(), e.getCause());
+        }
+        if (!(e.getCause() instanceof BatchUpdateException)) {
+            return e;
+        }
+        BatchUpdateException batchException = (BatchUpdateException) e.getCause();
+        int[] updateCounts = batchException.getUpdateCounts();
+        int failed = updateCounts == null ? -1 : updateCounts.length;
+        if (updateCounts != null) {
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    failed = i;
+                    break;
+                }
+            }
+        }
+        if (failed < 0 || failed >= batch.size()) {
+            return e;
+        }
+        return new DatabaseException("Error executing SQL " + batch.get(failed).toSql() + " (" + describeStatement(failed) + "); on " + database.getConnection().getURL() + "; reason: " + batchException.getMessage(), batchException);
+    }
+
+    /**
+     * Returns the number of the statement of the given batch entry, or the numbers of its rows if it is part of a
+     * MultiRowInsertStatement.  Databases do not say which row of a multi-row INSERT failed.
+     */
+    private String describeStatement(int batchIndex) {
+        int statementNumber = batchStatementNumbers.get(batchIndex);
+        if (!(batchStatements.get(batchIndex) instanceof MultiRowInsertStatement)) {
+            return "statement " + statementNumber;
+        }
+        MultiRowInsertStatement statement = (MultiRowInsertStatement) batchStatements.get(batchIndex);
+        int rowsPerStatement = getRowsPerStatement(statement);
+        int firstRow = batchSqlIndexes.get(batchIndex) * rowsPerStatement;
+        int lastRow = Math.min(statement.getRows().size(), firstRow + rowsPerStatement) - 1;
+        return "statements " + (statementNumber + firstRow) + " to " + (statementNumber + lastRow);
+    }
+
+    private int getRowsPerStatement(MultiRowInsertStatement statement) {
+        for (SqlGenerator<?> generator : SqlGeneratorFactory.getInstance().getGenerators(statement, database)) {
+            if (generator instanceof MultiRowInsertGenerator) {
+                return ((MultiRowInsertGenerator) generator).getRowsPerStatement(statement, database);
+            }
+        }
+        return statement.getRows().size();
+    }
+
+    public int update(SqlStatement sql) throws DatabaseException {
+        flush();
+        return delegate.update(sql);
+    }
+
+    public int update(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.update(sql, sqlVisitors);
+    }
+
+    public Map call(CallableSqlStatement csc, List declaredParameters, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.call(csc, declaredParameters, sqlVisitors);
+    }
+
+    public void comment(String message) throws DatabaseException {
+        delegate.comment(message);
+    }
+
+    public boolean updatesDatabase() {
+        return delegate.updatesDatabase();
+    }
+
+    public Object queryForObject(SqlStatement sql, Class requiredType) throws DatabaseException {
+        flush();
+        return delegate.queryForObject(sql, requiredType);
+    }
+
+    public Object queryForObject(SqlStatement sql, Class requiredType, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.queryForObject(sql, requiredType, sqlVisitors);
+    }
+
+    public long queryForLong(SqlStatement sql) throws DatabaseException {
+        flush();
+        return delegate.queryForLong(sql);
+    }
+
+    public long queryForLong(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.queryForLong(sql, sqlVisitors);
+    }
+
+    public int queryForInt(SqlStatement sql) throws DatabaseException {
+        flush();
+        return delegate.queryForInt(sql);
+    }
+
+    public int queryForInt(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.queryForInt(sql, sqlVisitors);
+    }
+
+    public List queryForList(SqlStatement sql, Class elementType) throws DatabaseException {
+        flush();
+        return delegate.queryForList(sql, elementType);
+    }
+
+    public List queryForList(SqlStatement sql, Class elementType, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.queryForList(sql, elementType, sqlVisitors);
+    }
+
+    public List<Map> queryForList(SqlStatement sql) throws DatabaseException {
+        flush();
+        return delegate.queryForList(sql);
+    }
+
+    public List<Map> queryForList(SqlStatement sql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        flush();
+        return delegate.queryForList(sql, sqlVisitors);
+    }
+}
@@ -4,21 +4,27 @@ import liquibase.database.Database;
 import liquibase.database.DatabaseConnection;
 import liquibase.database.core.OracleDatabase;
 import liquibase.database.jvm.JdbcConnection;
+import liquibase.database.jvm.PreparedStatementCache;
 import liquibase.exception.DatabaseException;
 import liquibase.executor.AbstractExecutor;
 import liquibase.executor.Executor;
 import liquibase.logging.LogFactory;
 import liquibase.logging.Logger;
 import liquibase.snapshot.jvm.JdbcDatabaseSnapshotGenerator;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
 import liquibase.sql.visitor.SqlVisitor;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
 import liquibase.statement.CallableSqlStatement;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.StoredProcedureStatement;
+import liquibase.statement.core.RawSqlStatement;
 import liquibase.util.JdbcUtils;
 import liquibase.util.StringUtils;
 import liquibase.snapshot.DatabaseSnapshotGeneratorFactory;
 
 import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -76,10 +82,32 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
             return;
         }
 
+        execute(sql, SqlGeneratorFactory.getInstance().generateSql(sql, database), sqlVisitors);
+    }
+
+    /**
+     * Executes the SQL already generated for the given statement, which must not be a CallableSqlStatement.
+     * The statement is only used to describe a failure.
+     */
+    public void execute(final SqlStatement sql, final Sql[] generatedSql, final List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        if (canPrepare(generatedSql, sqlVisitors)) {
+            for (Sql statement : generatedSql) {
+                if (statement instanceof PreparedSql) {
+                    execute((PreparedSql) statement, new PreparedStatementCallback() {
+                        public Object doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                            return ps.execute();
+                        }
+                    });
+                } else if (statement != null) {
+                    execute(new RawSqlStatement(statement.toSql()));
+                }
+            }
+            return;
+        }
 
         class ExecuteStatementCallback implements StatementCallback {
             public Object doInStatement(Statement stmt) throws SQLException, DatabaseException {
-                for (String statement : applyVisitors(sql, sqlVisitors)) {
+                for (String statement : applyVisitors(generatedSql, sqlVisitors)) {
                     if (database instanceof OracleDatabase) {
                         statement = statement.replaceFirst("/\\s*/\\s*$", ""); //remove duplicated /'s
                     }
@@ -104,6 +132,150 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
         execute(new ExecuteStatementCallback(), sqlVisitors);
     }
 
+    /**
+     * Executes the given statements as a single JDBC batch on one Statement.
+     * The statements are sent to the database in one round trip if the driver supports batch updates.
+     * Callable statements are not supported.
+     */
+    public int[] executeBatch(final List<? extends SqlStatement> sqlStatements, final List<SqlVisitor> sqlVisitors) throws DatabaseException {
+        List<String> sqlToExecute = new ArrayList<String>();
+        for (SqlStatement sql : sqlStatements) {
+            if (sql instanceof CallableSqlStatement) {
+                throw new DatabaseException("Batch execution of CallableSqlStatement not currently implemented");
+            }
+            for (String statement : applyVisitors(sql, sqlVisitors)) {
+                if (statement != null) {
+                    sqlToExecute.add(statement);
+                }
+            }
+        }
+        if (sqlToExecute.size() == 0) {
+            return new int[0];
+        }
+
+        DatabaseConnection con = database.getConnection();
+        Statement stmt = null;
+        try {
+            stmt = ((JdbcConnection) con).getUnderlyingConnection().createStatement();
+            for (String statement : sqlToExecute) {
+                log.debug("Adding BATCH database command: "+statement);
+                stmt.addBatch(statement);
+            }
+            log.debug("Executing BATCH of "+sqlToExecute.size()+" database commands");
+            return stmt.executeBatch();
+        }
+        catch (SQLException ex) {
+            throw new DatabaseException("Error executing SQL batch " + StringUtils.join(sqlToExecute, "; ")+ "; on "+ con.getURL() + "; reason: " + ex.getMessage(), ex);
+        }
+        finally {
+            JdbcUtils.closeStatement(stmt);
+        }
+    }
+
+    //-------------------------------------------------------------------------
+    // Methods dealing with prepared statements
+    //-------------------------------------------------------------------------
+
+    /**
+     * Runs the given callback with the parameters of the given sql bound to a prepared statement for its parameterized text.
+     */
+    public Object execute(final PreparedSql sql, final PreparedStatementCallback action) throws DatabaseException {
+        final String sqlToExecute = getSqlToExecute(sql);
+        return execute(sqlToExecute, sql.toSql(), new PreparedStatementCallback() {
+            public Object doInPreparedStatement(PreparedStatement ps) throws SQLException, DatabaseException {
+                log.debug("Executing PREPARED database command: "+sqlToExecute+" with parameters "+sql.getParameters());
+                createPreparedStatementSetter(sql).setValues(ps);
+                return action.doInPreparedStatement(ps);
+            }
+        });
+    }
+
+    /**
+     * Executes the given sql, which must all have the same parameterized text, as a single JDBC batch on one
+     * PreparedStatement.  If the batch fails the DatabaseException has the BatchUpdateException of the driver as its cause.
+     */
+    public int[] executePreparedBatch(final List<PreparedSql> sqls) throws DatabaseException {
+        if (sqls.size() == 0) {
+            return new int[0];
+        }
+        final String sqlToExecute = getSqlToExecute(sqls.get(0));
+
+        class BatchPreparedStatementCallback implements PreparedStatementCallback {
+            public Object doInPreparedStatement(PreparedStatement ps) throws SQLException, DatabaseException {
+                for (PreparedSql sql : sqls) {
+                    createPreparedStatementSetter(sql).setValues(ps);
+                    ps.addBatch();
+                }
+                log.debug("Executing BATCH of "+sqls.size()+" rows for database command: "+sqlToExecute);
+                return ps.executeBatch();
+            }
+        }
+        return (int[]) execute(sqlToExecute, "batch " + sqlToExecute, new BatchPreparedStatementCallback());
+    }
+
+    private String getSqlToExecute(PreparedSql sql) {
+        String sqlToExecute = sql.getParameterizedSql();
+        if (database instanceof OracleDatabase) {
+            sqlToExecute = sqlToExecute.replaceFirst("/\\s*/\\s*$", ""); //remove duplicated /'s
+        }
+        return sqlToExecute;
+    }
+
+    private PreparedStatementSetter createPreparedStatementSetter(PreparedSql sql) throws DatabaseException {
+        int[] parameterTypes = new int[sql.getParameterTypes().size()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = sql.getParameterTypes().get(i);
+        }
+        return new ArgTypePreparedStatementSetter(sql.getParameters().toArray(), parameterTypes);
+    }
+
+    /**
+     * Runs the given callback with a prepared statement for the given SQL, taken from the
+     * {@link PreparedStatementCache} of the connection.  The statement goes back into the cache unless the callback failed,
+     * in which case it is closed.
+     *
+     * @param description the SQL as shown in the error message if the callback fails
+     */
+    private Object execute(String sql, String description, PreparedStatementCallback action) throws DatabaseException {
+        JdbcConnection con = (JdbcConnection) database.getConnection();
+        PreparedStatementCache cache = con.getPreparedStatementCache();
+        PreparedStatement stmt = cache.take(sql);
+        boolean succeeded = false;
+        try {
+            if (stmt == null) {
+                stmt = con.getUnderlyingConnection().prepareStatement(sql);
+            }
+            Object result = action.doInPreparedStatement(stmt);
+            succeeded = true;
+            return result;
+        }
+        catch (SQLException ex) {
+            throw new DatabaseException("Error executing SQL " + description + "; on "+ con.getURL() + "; reason: " + ex.getMessage(), ex);
+        }
+        finally {
+            if (succeeded) {
+                cache.release(sql, stmt);
+            } else {
+                JdbcUtils.closeStatement(stmt);
+            }
+        }
+    }
+
+    /**
+     * Prepared statements are used when the generated sql contains parameters and no sql visitors need to modify its text.
+     */
+    private boolean canPrepare(Sql[] generatedSql, List<SqlVisitor> sqlVisitors) {
+        if (generatedSql == null || sqlVisitors.size() > 0 || !(database.getConnection() instanceof JdbcConnection)) {
+            return false;
+        }
+        for (Sql sql : generatedSql) {
+            if (sql instanceof PreparedSql) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 
     public Object query(final SqlStatement sql, final ResultSetExtractor rse) throws DatabaseException {
         return query(sql, rse, new ArrayList<SqlVisitor>());
@@ -211,9 +383,18 @@ public class JdbcExecutor extends AbstractExecutor implements Executor {
             throw new DatabaseException("Direct update using CallableSqlStatement not currently implemented");
         }
 
+        final Sql[] generatedSql = SqlGeneratorFactory.getInstance().generateSql(sql, database);
+        if (canPrepare(generatedSql, sqlVisitors) && generatedSql.length == 1) {
+            return (Integer) execute((PreparedSql) generatedSql[0], new PreparedStatementCallback() {
+                public Object doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                    return ps.executeUpdate();
+                }
+            });
+        }
+
         class UpdateStatementCallback implements StatementCallback {
             public Object doInStatement(Statement stmt) throws SQLException, DatabaseException {
-                String[] sqlToExecute = applyVisitors(sql, sqlVisitors);
+                String[] sqlToExecute = applyVisitors(generatedSql, sqlVisitors);
                 if (sqlToExecute.length != 1) {
                     throw new DatabaseException("Cannot call update on Statement that returns back multiple Sql objects");
                 }
@@ -1,6 +1,9 @@
 package liquibase.executor.jvm;
 
+import liquibase.exception.DatabaseException;
+
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 /**
  * Generic callback interface for code that operates on a PreparedStatement.
@@ -24,6 +27,6 @@ interface PreparedStatementCallback {
      *                               to a DataAccessException by a SQLExceptionTranslator
      * @throws liquibase.exception.DatabaseException         in case of custom exceptions
      */
-    Object doInPreparedStatement(PreparedStatement ps);
+    Object doInPreparedStatement(PreparedStatement ps) throws SQLException, DatabaseException;
 
 }
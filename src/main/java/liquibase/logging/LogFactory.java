@@ -3,15 +3,16 @@ package liquibase.logging;
 import liquibase.exception.ServiceNotFoundException;
 import liquibase.servicelocator.ServiceLocator;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class LogFactory {
-    private static Map<String, Logger> loggers = new HashMap<String, Logger>();
-    private static String defaultLoggingLevel = "info";
+    private static ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<String, Logger>();
+    private static volatile String defaultLoggingLevel = "info";
 
     public static Logger getLogger(String name) {
-        if (!loggers.containsKey(name)) {
+        Logger logger = loggers.get(name);
+        if (logger == null) {
             Logger value;
             try {
                 value = (Logger) ServiceLocator.getInstance().newInstance(Logger.class);
@@ -20,10 +21,15 @@ public class LogFactory {
             }
             value.setName(name);
             value.setLogLevel(defaultLoggingLevel);
-            loggers.put(name, value);
+
+            //another thread may have created one in the meantime, which is the one everyone uses
+            logger = loggers.putIfAbsent(name, value);
+            if (logger == null) {
+                logger = value;
+            }
         }
 
-        return loggers.get(name);
+        return logger;
     }
 
     public static Logger getLogger() {
@@ -6,22 +6,27 @@ import liquibase.resource.ResourceAccessor;
 import liquibase.servicelocator.ServiceLocator;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ChangeLogParserFactory {
 
-    private static ChangeLogParserFactory instance;
+    private static volatile ChangeLogParserFactory instance;
 
     private List<ChangeLogParser> parsers;
     private Comparator<ChangeLogParser> changelogParserComparator;
 
 
-    public static void reset() {
+    public static synchronized void reset() {
         instance = new ChangeLogParserFactory();
     }
 
     public static ChangeLogParserFactory getInstance() {
         if (instance == null) {
-             instance = new ChangeLogParserFactory();
+            synchronized (ChangeLogParserFactory.class) {
+                if (instance == null) {
+                    instance = new ChangeLogParserFactory();
+                }
+            }
         }
         return instance;
     }
@@ -34,7 +39,7 @@ public class ChangeLogParserFactory {
             }
         };
 
-        parsers = new ArrayList<ChangeLogParser>();
+        parsers = new CopyOnWriteArrayList<ChangeLogParser>();
         try {
             classes = ServiceLocator.getInstance().findClasses(ChangeLogParser.class);
 
@@ -61,9 +66,15 @@ public class ChangeLogParserFactory {
         throw new LiquibaseException("Cannot find parser that supports "+fileNameOrExtension);
     }
 
-    public void register(ChangeLogParser changeLogParser) {
-        parsers.add(changeLogParser);
-        Collections.sort(parsers, changelogParserComparator);
+    /**
+     * Adds the parser after the registered parsers of the same or higher priority, so readers always see a sorted list.
+     */
+    public synchronized void register(ChangeLogParser changeLogParser) {
+        int index = parsers.size();
+        while (index > 0 && changelogParserComparator.compare(parsers.get(index - 1), changeLogParser) > 0) {
+            index--;
+        }
+        parsers.add(index, changeLogParser);
     }
 
     public void unregister(ChangeLogParser changeLogParser) {
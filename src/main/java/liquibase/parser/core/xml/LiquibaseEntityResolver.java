@@ -4,23 +4,28 @@ import org.xml.sax.InputSource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import liquibase.logging.LogFactory;
 import liquibase.logging.Logger;
 import liquibase.resource.ResourceAccessor;
 import liquibase.util.file.FilenameUtils;
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
 import org.xml.sax.SAXException;
 import org.xml.sax.ext.EntityResolver2;
 
 /**
  * Finds the Liquibase schema from the classpath rather than fetching it over the Internet.
  * Also resolve external entities using a resourceAccessor if it's provided
+ * Can also be used as the resource resolver when compiling schemas.
  */
-public class LiquibaseEntityResolver implements EntityResolver2 {
+public class LiquibaseEntityResolver implements EntityResolver2, LSResourceResolver {
 
     private static final String SEARCH_PACKAGE = "liquibase/parser/core/xml/";
 
     private ResourceAccessor resourceAccessor;
     private String basePath;
+    private boolean resolvedFromResourceAccessor;
 
     private Logger log=LogFactory.getLogger();
 
@@ -38,6 +43,14 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
         this.basePath=basePath;
     }
 
+    /**
+     * Returns true if any entity has been resolved through the resource accessor, so the parsed document depends on
+     * files other than the one being parsed.
+     */
+    public boolean hasResolvedFromResourceAccessor() {
+        return resolvedFromResourceAccessor;
+    }
+
    public InputSource resolveEntity(String name, String publicId, String baseURI, String systemId) throws SAXException, IOException {
        InputSource resolved=null;
        if(systemId!=null && systemId.toLowerCase().endsWith(".xsd")) {
@@ -79,6 +92,7 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
 
     private InputSource tryResolveFromResourceAccessor(String systemId) {
         String path=FilenameUtils.concat(basePath, systemId);
+        resolvedFromResourceAccessor=true;
         try {
             return new InputSource(resourceAccessor.getResourceAsStream(path));
         }catch(Exception ex) {
@@ -90,9 +104,88 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
         return null;
     }
 
+    public LSInput resolveResource(String type, String namespaceURI, String publicId, String systemId, String baseURI) {
+        try {
+            InputSource source = resolveEntity(null, publicId, baseURI, systemId);
+            if (source == null || source.getByteStream() == null) {
+                return null;
+            }
+            return new ResolvedInput(source);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public InputSource resolveEntity(String publicId, String systemId) throws SAXException, IOException {
         log.warning("Current XML parsers seems to not support EntityResolver2. External entities won't be correctly loaded");
         return tryResolveLiquibaseSchema(systemId, publicId);
     }
 
+    private static class ResolvedInput implements LSInput {
+        private InputSource source;
+
+        private ResolvedInput(InputSource source) {
+            this.source = source;
+        }
+
+        public Reader getCharacterStream() {
+            return null;
+        }
+
+        public void setCharacterStream(Reader characterStream) {
+        }
+
+        public InputStream getByteStream() {
+            return source.getByteStream();
+        }
+
+        public void setByteStream(InputStream byteStream) {
+            source.setByteStream(byteStream);
+        }
+
+        public String getStringData() {
+            return null;
+        }
+
+        public void setStringData(String stringData) {
+        }
+
+        public String getSystemId() {
+            return source.getSystemId();
+        }
+
+        public void setSystemId(String systemId) {
+            source.setSystemId(systemId);
+        }
+
+        public String getPublicId() {
+            return source.getPublicId();
+        }
+
+        public void setPublicId(String publicId) {
+            source.setPublicId(publicId);
+        }
+
+        public String getBaseURI() {
+            return null;
+        }
+
+        public void setBaseURI(String baseURI) {
+        }
+
+        public String getEncoding() {
+            return source.getEncoding();
+        }
+
+        public void setEncoding(String encoding) {
+            source.setEncoding(encoding);
+        }
+
+        public boolean getCertifiedText() {
+            return false;
+        }
+
+        public void setCertifiedText(boolean certifiedText) {
+        }
+    }
 }
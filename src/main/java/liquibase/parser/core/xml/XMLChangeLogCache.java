@@ -0,0 +1,314 @@
+package liquibase.parser.core.xml;
+
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.logging.LogFactory;
+import liquibase.util.MD5Util;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * On-disk cache of the SAX events of parsed XML change log files, keyed by physical path and an MD5 of the file content.
+ * On a hit the recorded events are replayed into a new {@link XMLChangeLogSAXHandler} so the file does not need to be
+ * parsed and validated again.
+ * <p/>
+ * Each physical file is cached on its own.  Included files are looked up when the include element is replayed, so a
+ * changed file only causes that file to be parsed again.  Because events are replayed rather than parsed objects
+ * restored, change log parameters and includeAll directories are evaluated the same as on a normal parse.
+ * <p/>
+ * Several JVMs may share the directory.  Files are written to a temporary file that is renamed over the old one, and
+ * end with an MD5 of their content that is checked on read, so a partly written or damaged file is never replayed.
+ */
+public class XMLChangeLogCache {
+
+    private static final int MAGIC = 0x4C42434C;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte START_ELEMENT = 1;
+    private static final byte END_ELEMENT = 2;
+    private static final byte CHARACTERS = 3;
+    private static final byte END = 0;
+
+    private File directory;
+
+    public XMLChangeLogCache(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the events recorded for the given file and content hash, or null if there are none.
+     */
+    public Recording get(String physicalChangeLogLocation, String contentHash) {
+        File file = getCacheFile(physicalChangeLogLocation);
+        if (!file.exists()) {
+            return null;
+        }
+
+        DataInputStream in = null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            DigestInputStream digestIn = new DigestInputStream(new BufferedInputStream(new FileInputStream(file)), digest);
+            in = new DataInputStream(digestIn);
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            if (!physicalChangeLogLocation.equals(in.readUTF()) || !contentHash.equals(in.readUTF())) {
+                return null;
+            }
+            Recording recording = Recording.read(in, file.length());
+
+            digestIn.on(false);
+            byte[] storedDigest = new byte[in.readInt()];
+            in.readFully(storedDigest);
+            if (!MessageDigest.isEqual(digest.digest(), storedDigest)) {
+                LogFactory.getLogger().debug("Change log cache file " + file.getAbsolutePath() + " is damaged");
+                return null;
+            }
+            return recording;
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedLiquibaseException(e);
+        } catch (IOException e) {
+            LogFactory.getLogger().debug("Cannot read change log cache file " + file.getAbsolutePath() + ": " + e.getMessage());
+            return null;
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    //ok
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the events recorded for the given file and content hash.  Failures are logged and otherwise ignored.
+     */
+    public void put(String physicalChangeLogLocation, String contentHash, Recording recording) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            LogFactory.getLogger().warning("Cannot create change log cache directory " + directory.getAbsolutePath());
+            return;
+        }
+
+        File file = getCacheFile(physicalChangeLogLocation);
+        File tempFile = null;
+        DataOutputStream out = null;
+        try {
+            tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            DigestOutputStream digestOut = new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)), digest);
+            out = new DataOutputStream(digestOut);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(physicalChangeLogLocation);
+            out.writeUTF(contentHash);
+            recording.write(out);
+
+            digestOut.on(false);
+            byte[] contentDigest = digest.digest();
+            out.writeInt(contentDigest.length);
+            out.write(contentDigest);
+            out.close();
+            out = null;
+
+            if (!tempFile.renameTo(file)) {
+                if (file.exists() && !file.delete()) {
+                    throw new IOException("Cannot replace " + file.getAbsolutePath());
+                }
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("Cannot rename " + tempFile.getAbsolutePath() + " to " + file.getName());
+                }
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedLiquibaseException(e);
+        } catch (IOException e) {
+            LogFactory.getLogger().warning("Cannot write change log cache file " + file.getAbsolutePath() + ": " + e.getMessage());
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    //ok
+                }
+            }
+        }
+    }
+
+    private File getCacheFile(String physicalChangeLogLocation) {
+        return new File(directory, MD5Util.computeMD5(physicalChangeLogLocation) + ".changelog");
+    }
+
+    /**
+     * Content handler that records events so they can be replayed later, passing them on to another handler if one is given.
+     * Only the events {@link XMLChangeLogSAXHandler} reacts to are recorded.
+     */
+    public static class Recording extends DefaultHandler {
+        private ContentHandler delegate;
+        private List<Object[]> events = new ArrayList<Object[]>();
+
+        public Recording(ContentHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        public Recording() {
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            events.add(new Object[]{START_ELEMENT, uri, localName, qName, new AttributesImpl(attributes)});
+            if (delegate != null) {
+                delegate.startElement(uri, localName, qName, attributes);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            events.add(new Object[]{END_ELEMENT, uri, localName, qName});
+            if (delegate != null) {
+                delegate.endElement(uri, localName, qName);
+            }
+        }
+
+        @Override
+        public void characters(char ch[], int start, int length) throws SAXException {
+            events.add(new Object[]{CHARACTERS, new String(ch, start, length)});
+            if (delegate != null) {
+                delegate.characters(ch, start, length);
+            }
+        }
+
+        /**
+         * Returns the unexpanded attributes of all recorded elements with the given name, in document order.
+         */
+        public List<Attributes> getElements(String qName) {
+            List<Attributes> elements = new ArrayList<Attributes>();
+            for (Object[] event : events) {
+                if (((Byte) event[0]) == START_ELEMENT && qName.equals(event[3])) {
+                    elements.add((Attributes) event[4]);
+                }
+            }
+            return elements;
+        }
+
+        /**
+         * Sends the recorded events to the given handler.
+         */
+        public void replay(ContentHandler handler) throws SAXException {
+            for (Object[] event : events) {
+                byte type = (Byte) event[0];
+                if (type == START_ELEMENT) {
+                    handler.startElement((String) event[1], (String) event[2], (String) event[3], (Attributes) event[4]);
+                } else if (type == END_ELEMENT) {
+                    handler.endElement((String) event[1], (String) event[2], (String) event[3]);
+                } else {
+                    char[] chars = ((String) event[1]).toCharArray();
+                    handler.characters(chars, 0, chars.length);
+                }
+            }
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            for (Object[] event : events) {
+                byte type = (Byte) event[0];
+                out.writeByte(type);
+                if (type == CHARACTERS) {
+                    writeString(out, (String) event[1]);
+                } else {
+                    writeString(out, (String) event[1]);
+                    writeString(out, (String) event[2]);
+                    writeString(out, (String) event[3]);
+                    if (type == START_ELEMENT) {
+                        Attributes attributes = (Attributes) event[4];
+                        out.writeInt(attributes.getLength());
+                        for (int i = 0; i < attributes.getLength(); i++) {
+                            writeString(out, attributes.getURI(i));
+                            writeString(out, attributes.getLocalName(i));
+                            writeString(out, attributes.getQName(i));
+                            writeString(out, attributes.getType(i));
+                            writeString(out, attributes.getValue(i));
+                        }
+                    }
+                }
+            }
+            out.writeByte(END);
+        }
+
+        /**
+         * Reads the events written by {@link #write(DataOutputStream)}.  No string is longer than maxLength bytes, so
+         * damaged lengths fail rather than allocate huge arrays.
+         */
+        private static Recording read(DataInputStream in, long maxLength) throws IOException {
+            Recording recording = new Recording();
+            byte type;
+            while ((type = in.readByte()) != END) {
+                if (type == CHARACTERS) {
+                    recording.events.add(new Object[]{type, readString(in, maxLength)});
+                } else if (type == END_ELEMENT) {
+                    recording.events.add(new Object[]{type, readString(in, maxLength), readString(in, maxLength), readString(in, maxLength)});
+                } else if (type == START_ELEMENT) {
+                    String uri = readString(in, maxLength);
+                    String localName = readString(in, maxLength);
+                    String qName = readString(in, maxLength);
+                    AttributesImpl attributes = new AttributesImpl();
+                    int length = in.readInt();
+                    for (int i = 0; i < length; i++) {
+                        attributes.addAttribute(readString(in, maxLength), readString(in, maxLength), readString(in, maxLength), readString(in, maxLength), readString(in, maxLength));
+                    }
+                    recording.events.add(new Object[]{type, uri, localName, qName, attributes});
+                } else {
+                    throw new EOFException("Unknown event type " + type);
+                }
+            }
+            return recording;
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes("UTF-8");
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(DataInputStream in, long maxLength) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > maxLength) {
+                throw new EOFException("String of " + length + " bytes in a file of " + maxLength);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, "UTF-8");
+        }
+    }
+}
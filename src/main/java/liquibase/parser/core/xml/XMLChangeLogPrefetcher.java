@@ -0,0 +1,147 @@
+package liquibase.parser.core.xml;
+
+import liquibase.logging.LogFactory;
+import liquibase.resource.ResourceAccessor;
+
+import org.xml.sax.Attributes;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Parses the XML files included by a change log on a pool of threads ahead of time.
+ * <p/>
+ * Each file is only read and validated on the pool, recording its SAX events.  The events of the root change log are
+ * then handled on the calling thread as usual, and when an include is handled the recorded events of the included file
+ * are replayed in its place.  Change sets, preconditions, properties and rollback references are therefore processed
+ * in exactly the same order as a serial parse.
+ * <p/>
+ * Includes whose path cannot be known up front, such as ones using change log parameters, and files that fail to parse
+ * ahead of time are simply parsed again when they are reached, which also reports any errors the same way as usual.
+ */
+class XMLChangeLogPrefetcher {
+
+    private XMLChangeLogSAXParser parser;
+    private ResourceAccessor resourceAccessor;
+    private ExecutorService executor;
+    private ConcurrentHashMap<String, FutureTask<XMLChangeLogCache.Recording>> tasks = new ConcurrentHashMap<String, FutureTask<XMLChangeLogCache.Recording>>();
+
+    XMLChangeLogPrefetcher(XMLChangeLogSAXParser parser, ResourceAccessor resourceAccessor, int threads) {
+        this.parser = parser;
+        this.resourceAccessor = resourceAccessor;
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "liquibase-changelog-parser");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Starts recording the given file in the background, unless that was already done.
+     */
+    void prefetch(final String physicalChangeLogLocation) {
+        if (tasks.containsKey(physicalChangeLogLocation)) {
+            return;
+        }
+        FutureTask<XMLChangeLogCache.Recording> task = new FutureTask<XMLChangeLogCache.Recording>(new Callable<XMLChangeLogCache.Recording>() {
+            public XMLChangeLogCache.Recording call() throws Exception {
+                XMLChangeLogCache.Recording recording = parser.record(physicalChangeLogLocation, resourceAccessor);
+                prefetchIncludes(physicalChangeLogLocation, recording);
+                return recording;
+            }
+        });
+        if (tasks.putIfAbsent(physicalChangeLogLocation, task) == null) {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * Returns the recorded events of the given file, waiting for them if needed, or null if the file was not recorded.
+     * A recording is only handed out once.
+     */
+    XMLChangeLogCache.Recording take(String physicalChangeLogLocation) {
+        FutureTask<XMLChangeLogCache.Recording> task = tasks.remove(physicalChangeLogLocation);
+        if (task == null) {
+            return null;
+        }
+        task.run(); //does nothing if already started, otherwise records the file on this thread rather than waiting for the pool
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            LogFactory.getLogger().debug("Could not parse " + physicalChangeLogLocation + " ahead of time: " + e.getMessage());
+            return null;
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+        tasks.clear();
+    }
+
+    private void prefetchIncludes(String physicalChangeLogLocation, XMLChangeLogCache.Recording recording) throws Exception {
+        for (Attributes include : recording.getElements("include")) {
+            String fileName = include.getValue("file");
+            if (fileName == null || fileName.indexOf("${") >= 0) {
+                continue;
+            }
+            fileName = fileName.replace('\\', '/');
+            boolean isRelativeToChangelogFile = Boolean.parseBoolean(include.getValue("relativeToChangelogFile"));
+            prefetchIfSupported(XMLChangeLogSAXHandler.resolveIncludePath(fileName, isRelativeToChangelogFile, physicalChangeLogLocation));
+        }
+
+        for (Attributes includeAll : recording.getElements("includeAll")) {
+            String pathName = includeAll.getValue("path");
+            if (pathName == null || pathName.indexOf("${") >= 0) {
+                continue;
+            }
+            boolean isRelativeToChangelogFile = Boolean.parseBoolean(includeAll.getValue("relativeToChangelogFile"));
+            pathName = XMLChangeLogSAXHandler.resolveIncludeAllPath(pathName, isRelativeToChangelogFile, physicalChangeLogLocation);
+
+            SortedSet<URL> resources = new TreeSet<URL>(new Comparator<URL>() {
+                public int compare(URL o1, URL o2) {
+                    return o1.toString().compareTo(o2.toString());
+                }
+            });
+            Enumeration<URL> resourcesEnum = resourceAccessor.getResources(pathName);
+            while (resourcesEnum.hasMoreElements()) {
+                resources.add(resourcesEnum.nextElement());
+            }
+
+            for (URL fileUrl : resources) {
+                if (!fileUrl.toExternalForm().startsWith("file:")) {
+                    continue; //archives are extracted when the includeAll is handled
+                }
+                File file = new File(fileUrl.toURI());
+                if (file.isDirectory()) {
+                    for (File childFile : new TreeSet<File>(Arrays.asList(file.listFiles()))) {
+                        prefetchIfSupported(pathName + childFile.getName());
+                    }
+                } else if (file.exists()) {
+                    prefetchIfSupported(pathName + file.getName());
+                }
+            }
+        }
+    }
+
+    private void prefetchIfSupported(String path) {
+        if (parser.supports(path, resourceAccessor)) {
+            prefetch(path);
+        }
+    }
+}
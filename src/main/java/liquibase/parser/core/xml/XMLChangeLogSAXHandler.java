@@ -41,7 +41,9 @@ import liquibase.change.core.UpdateDataChange;
 import liquibase.change.custom.CustomChangeWrapper;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.changelog.ChangeSet;
+import liquibase.changelog.ChangeSetBodyLoader;
 import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.ChangeLogParseException;
 import liquibase.exception.CustomChangeException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.MigrationFailedException;
@@ -90,6 +92,11 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 	private Set<String> modifySqlContexts;
 	private boolean modifySqlAppliedOnRollback = false;
 
+	private boolean lazyChangeSets = false;
+	private XMLChangeLogCache.Recording changeSetBody;
+	private int changeSetBodyDepth = 0;
+	private boolean inValidCheckSum = false;
+
 	protected XMLChangeLogSAXHandler(String physicalChangeLogLocation,
 			ResourceAccessor resourceAccessor,
 			ChangeLogParameters changeLogParameters) {
@@ -103,19 +110,51 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 		this.changeLogParameters = changeLogParameters;
 	}
 
+	/**
+	 * Creates a handler that adds the body events it receives to the given
+	 * change set.
+	 */
+	private XMLChangeLogSAXHandler(DatabaseChangeLog databaseChangeLog,
+			ChangeSet changeSet, ResourceAccessor resourceAccessor,
+			ChangeLogParameters changeLogParameters) {
+		log = LogFactory.getLogger();
+		this.databaseChangeLog = databaseChangeLog;
+		this.changeSet = changeSet;
+		this.resourceAccessor = resourceAccessor;
+		this.changeLogParameters = changeLogParameters;
+	}
+
 	public DatabaseChangeLog getDatabaseChangeLog() {
 		return databaseChangeLog;
 	}
 
+	/**
+	 * If true, only the header and valid checksums of each change set are
+	 * handled while parsing.  The rest of the change set is recorded and only
+	 * handled when it is first needed, see
+	 * {@link ChangeSet#setBodyLoader(ChangeSetBodyLoader)}.
+	 */
+	void setLazyChangeSets(boolean lazyChangeSets) {
+		this.lazyChangeSets = lazyChangeSets;
+	}
+
 	@Override
 	public void startElement(String uri, String localName, String qName,
 			Attributes baseAttributes) throws SAXException {
 		Attributes atts = new ExpandingAttributes(baseAttributes);
 		try {
-			if ("comment".equals(qName)) {
+			if (changeSetBody != null && !inValidCheckSum
+					&& (changeSetBodyDepth > 0 || !"validCheckSum".equals(qName))) {
+				if ("rollback".equals(qName)) {
+					findRollbackChangeSet(atts); //fail on unknown change sets while parsing, as usual
+				}
+				changeSetBody.startElement(uri, localName, qName, baseAttributes);
+				changeSetBodyDepth++;
+			} else if ("comment".equals(qName)) {
 				text = new StringBuffer();
 			} else if ("validCheckSum".equals(qName)) {
 				text = new StringBuffer();
+				inValidCheckSum = true;
 			} else if ("databaseChangeLog".equals(qName)) {
 				String schemaLocation = atts.getValue("xsi:schemaLocation");
 				if (schemaLocation != null) {
@@ -144,29 +183,13 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 						databaseChangeLog.getPhysicalFilePath());
 			} else if ("includeAll".equals(qName)) {
 				String pathName = atts.getValue("path");
-				pathName = pathName.replace('\\', '/');
-
-				if (!(pathName.endsWith("/"))) {
-					pathName = pathName + '/';
-				}
 				log.debug("includeAll for " + pathName);
 				log.debug("Using file opener for includeAll: " + resourceAccessor.toString());
 				boolean isRelativeToChangelogFile = Boolean.parseBoolean(atts
 						.getValue("relativeToChangelogFile"));
 
-				if (isRelativeToChangelogFile) {
-					File changeLogFile = new File(databaseChangeLog
-							.getPhysicalFilePath());
-					File resourceBase = new File(changeLogFile.getParent(),
-							pathName);
-					if (!resourceBase.exists()) {
-						throw new SAXException(
-								"Resource directory for includeAll does not exist ["
-										+ resourceBase.getPath() + "]");
-					}
-					pathName = resourceBase.getPath() + '/';
-					pathName = pathName.replace('\\', '/');
-				}
+				pathName = resolveIncludeAllPath(pathName, isRelativeToChangelogFile,
+						databaseChangeLog.getPhysicalFilePath());
 
 				Enumeration<URL> resourcesEnum = resourceAccessor.getResources(pathName);
                 SortedSet<URL> resources = new TreeSet<URL>(new Comparator<URL>() {
@@ -251,25 +274,15 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
                 if (StringUtils.trimToNull(atts.getValue("onValidationFail")) != null) {
                     changeSet.setOnValidationFail(ChangeSet.ValidationFailOption.valueOf(atts.getValue("onValidationFail")));
                 }
+				if (lazyChangeSets) {
+					changeSetBody = new XMLChangeLogCache.Recording();
+				}
 			} else if (changeSet != null && "rollback".equals(qName)) {
 				text = new StringBuffer();
-				String id = atts.getValue("changeSetId");
-				if (id != null) {
-					String path = atts.getValue("changeSetPath");
-					if (path == null) {
-						path = databaseChangeLog.getFilePath();
-					}
-					String author = atts.getValue("changeSetAuthor");
-					ChangeSet changeSet = databaseChangeLog.getChangeSet(path,
-							author, id);
-					if (changeSet == null) {
-						throw new SAXException(
-								"Could not find changeSet to use for rollback: "
-										+ path + ":" + author + ":" + id);
-					} else {
-						for (Change change : changeSet.getChanges()) {
-							this.changeSet.addRollbackChange(change);
-						}
+				ChangeSet changeSet = findRollbackChangeSet(atts);
+				if (changeSet != null) {
+					for (Change change : changeSet.getChanges()) {
+						this.changeSet.addRollbackChange(change);
 					}
 				}
 				inRollback = true;
@@ -479,6 +492,30 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 		}
 	}
 
+	/**
+	 * Returns the change set referred to by the changeSetId of a rollback
+	 * element, or null if it has none.
+	 */
+	private ChangeSet findRollbackChangeSet(Attributes atts)
+			throws SAXException {
+		String id = atts.getValue("changeSetId");
+		if (id == null) {
+			return null;
+		}
+		String path = atts.getValue("changeSetPath");
+		if (path == null) {
+			path = databaseChangeLog.getFilePath();
+		}
+		String author = atts.getValue("changeSetAuthor");
+		ChangeSet changeSet = databaseChangeLog.getChangeSet(path, author, id);
+		if (changeSet == null) {
+			throw new SAXException(
+					"Could not find changeSet to use for rollback: " + path
+							+ ":" + author + ":" + id);
+		}
+		return changeSet;
+	}
+
 	protected boolean handleIncludedChangeLog(String fileName,
 			boolean isRelativePath, String relativeBaseFileName)
 			throws LiquibaseException {
@@ -492,15 +529,7 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
             return false;
         }
 
-		if (isRelativePath) {
-			// workaround for FilenameUtils.normalize() returning null for relative paths like ../conf/liquibase.xml
-			String tempFile = FilenameUtils.concat(FilenameUtils.getFullPath(relativeBaseFileName), fileName);
-			if(tempFile != null && new File(tempFile).exists() == true) {
-				fileName = tempFile;
-			} else {
-				fileName = FilenameUtils.getFullPath(relativeBaseFileName) + fileName;
-			}
-		}
+		fileName = resolveIncludePath(fileName, isRelativePath, relativeBaseFileName);
 		DatabaseChangeLog changeLog = ChangeLogParserFactory.getInstance().getParser(fileName, resourceAccessor).parse(fileName, changeLogParameters,
 						resourceAccessor);
 		PreconditionContainer preconditions = changeLog.getPreconditions();
@@ -518,6 +547,50 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 		return true;
 	}
 
+	/**
+	 * Returns the path an include of the given file resolves to.
+	 */
+	static String resolveIncludePath(String fileName, boolean isRelativePath,
+			String relativeBaseFileName) {
+		if (isRelativePath) {
+			// workaround for FilenameUtils.normalize() returning null for relative paths like ../conf/liquibase.xml
+			String tempFile = FilenameUtils.concat(FilenameUtils.getFullPath(relativeBaseFileName), fileName);
+			if(tempFile != null && new File(tempFile).exists() == true) {
+				fileName = tempFile;
+			} else {
+				fileName = FilenameUtils.getFullPath(relativeBaseFileName) + fileName;
+			}
+		}
+		return fileName;
+	}
+
+	/**
+	 * Returns the directory path, ending with '/', an includeAll of the given path resolves to.
+	 */
+	static String resolveIncludeAllPath(String pathName,
+			boolean isRelativeToChangelogFile, String physicalFilePath)
+			throws SAXException {
+		pathName = pathName.replace('\\', '/');
+
+		if (!(pathName.endsWith("/"))) {
+			pathName = pathName + '/';
+		}
+
+		if (isRelativeToChangelogFile) {
+			File changeLogFile = new File(physicalFilePath);
+			File resourceBase = new File(changeLogFile.getParent(),
+					pathName);
+			if (!resourceBase.exists()) {
+				throw new SAXException(
+						"Resource directory for includeAll does not exist ["
+								+ resourceBase.getPath() + "]");
+			}
+			pathName = resourceBase.getPath() + '/';
+			pathName = pathName.replace('\\', '/');
+		}
+		return pathName;
+	}
+
 	private void setProperty(Object object, String attributeName,
 			String attributeValue) throws IllegalAccessException,
 			InvocationTargetException, CustomChangeException {
@@ -545,7 +618,10 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 		}
 
 		try {
-			if (changeSubObjects.size() > 0) {
+			if (changeSetBodyDepth > 0) {
+				changeSetBody.endElement(uri, localName, qName);
+				changeSetBodyDepth--;
+			} else if (changeSubObjects.size() > 0) {
 				changeSubObjects.pop();
 			} else if (rootPrecondition != null) {
 				if ("preConditions".equals(qName)) {
@@ -604,6 +680,12 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 				changeSet.setComments(textString);
 				text = new StringBuffer();
 			} else if (changeSet != null && "changeSet".equals(qName)) {
+				if (changeSetBody != null) {
+					changeSet.setBodyLoader(new XMLChangeSetBodyLoader(
+							databaseChangeLog, changeSetBody, resourceAccessor,
+							changeLogParameters.getSnapshot()));
+					changeSetBody = null;
+				}
 				handleChangeSet(changeSet);
 				changeSet = null;
 			} else if (change != null && qName.equals("column")
@@ -651,6 +733,7 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 			} else if (changeSet != null && "validCheckSum".equals(qName)) {
 				changeSet.addValidCheckSum(text.toString());
 				text = null;
+				inValidCheckSum = false;
 			} else if ("modifySql".equals(qName)) {
 				inModifySql = false;
 				modifySqlDbmsList = null;
@@ -676,11 +759,43 @@ class XMLChangeLogSAXHandler extends DefaultHandler {
 	@Override
 	public void characters(char ch[], int start, int length)
 			throws SAXException {
-		if (text != null) {
+		if (changeSetBodyDepth > 0) {
+			changeSetBody.characters(ch, start, length);
+		} else if (text != null) {
 			text.append(new String(ch, start, length));
 		}
 	}
 
+	/**
+	 * Builds the body of a change set by replaying its recorded events with the
+	 * change log parameters as they were when it was parsed.
+	 */
+	private static class XMLChangeSetBodyLoader implements ChangeSetBodyLoader {
+		private DatabaseChangeLog databaseChangeLog;
+		private XMLChangeLogCache.Recording body;
+		private ResourceAccessor resourceAccessor;
+		private ChangeLogParameters changeLogParameters;
+
+		private XMLChangeSetBodyLoader(DatabaseChangeLog databaseChangeLog,
+				XMLChangeLogCache.Recording body,
+				ResourceAccessor resourceAccessor,
+				ChangeLogParameters changeLogParameters) {
+			this.databaseChangeLog = databaseChangeLog;
+			this.body = body;
+			this.resourceAccessor = resourceAccessor;
+			this.changeLogParameters = changeLogParameters;
+		}
+
+		public void load(ChangeSet changeSet) throws LiquibaseException {
+			try {
+				body.replay(new XMLChangeLogSAXHandler(databaseChangeLog,
+						changeSet, resourceAccessor, changeLogParameters));
+			} catch (SAXException e) {
+				throw new ChangeLogParseException(e.getMessage(), e);
+			}
+		}
+	}
+
 	/**
 	 * Wrapper for Attributes that expands the value as needed
 	 */
@@ -1,7 +1,10 @@
 package liquibase.parser.core.xml;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -12,8 +15,11 @@ import liquibase.exception.ChangeLogParseException;
 import liquibase.logging.LogFactory;
 import liquibase.parser.ChangeLogParser;
 import liquibase.resource.ResourceAccessor;
+import liquibase.util.MD5Util;
+import liquibase.util.StringUtils;
 import liquibase.util.file.FilenameUtils;
 
+import org.xml.sax.ContentHandler;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -24,9 +30,55 @@ import org.xml.sax.XMLReader;
 
 public class XMLChangeLogSAXParser implements ChangeLogParser {
 
+    private static final ErrorHandler ERROR_HANDLER = new ErrorHandler() {
+        public void warning(SAXParseException exception) throws SAXException {
+            LogFactory.getLogger().warning(exception.getMessage());
+            throw exception;
+        }
+
+        public void error(SAXParseException exception) throws SAXException {
+            LogFactory.getLogger().severe(exception.getMessage());
+            throw exception;
+        }
+
+        public void fatalError(SAXParseException exception) throws SAXException {
+            LogFactory.getLogger().severe(exception.getMessage());
+            throw exception;
+        }
+    };
+
     private SAXParserFactory saxParserFactory;
 
+    /**
+     * Creates non-validating parsers whose output is validated against a schema from {@link XMLChangeLogSchemas}.
+     */
+    private SAXParserFactory schemaParserFactory;
+
+    private Queue<SAXParser> saxParsers = new ConcurrentLinkedQueue<SAXParser>();
+    private Queue<SAXParser> schemaParsers = new ConcurrentLinkedQueue<SAXParser>();
+
+    private XMLChangeLogCache changeLogCache;
+
+    private int includeParseThreads = 1;
+
+    private boolean lazyChangeSets = false;
+
+    /**
+     * The prefetcher of the change log currently being parsed on this thread, so included files use it as well.
+     */
+    private static final ThreadLocal<XMLChangeLogPrefetcher> prefetchers = new ThreadLocal<XMLChangeLogPrefetcher>();
+
     public XMLChangeLogSAXParser() {
+        String cacheDirectory = StringUtils.trimToNull(System.getProperty("liquibase.changeLogCacheDir"));
+        if (cacheDirectory != null) {
+            changeLogCache = new XMLChangeLogCache(new File(cacheDirectory));
+        }
+        String threads = StringUtils.trimToNull(System.getProperty("liquibase.includeParseThreads"));
+        if (threads != null) {
+            includeParseThreads = Integer.parseInt(threads);
+        }
+        lazyChangeSets = Boolean.getBoolean("liquibase.lazyChangeSets");
+
         saxParserFactory = SAXParserFactory.newInstance();
 
         if (System.getProperty("java.vm.version").startsWith("1.4")) {
@@ -35,6 +87,10 @@ public class XMLChangeLogSAXParser implements ChangeLogParser {
         } else {
             saxParserFactory.setValidating(true);
             saxParserFactory.setNamespaceAware(true);
+
+            schemaParserFactory = SAXParserFactory.newInstance();
+            schemaParserFactory.setValidating(false);
+            schemaParserFactory.setNamespaceAware(true);
         }
     }
 
@@ -54,48 +110,96 @@ public class XMLChangeLogSAXParser implements ChangeLogParser {
         return changeLogFile.endsWith("xml");
     }
 
+    public XMLChangeLogCache getChangeLogCache() {
+        return changeLogCache;
+    }
+
+    /**
+     * Sets the cache used to skip parsing of files that have not changed since they were last parsed, or null to
+     * always parse.  Defaults to a cache in the directory given by the liquibase.changeLogCacheDir system property, if set.
+     * Included files are parsed by the parser registered with {@link liquibase.parser.ChangeLogParserFactory}.
+     */
+    public void setChangeLogCache(XMLChangeLogCache changeLogCache) {
+        this.changeLogCache = changeLogCache;
+    }
+
+    public int getIncludeParseThreads() {
+        return includeParseThreads;
+    }
+
+    /**
+     * Sets the number of threads used to read and validate included files ahead of time.  With 1 (the default)
+     * included files are only parsed when their include is reached.  Defaults to the liquibase.includeParseThreads
+     * system property, if set.  The resulting change log is the same either way.
+     */
+    public void setIncludeParseThreads(int includeParseThreads) {
+        this.includeParseThreads = includeParseThreads;
+    }
+
+    public boolean isLazyChangeSets() {
+        return lazyChangeSets;
+    }
+
+    /**
+     * If true, the changes, rollback, preconditions, sql visitors and comments of each change set are only built when
+     * first needed rather than while parsing, which saves time and memory when most change sets have already been ran.
+     * Errors in them are then reported when they are built.  Defaults to the liquibase.lazyChangeSets system property.
+     * Included files are parsed by the parser registered with {@link liquibase.parser.ChangeLogParserFactory}.
+     */
+    public void setLazyChangeSets(boolean lazyChangeSets) {
+        this.lazyChangeSets = lazyChangeSets;
+    }
+
     public DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        XMLChangeLogPrefetcher prefetcher = prefetchers.get();
+        if (prefetcher != null || includeParseThreads <= 1) {
+            return parse(physicalChangeLogLocation, changeLogParameters, resourceAccessor, prefetcher);
+        }
 
-        InputStream inputStream = null;
+        prefetcher = new XMLChangeLogPrefetcher(this, resourceAccessor, includeParseThreads);
+        prefetchers.set(prefetcher);
         try {
-            SAXParser parser = saxParserFactory.newSAXParser();
-            try {
-                parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaLanguage", "http://www.w3.org/2001/XMLSchema");
-            } catch (SAXNotRecognizedException e) {
-                //ok, parser must not support it
-            } catch (SAXNotSupportedException e) {
-                //ok, parser must not support it
-            }
+            prefetcher.prefetch(physicalChangeLogLocation);
+            return parse(physicalChangeLogLocation, changeLogParameters, resourceAccessor, prefetcher);
+        } finally {
+            prefetchers.remove();
+            prefetcher.shutdown();
+        }
+    }
 
-            XMLReader xmlReader = parser.getXMLReader();
-            LiquibaseEntityResolver resolver=new LiquibaseEntityResolver();
-            resolver.useResoureAccessor(resourceAccessor,FilenameUtils.getFullPath(physicalChangeLogLocation));
-            xmlReader.setEntityResolver(resolver);
-            xmlReader.setErrorHandler(new ErrorHandler() {
-                public void warning(SAXParseException exception) throws SAXException {
-                    LogFactory.getLogger().warning(exception.getMessage());
-                    throw exception;
-                }
+    private DatabaseChangeLog parse(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor, XMLChangeLogPrefetcher prefetcher) throws ChangeLogParseException {
 
-                public void error(SAXParseException exception) throws SAXException {
-                    LogFactory.getLogger().severe(exception.getMessage());
-                    throw exception;
-                }
+        try {
+            XMLChangeLogCache.Recording recording = null;
+            if (prefetcher != null) {
+                recording = prefetcher.take(physicalChangeLogLocation);
+            }
 
-                public void fatalError(SAXParseException exception) throws SAXException {
-                    LogFactory.getLogger().severe(exception.getMessage());
-                    throw exception;
-                }
-            });
-        	
-            inputStream = resourceAccessor.getResourceAsStream(physicalChangeLogLocation);
-            if (inputStream == null) {
-                throw new ChangeLogParseException(physicalChangeLogLocation + " does not exist");
+            String contentHash = null;
+            if (recording == null && changeLogCache != null) {
+                contentHash = computeContentHash(physicalChangeLogLocation, resourceAccessor);
+                recording = changeLogCache.get(physicalChangeLogLocation, contentHash);
+            }
+
+            if (recording != null) {
+                XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, resourceAccessor, changeLogParameters);
+                contentHandler.setLazyChangeSets(lazyChangeSets);
+                recording.replay(contentHandler);
+                return contentHandler.getDatabaseChangeLog();
             }
 
+            LiquibaseEntityResolver resolver = createEntityResolver(physicalChangeLogLocation, resourceAccessor);
             XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, resourceAccessor, changeLogParameters);
-            xmlReader.setContentHandler(contentHandler);
-            xmlReader.parse(new InputSource(inputStream));
+            contentHandler.setLazyChangeSets(lazyChangeSets);
+            if (changeLogCache == null) {
+                parse(physicalChangeLogLocation, resourceAccessor, resolver, contentHandler);
+            } else {
+                recording = new XMLChangeLogCache.Recording(contentHandler);
+                parse(physicalChangeLogLocation, resourceAccessor, resolver, recording);
+                if (!resolver.hasResolvedFromResourceAccessor()) {
+                    changeLogCache.put(physicalChangeLogLocation, contentHash, recording);
+                }
+            }
 
             return contentHandler.getDatabaseChangeLog();
         } catch (ChangeLogParseException e) {
@@ -132,14 +236,106 @@ public class XMLChangeLogSAXParser implements ChangeLogParser {
             throw new ChangeLogParseException("Invalid Migration File: " + reason, e);
         } catch (Exception e) {
             throw new ChangeLogParseException(e);
-        } finally {
-            if (inputStream != null) {
+        }
+    }
+
+    /**
+     * Reads and validates the given file, returning its SAX events without handling them.
+     * Uses the change log cache, if one is set.
+     */
+    XMLChangeLogCache.Recording record(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws Exception {
+        String contentHash = null;
+        if (changeLogCache != null) {
+            contentHash = computeContentHash(physicalChangeLogLocation, resourceAccessor);
+            XMLChangeLogCache.Recording recording = changeLogCache.get(physicalChangeLogLocation, contentHash);
+            if (recording != null) {
+                return recording;
+            }
+        }
+
+        LiquibaseEntityResolver resolver = createEntityResolver(physicalChangeLogLocation, resourceAccessor);
+        XMLChangeLogCache.Recording recording = new XMLChangeLogCache.Recording();
+        parse(physicalChangeLogLocation, resourceAccessor, resolver, recording);
+        if (changeLogCache != null && !resolver.hasResolvedFromResourceAccessor()) {
+            changeLogCache.put(physicalChangeLogLocation, contentHash, recording);
+        }
+        return recording;
+    }
+
+    /**
+     * Parses the given file into the content handler.  Files naming their schema on the root element are validated
+     * against the compiled schema shared through {@link XMLChangeLogSchemas}, others by the parser itself.
+     */
+    private void parse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor, LiquibaseEntityResolver resolver, ContentHandler contentHandler) throws Exception {
+        if (schemaParserFactory != null) {
+            try {
+                parse(physicalChangeLogLocation, resourceAccessor, resolver, contentHandler, true);
+                return;
+            } catch (XMLChangeLogSchemas.NoSchemaLocationException e) {
+                //fall back to the parser's own validation
+            }
+        }
+        parse(physicalChangeLogLocation, resourceAccessor, resolver, contentHandler, false);
+    }
+
+    private void parse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor, LiquibaseEntityResolver resolver, ContentHandler contentHandler, boolean useCachedSchema) throws Exception {
+        InputStream inputStream = resourceAccessor.getResourceAsStream(physicalChangeLogLocation);
+        if (inputStream == null) {
+            throw new ChangeLogParseException(physicalChangeLogLocation + " does not exist");
+        }
+
+        Queue<SAXParser> pool = useCachedSchema ? schemaParsers : saxParsers;
+        SAXParser parser = pool.poll();
+        if (parser == null) {
+            SAXParserFactory factory = useCachedSchema ? schemaParserFactory : saxParserFactory;
+            synchronized (factory) { //factories are not thread safe
+                parser = factory.newSAXParser();
+            }
+        }
+        try {
+            XMLReader xmlReader = parser.getXMLReader();
+            xmlReader.setEntityResolver(resolver);
+            xmlReader.setErrorHandler(ERROR_HANDLER);
+            if (useCachedSchema) {
+                XMLChangeLogSchemas.ValidatingHandler validatingHandler = new XMLChangeLogSchemas.ValidatingHandler(contentHandler, ERROR_HANDLER, resourceAccessor, FilenameUtils.getFullPath(physicalChangeLogLocation));
+                xmlReader.setContentHandler(validatingHandler);
+                xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", validatingHandler);
+            } else {
                 try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    // probably ok
+                    parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaLanguage", "http://www.w3.org/2001/XMLSchema");
+                } catch (SAXNotRecognizedException e) {
+                    //ok, parser must not support it
+                } catch (SAXNotSupportedException e) {
+                    //ok, parser must not support it
                 }
+                xmlReader.setContentHandler(contentHandler);
+            }
+            xmlReader.parse(new InputSource(inputStream));
+        } finally {
+            try {
+                inputStream.close();
+            } finally {
+                parser.reset();
+                pool.offer(parser);
             }
         }
     }
+
+    private String computeContentHash(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws IOException, ChangeLogParseException {
+        InputStream inputStream = resourceAccessor.getResourceAsStream(physicalChangeLogLocation);
+        if (inputStream == null) {
+            throw new ChangeLogParseException(physicalChangeLogLocation + " does not exist");
+        }
+        try {
+            return MD5Util.computeMD5(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private LiquibaseEntityResolver createEntityResolver(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) {
+        LiquibaseEntityResolver resolver=new LiquibaseEntityResolver();
+        resolver.useResoureAccessor(resourceAccessor,FilenameUtils.getFullPath(physicalChangeLogLocation));
+        return resolver;
+    }
 }
@@ -0,0 +1,235 @@
+package liquibase.parser.core.xml;
+
+import liquibase.resource.ResourceAccessor;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of the schemas change log files are validated against, compiled once per distinct
+ * xsi:schemaLocation value rather than once per parsed file.
+ * <p/>
+ * Schemas found on the classpath, which includes all dbchangelog versions, are shared by everything.  Schemas that
+ * needed the resource accessor, such as extension XSDs shipped next to the change logs, are cached per resource accessor
+ * and directory.
+ */
+public class XMLChangeLogSchemas {
+
+    private static final String SCHEMA_INSTANCE_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    private static final Map<String, Schema> schemas = new ConcurrentHashMap<String, Schema>();
+    private static final Map<ResourceAccessor, Map<String, Schema>> resourceAccessorSchemas = new WeakHashMap<ResourceAccessor, Map<String, Schema>>();
+
+    /**
+     * Returns the compiled schema for the given xsi:schemaLocation value, compiling it if needed.
+     *
+     * @param basePath directory of the change log file, used to find schemas through the resource accessor
+     */
+    public static Schema getSchema(String schemaLocation, ResourceAccessor resourceAccessor, String basePath) throws SAXException {
+        Schema schema = schemas.get(schemaLocation);
+        if (schema != null) {
+            return schema;
+        }
+        String resourceAccessorKey = basePath + " " + schemaLocation;
+        synchronized (resourceAccessorSchemas) {
+            Map<String, Schema> accessorSchemas = resourceAccessorSchemas.get(resourceAccessor);
+            if (accessorSchemas != null && accessorSchemas.containsKey(resourceAccessorKey)) {
+                return accessorSchemas.get(resourceAccessorKey);
+            }
+        }
+
+        LiquibaseEntityResolver resolver = new LiquibaseEntityResolver();
+        resolver.useResoureAccessor(resourceAccessor, basePath);
+        schema = compile(schemaLocation, resolver);
+
+        if (resolver.hasResolvedFromResourceAccessor()) {
+            synchronized (resourceAccessorSchemas) {
+                Map<String, Schema> accessorSchemas = resourceAccessorSchemas.get(resourceAccessor);
+                if (accessorSchemas == null) {
+                    accessorSchemas = new HashMap<String, Schema>();
+                    resourceAccessorSchemas.put(resourceAccessor, accessorSchemas);
+                }
+                accessorSchemas.put(resourceAccessorKey, schema);
+            }
+        } else {
+            schemas.put(schemaLocation, schema);
+        }
+        return schema;
+    }
+
+    public static void clear() {
+        schemas.clear();
+        synchronized (resourceAccessorSchemas) {
+            resourceAccessorSchemas.clear();
+        }
+    }
+
+    private static Schema compile(String schemaLocation, LiquibaseEntityResolver resolver) throws SAXException {
+        String[] parts = schemaLocation.trim().split("\\s+");
+        List<Source> sources = new ArrayList<Source>();
+        for (int i = 1; i < parts.length; i += 2) {
+            String systemId = parts[i];
+            InputSource inputSource;
+            try {
+                inputSource = resolver.resolveEntity(null, null, null, systemId);
+            } catch (Exception e) {
+                inputSource = null;
+            }
+            if (inputSource == null || inputSource.getByteStream() == null) {
+                sources.add(new StreamSource(systemId));
+            } else {
+                sources.add(new StreamSource(inputSource.getByteStream(), systemId));
+            }
+        }
+
+        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        schemaFactory.setResourceResolver(resolver);
+        return schemaFactory.newSchema(sources.toArray(new Source[sources.size()]));
+    }
+
+    /**
+     * Thrown when a document does not name its schema on the root element, so it cannot be validated against a cached
+     * schema and needs the parser's own validation.
+     */
+    static class NoSchemaLocationException extends SAXException {
+        private static final long serialVersionUID = 1L;
+
+        NoSchemaLocationException() {
+            super("No schema location on root element");
+        }
+    }
+
+    /**
+     * Receives the events of a non-validating parse and validates them against the cached schema named by the root
+     * element before passing them on, with schema default attribute values filled in the same as a validating parser.
+     * Documents with a DTD or without xsi:schemaLocation on the root element cause a {@link NoSchemaLocationException}
+     * before any event is passed on.
+     */
+    static class ValidatingHandler implements ContentHandler, LexicalHandler {
+        private ContentHandler target;
+        private ErrorHandler errorHandler;
+        private ResourceAccessor resourceAccessor;
+        private String basePath;
+
+        private Locator locator;
+        private List<String[]> prefixMappings = new ArrayList<String[]>();
+        private ValidatorHandler validator;
+
+        ValidatingHandler(ContentHandler target, ErrorHandler errorHandler, ResourceAccessor resourceAccessor, String basePath) {
+            this.target = target;
+            this.errorHandler = errorHandler;
+            this.resourceAccessor = resourceAccessor;
+            this.basePath = basePath;
+        }
+
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+        }
+
+        public void startDocument() throws SAXException {
+        }
+
+        public void endDocument() throws SAXException {
+            if (validator != null) {
+                validator.endDocument();
+            }
+        }
+
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            if (validator == null) {
+                prefixMappings.add(new String[]{prefix, uri});
+            } else {
+                validator.startPrefixMapping(prefix, uri);
+            }
+        }
+
+        public void endPrefixMapping(String prefix) throws SAXException {
+            validator.endPrefixMapping(prefix);
+        }
+
+        public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+            if (validator == null) {
+                String schemaLocation = atts.getValue(SCHEMA_INSTANCE_NAMESPACE, "schemaLocation");
+                if (schemaLocation == null) {
+                    throw new NoSchemaLocationException();
+                }
+
+                validator = getSchema(schemaLocation, resourceAccessor, basePath).newValidatorHandler();
+                validator.setErrorHandler(errorHandler);
+                validator.setContentHandler(target);
+                if (locator != null) {
+                    validator.setDocumentLocator(locator);
+                }
+                validator.startDocument();
+                for (String[] prefixMapping : prefixMappings) {
+                    validator.startPrefixMapping(prefixMapping[0], prefixMapping[1]);
+                }
+            }
+            validator.startElement(uri, localName, qName, atts);
+        }
+
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            validator.endElement(uri, localName, qName);
+        }
+
+        public void characters(char ch[], int start, int length) throws SAXException {
+            validator.characters(ch, start, length);
+        }
+
+        public void ignorableWhitespace(char ch[], int start, int length) throws SAXException {
+            validator.ignorableWhitespace(ch, start, length);
+        }
+
+        public void processingInstruction(String target, String data) throws SAXException {
+            if (validator != null) {
+                validator.processingInstruction(target, data);
+            }
+        }
+
+        public void skippedEntity(String name) throws SAXException {
+            if (validator != null) {
+                validator.skippedEntity(name);
+            }
+        }
+
+        public void startDTD(String name, String publicId, String systemId) throws SAXException {
+            throw new NoSchemaLocationException();
+        }
+
+        public void endDTD() throws SAXException {
+        }
+
+        public void startEntity(String name) throws SAXException {
+        }
+
+        public void endEntity(String name) throws SAXException {
+        }
+
+        public void startCDATA() throws SAXException {
+        }
+
+        public void endCDATA() throws SAXException {
+        }
+
+        public void comment(char ch[], int start, int length) throws SAXException {
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package liquibase.serializer.core.string;
+
+import liquibase.change.Change;
+import liquibase.change.ChangeProperty;
+import liquibase.change.CheckSum;
+import liquibase.change.ColumnConfig;
+import liquibase.change.ConstraintsConfig;
+import liquibase.change.custom.CustomChange;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.sql.visitor.SqlVisitor;
+
+import java.lang.reflect.Field;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the checksum of a {@link Change} or {@link SqlVisitor} by streaming the same canonical text
+ * {@link StringChangeLogSerializer} produces directly into an MD5 digest, so the result is byte-for-byte the same as
+ * <code>CheckSum.compute(new StringChangeLogSerializer().serialize(change))</code> without building the text in memory.
+ * The fields to include for each class are looked up once and cached.
+ * <p/>
+ * If an object has two entries that would serialize under the same name (which the serializer resolves by sorting and
+ * de-duplicating the full text) the checksum falls back to the serializer so the result never changes.
+ */
+public class ChangeCheckSumEncoder {
+
+    private static final int INDENT_LENGTH = 4;
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Map<Class<?>, FieldInfo[]> fieldCache = new ConcurrentHashMap<Class<?>, FieldInfo[]>();
+
+    private static final ThreadLocal<ChangeCheckSumEncoder> encoders = new ThreadLocal<ChangeCheckSumEncoder>() {
+        @Override
+        protected ChangeCheckSumEncoder initialValue() {
+            return new ChangeCheckSumEncoder();
+        }
+    };
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private boolean lastWasCarriageReturn;
+    private char pendingHighSurrogate;
+
+    private ChangeCheckSumEncoder() {
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (Exception e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    public static CheckSum generateCheckSum(Change change) {
+        try {
+            return encoders.get().encode(change.getChangeMetaData().getName(), change);
+        } catch (DuplicateEntryException e) {
+            return CheckSum.compute(new StringChangeLogSerializer().serialize(change));
+        }
+    }
+
+    public static CheckSum generateCheckSum(SqlVisitor visitor) {
+        try {
+            return encoders.get().encode(visitor.getName(), visitor);
+        } catch (DuplicateEntryException e) {
+            return CheckSum.compute(new StringChangeLogSerializer().serialize(visitor));
+        }
+    }
+
+    private CheckSum encode(String name, Object object) throws DuplicateEntryException {
+        digest.reset();
+        position = 0;
+        lastWasCarriageReturn = false;
+        pendingHighSurrogate = 0;
+        try {
+            write(name);
+            write(':');
+            writeObject(object, 1);
+            flush();
+        } catch (DuplicateEntryException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        return CheckSum.fromDigest(digest.digest());
+    }
+
+    private void writeObject(Object object, int indent) throws Exception {
+        write('[');
+
+        List<Entry> entries = new ArrayList<Entry>();
+        for (FieldInfo fieldInfo : getFields(object.getClass())) {
+            Object value = fieldInfo.field.get(object);
+            if (value instanceof ColumnConfig) {
+                entries.add(new Entry("column:", value, Entry.NESTED));
+            } else if (value instanceof ConstraintsConfig) {
+                entries.add(new Entry("constraints:", value, Entry.NESTED));
+            } else if (value instanceof CustomChange) {
+                entries.add(new Entry("customChange:", value, Entry.NESTED));
+            } else if (value instanceof Map) {
+                entries.add(new Entry(fieldInfo.key, value, Entry.MAP));
+            } else if (value instanceof Collection) {
+                entries.add(new Entry(fieldInfo.key, value, Entry.COLLECTION));
+            } else if (value instanceof Object[]) {
+                entries.add(new Entry(fieldInfo.key, Arrays.asList((Object[]) value), Entry.COLLECTION));
+            } else if (value != null) {
+                entries.add(new Entry(fieldInfo.key, value, Entry.VALUE));
+            }
+        }
+
+        if (entries.size() > 0) {
+            Entry[] sorted = entries.toArray(new Entry[entries.size()]);
+            Arrays.sort(sorted);
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i].key.equals(sorted[i - 1].key)) {
+                    throw new DuplicateEntryException();
+                }
+            }
+
+            write('\n');
+            for (int i = 0; i < sorted.length; i++) {
+                if (i > 0) {
+                    write('\n');
+                }
+                writeIndent(indent);
+                writeEntry(sorted[i], indent);
+            }
+            write('\n');
+        }
+        writeIndent(indent - 1);
+        write(']');
+    }
+
+    private void writeEntry(Entry entry, int indent) throws Exception {
+        write(entry.key);
+        switch (entry.type) {
+            case Entry.NESTED:
+                writeObject(entry.value, indent + 1);
+                break;
+            case Entry.MAP:
+                writeMap((Map) entry.value, indent + 1);
+                break;
+            case Entry.COLLECTION:
+                writeCollection((Collection) entry.value, indent + 1);
+                break;
+            default:
+                write('"');
+                write(entry.value.toString());
+                write('"');
+        }
+    }
+
+    private void writeCollection(Collection<?> collection, int indent) throws Exception {
+        if (collection.size() == 0) {
+            write("[]");
+            return;
+        }
+
+        write("[\n");
+        int remaining = collection.size();
+        for (Object object : collection) {
+            writeIndent(indent);
+            if (object instanceof ColumnConfig) {
+                write("column:");
+                writeObject(object, indent + 1);
+            } else {
+                write(object.toString());
+            }
+            if (--remaining > 0) {
+                write(',');
+            }
+            write('\n');
+        }
+        writeIndent(indent - 1);
+        write(']');
+    }
+
+    private void writeMap(Map<?, ?> map, int indent) {
+        if (map.size() == 0) {
+            write("[]");
+            return;
+        }
+
+        write("{\n");
+        TreeSet<Object> keys = new TreeSet<Object>(map.keySet());
+        int remaining = keys.size();
+        for (Object key : keys) {
+            writeIndent(indent);
+            write(key.toString());
+            write("=\"");
+            write(String.valueOf(map.get(key)));
+            write('"');
+            if (--remaining > 0) {
+                write(',');
+            }
+            write('\n');
+        }
+        writeIndent(indent - 1);
+        write('}');
+    }
+
+    private void writeIndent(int indent) {
+        for (int i = INDENT_LENGTH * indent; i > 0; i--) {
+            write(' ');
+        }
+    }
+
+    private void write(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            write(string.charAt(i));
+        }
+    }
+
+    /**
+     * Writes a character as UTF-8, standardizing "\r\n" and "\r" to "\n" the same way the serializer does.
+     * Unpaired surrogates are written as '?', matching String.getBytes("UTF-8").
+     */
+    private void write(char c) {
+        if (c == '\n' && lastWasCarriageReturn) {
+            lastWasCarriageReturn = false;
+            return;
+        }
+        lastWasCarriageReturn = c == '\r';
+        if (lastWasCarriageReturn) {
+            c = '\n';
+        }
+
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                writeByte(0xF0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                writeByte(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            writeByte('?');
+        }
+
+        if (c < 0x80) {
+            writeByte(c);
+        } else if (c < 0x800) {
+            writeByte(0xC0 | (c >> 6));
+            writeByte(0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            writeByte('?');
+        } else {
+            writeByte(0xE0 | (c >> 12));
+            writeByte(0x80 | ((c >> 6) & 0x3F));
+            writeByte(0x80 | (c & 0x3F));
+        }
+    }
+
+    private void writeByte(int b) {
+        if (position == buffer.length) {
+            digest.update(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void flush() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            writeByte('?');
+        }
+        digest.update(buffer, 0, position);
+        position = 0;
+    }
+
+    private static FieldInfo[] getFields(Class<?> clazz) {
+        FieldInfo[] fields = fieldCache.get(clazz);
+        if (fields == null) {
+            List<FieldInfo> found = new ArrayList<FieldInfo>();
+            Class<?> classToCheck = clazz;
+            while (!classToCheck.equals(Object.class)) {
+                for (Field field : classToCheck.getDeclaredFields()) {
+                    ChangeProperty changePropertyAnnotation = field.getAnnotation(ChangeProperty.class);
+                    if (changePropertyAnnotation != null && !changePropertyAnnotation.includeInSerialization()) {
+                        continue;
+                    }
+                    if (field.getName().equals("serialVersionUID")) {
+                        continue;
+                    }
+                    if (field.getName().equals("$VRc")) { //from emma
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    found.add(new FieldInfo(field));
+                }
+                classToCheck = classToCheck.getSuperclass();
+            }
+            fields = found.toArray(new FieldInfo[found.size()]);
+            fieldCache.put(clazz, fields);
+        }
+        return fields;
+    }
+
+    private static class FieldInfo {
+        private final Field field;
+        private final String key;
+
+        private FieldInfo(Field field) {
+            this.field = field;
+            this.key = field.getName() + "=";
+        }
+    }
+
+    /**
+     * A serialized name and value. Names never start with another name, so ordering by name gives the same order as
+     * the serializer's ordering of the full text.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private static final int VALUE = 0;
+        private static final int NESTED = 1;
+        private static final int MAP = 2;
+        private static final int COLLECTION = 3;
+
+        private final String key;
+        private final Object value;
+        private final int type;
+
+        private Entry(String key, Object value, int type) {
+            this.key = key;
+            this.value = value;
+            this.type = type;
+        }
+
+        public int compareTo(Entry o) {
+            return key.compareTo(o.key);
+        }
+    }
+
+    private static class DuplicateEntryException extends Exception {
+        private static final long serialVersionUID = 1L;
+    }
+}
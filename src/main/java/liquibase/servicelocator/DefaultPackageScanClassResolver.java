@@ -4,6 +4,7 @@ import liquibase.logging.LogFactory;
 import liquibase.logging.LogLevel;
 import liquibase.logging.Logger;
 import liquibase.logging.core.DefaultLogger;
+import liquibase.util.StringUtils;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -16,6 +17,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 
@@ -24,7 +26,12 @@ import java.util.jar.JarInputStream;
  */
 public class DefaultPackageScanClassResolver implements PackageScanClassResolver {
 
-    private static Map<String, Set<String>> classesByJarUrl = new HashMap<String, Set<String>>();
+    private static Map<String, Set<String>> classesByJarUrl = new ConcurrentHashMap<String, Set<String>>();
+
+    /**
+     * Cache of the jar contents across runs, used when the liquibase.scanCacheFile system property is set.
+     */
+    private static PackageScanCache scanCache;
 
     protected final transient Logger log = new DefaultLogger();
     private Set<ClassLoader> classLoaders;
@@ -82,6 +89,7 @@ public class DefaultPackageScanClassResolver implements PackageScanClassResolver
         for (String pkg : packageNames) {
             find(test, pkg, classes);
         }
+        saveScanCache();
 
         log.debug("Found: " + classes);
 
@@ -98,6 +106,7 @@ public class DefaultPackageScanClassResolver implements PackageScanClassResolver
         for (String pkg : packageNames) {
             find(filter, pkg, classes);
         }
+        saveScanCache();
 
         log.debug("Found: " + classes);
 
@@ -201,6 +210,9 @@ public class DefaultPackageScanClassResolver implements PackageScanClassResolver
                 if (file.isDirectory()) {
                     log.debug("Loading from directory using file: " + file);
                     loadImplementationsInDirectory(test, packageName, file, classes);
+                } else if (isJarCached(urlPath, file)) {
+                    log.debug("Loading from cached contents of jar: " + urlPath);
+                    loadImplementationsInJar(test, packageName, null, urlPath, classes);
                 } else {
                     InputStream stream;
                     if (urlPath.startsWith("http:") || urlPath.startsWith("https:")
@@ -336,6 +348,12 @@ public class DefaultPackageScanClassResolver implements PackageScanClassResolver
                 }
 
                 classesByJarUrl.put(urlPath, names);
+
+                PackageScanCache scanCache = getScanCache();
+                File file = new File(urlPath);
+                if (scanCache != null && file.isFile()) {
+                    scanCache.put(file, names);
+                }
             }
 
             for (String name : classesByJarUrl.get(urlPath)) {
@@ -350,12 +368,53 @@ public class DefaultPackageScanClassResolver implements PackageScanClassResolver
             try {
                 if (jarStream != null) {
                     jarStream.close();
+                } else if (stream != null) {
+                    stream.close();
                 }
             } catch (IOException ignore) {
             }
         }
     }
 
+    /**
+     * Returns true if the class files of the given jar are known without reading it, either from an earlier scan in
+     * this JVM or from the {@link PackageScanCache}.
+     */
+    private boolean isJarCached(String urlPath, File file) {
+        if (classesByJarUrl.containsKey(urlPath)) {
+            return true;
+        }
+
+        PackageScanCache scanCache = getScanCache();
+        if (scanCache == null || !file.isFile()) {
+            return false;
+        }
+        Set<String> names = scanCache.get(file);
+        if (names == null) {
+            return false;
+        }
+        classesByJarUrl.put(urlPath, names);
+        return true;
+    }
+
+    private static synchronized PackageScanCache getScanCache() {
+        String path = StringUtils.trimToNull(System.getProperty("liquibase.scanCacheFile"));
+        if (path == null) {
+            return null;
+        }
+        if (scanCache == null || !scanCache.getFile().equals(new File(path))) {
+            scanCache = new PackageScanCache(new File(path), new DefaultLogger());
+        }
+        return scanCache;
+    }
+
+    private void saveScanCache() {
+        PackageScanCache scanCache = getScanCache();
+        if (scanCache != null) {
+            scanCache.save();
+        }
+    }
+
     /**
      * Add the class designated by the fully qualified class name provided to
      * the set of resolved classes if and only if it is approved by the Test
@@ -0,0 +1,190 @@
+package liquibase.servicelocator;
+
+import liquibase.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-disk cache of the class files in the jars scanned by {@link DefaultPackageScanClassResolver}, so jars that have
+ * not changed since an earlier run are not read again.  Entries are keyed by the path of the jar and only used while
+ * the jar still has the same size and modification time.
+ * <p/>
+ * Several JVMs may share the file.  Saving merges the entries other JVMs saved in the meantime, drops the ones whose
+ * jars changed or are gone, and writes a temporary file that is renamed over the old one, so readers never see a
+ * partly written file.
+ */
+public class PackageScanCache {
+
+    private static final int MAGIC = 0x4C425343;
+    private static final int FORMAT_VERSION = 1;
+
+    private File file;
+    private Logger log;
+    private Map<String, Entry> entries;
+    private boolean modified;
+
+    public PackageScanCache(File file, Logger log) {
+        this.file = file;
+        this.log = log;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the class file names of the given jar, or null if they are not cached or the jar changed since.
+     */
+    public synchronized Set<String> get(File jar) {
+        if (entries == null) {
+            entries = read();
+        }
+        Entry entry = entries.get(jar.getAbsolutePath());
+        if (entry == null || !entry.matches(jar)) {
+            return null;
+        }
+        return entry.classNames;
+    }
+
+    public synchronized void put(File jar, Set<String> classNames) {
+        if (entries == null) {
+            entries = read();
+        }
+        entries.put(jar.getAbsolutePath(), new Entry(jar.length(), jar.lastModified(), new HashSet<String>(classNames)));
+        modified = true;
+    }
+
+    /**
+     * Writes the cache file if entries were added since it was read.  Failures are logged and otherwise ignored.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+
+        Map<String, Entry> merged = read();
+        merged.putAll(entries);
+        for (Iterator<Map.Entry<String, Entry>> iterator = merged.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (!entry.getValue().matches(new File(entry.getKey()))) {
+                iterator.remove();
+            }
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        File tempFile = null;
+        DataOutputStream out = null;
+        try {
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Cannot create directory " + directory.getAbsolutePath());
+            }
+            tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(merged.size());
+            for (Map.Entry<String, Entry> entry : merged.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().size);
+                out.writeLong(entry.getValue().lastModified);
+                out.writeInt(entry.getValue().classNames.size());
+                for (String className : entry.getValue().classNames) {
+                    out.writeUTF(className);
+                }
+            }
+            out.close();
+            out = null;
+
+            if (!tempFile.renameTo(file)) {
+                if (file.exists() && !file.delete()) {
+                    throw new IOException("Cannot replace " + file.getAbsolutePath());
+                }
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("Cannot rename " + tempFile.getAbsolutePath() + " to " + file.getName());
+                }
+            }
+            entries = merged;
+            modified = false;
+        } catch (IOException e) {
+            log.warning("Cannot write package scan cache file " + file.getAbsolutePath() + ": " + e.getMessage());
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    //ok
+                }
+            }
+        }
+    }
+
+    private Map<String, Entry> read() {
+        Map<String, Entry> entries = new HashMap<String, Entry>();
+        if (!file.exists()) {
+            return entries;
+        }
+
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return entries;
+            }
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                int classCount = in.readInt();
+                Set<String> classNames = new HashSet<String>();
+                for (int j = 0; j < classCount; j++) {
+                    classNames.add(in.readUTF());
+                }
+                entries.put(path, new Entry(size, lastModified, classNames));
+            }
+            return entries;
+        } catch (IOException e) {
+            log.debug("Cannot read package scan cache file " + file.getAbsolutePath() + ": " + e.getMessage());
+            return new HashMap<String, Entry>();
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    //ok
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        private long size;
+        private long lastModified;
+        private Set<String> classNames;
+
+        private Entry(long size, long lastModified, Set<String> classNames) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.classNames = classNames;
+        }
+
+        private boolean matches(File jar) {
+            return jar.isFile() && jar.length() == size && jar.lastModified() == lastModified;
+        }
+    }
+}
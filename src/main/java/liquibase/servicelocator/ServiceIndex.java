@@ -0,0 +1,196 @@
+package liquibase.servicelocator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Index of the service classes in the packages of one jar or classes directory, so {@link ServiceLocator} does not need
+ * to scan them.  It is stored in the jar or directory as {@link #RESOURCE} and generated at build time by
+ * {@link ServiceIndexGenerator}.
+ * <p/>
+ * For each service class the index holds the names of all its superclasses and interfaces and, for a
+ * {@link PrioritizedService}, its priority.  Service classes are the same ones ServiceLocator would find by scanning:
+ * public, not abstract, with a no-argument constructor and not marked skip in {@link LiquibaseService}.
+ */
+public class ServiceIndex {
+
+    public static final String RESOURCE = "META-INF/liquibase/service-index.properties";
+
+    private static final String PACKAGES = "packages";
+    private static final String SERVICE_PREFIX = "service.";
+    private static final String PRIORITY_PREFIX = "priority.";
+
+    private String root;
+    private List<String> packages;
+    private Map<String, Set<String>> typesByClass = new LinkedHashMap<String, Set<String>>();
+    private Map<String, Integer> priorities = new HashMap<String, Integer>();
+
+    public ServiceIndex(List<String> packages) {
+        this.packages = new ArrayList<String>(packages);
+    }
+
+    /**
+     * Reads the index at the given URL.
+     */
+    public static ServiceIndex read(URL url) throws IOException {
+        Properties properties = new Properties();
+        InputStream in = url.openStream();
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+
+        String packages = properties.getProperty(PACKAGES, "").trim();
+        ServiceIndex index = new ServiceIndex(packages.length() == 0 ? new ArrayList<String>() : Arrays.asList(packages.split("\\s*,\\s*")));
+        String urlString = url.toExternalForm();
+        index.root = urlString.substring(0, urlString.length() - RESOURCE.length());
+
+        for (Enumeration<?> keys = properties.propertyNames(); keys.hasMoreElements();) {
+            String key = (String) keys.nextElement();
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith(SERVICE_PREFIX)) {
+                index.typesByClass.put(key.substring(SERVICE_PREFIX.length()), new LinkedHashSet<String>(Arrays.asList(value.split("\\s*,\\s*"))));
+            } else if (key.startsWith(PRIORITY_PREFIX)) {
+                try {
+                    index.priorities.put(key.substring(PRIORITY_PREFIX.length()), Integer.valueOf(value));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid priority for " + key + " in " + url + ": " + value);
+                }
+            }
+        }
+        return index;
+    }
+
+    public void write(OutputStream out) throws IOException {
+        Properties properties = new Properties();
+        StringBuffer packageList = new StringBuffer();
+        for (String packageName : packages) {
+            packageList.append(packageList.length() == 0 ? "" : ",").append(packageName);
+        }
+        properties.setProperty(PACKAGES, packageList.toString());
+
+        for (Map.Entry<String, Set<String>> entry : typesByClass.entrySet()) {
+            StringBuffer types = new StringBuffer();
+            for (String type : entry.getValue()) {
+                types.append(types.length() == 0 ? "" : ",").append(type);
+            }
+            properties.setProperty(SERVICE_PREFIX + entry.getKey(), types.toString());
+        }
+        for (Map.Entry<String, Integer> entry : priorities.entrySet()) {
+            properties.setProperty(PRIORITY_PREFIX + entry.getKey(), entry.getValue().toString());
+        }
+        properties.store(out, "Liquibase service index, generated by " + ServiceIndexGenerator.class.getName());
+    }
+
+    /**
+     * Returns the URL of the jar or directory the index was read from, ending with a slash.
+     */
+    public String getRoot() {
+        return root;
+    }
+
+    public List<String> getPackages() {
+        return Collections.unmodifiableList(packages);
+    }
+
+    /**
+     * Returns true if the index lists the classes of the given package, which includes its subpackages.
+     */
+    public boolean covers(String packageName) {
+        for (String indexedPackage : packages) {
+            if (packageName.equals(indexedPackage) || packageName.startsWith(indexedPackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the names of the service classes that extend or implement the given type.
+     */
+    public List<String> getClassNames(String typeName) {
+        List<String> classNames = new ArrayList<String>();
+        for (Map.Entry<String, Set<String>> entry : typesByClass.entrySet()) {
+            if (entry.getValue().contains(typeName)) {
+                classNames.add(entry.getKey());
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Returns the priority of the given class if it is a {@link PrioritizedService}, otherwise null.
+     */
+    public Integer getPriority(String className) {
+        return priorities.get(className);
+    }
+
+    /**
+     * Adds the given class if it is a service class.
+     *
+     * @return true if the class was added
+     */
+    public boolean add(Class<?> clazz) {
+        if (!isServiceClass(clazz)) {
+            return false;
+        }
+
+        Set<String> types = new LinkedHashSet<String>();
+        addTypes(clazz, types);
+        types.remove(clazz.getName());
+        types.remove(Object.class.getName());
+        typesByClass.put(clazz.getName(), types);
+
+        if (PrioritizedService.class.isAssignableFrom(clazz)) {
+            try {
+                priorities.put(clazz.getName(), ((PrioritizedService) clazz.newInstance()).getPriority());
+            } catch (Throwable e) {
+                //ServiceLocator instantiates it to find out
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if ServiceLocator can use the given class as a service.
+     */
+    public static boolean isServiceClass(Class<?> clazz) {
+        if (clazz.getAnnotation(LiquibaseService.class) != null && clazz.getAnnotation(LiquibaseService.class).skip()) {
+            return false;
+        }
+        if (Modifier.isAbstract(clazz.getModifiers()) || Modifier.isInterface(clazz.getModifiers()) || !Modifier.isPublic(clazz.getModifiers())) {
+            return false;
+        }
+        try {
+            clazz.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private void addTypes(Class<?> clazz, Set<String> types) {
+        if (clazz == null || !types.add(clazz.getName())) {
+            return;
+        }
+        addTypes(clazz.getSuperclass(), types);
+        for (Class<?> type : clazz.getInterfaces()) {
+            addTypes(type, types);
+        }
+    }
+}
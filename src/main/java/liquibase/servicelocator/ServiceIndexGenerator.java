@@ -0,0 +1,110 @@
+package liquibase.servicelocator;
+
+import liquibase.util.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.jar.Manifest;
+
+/**
+ * Writes the {@link ServiceIndex} of a classes directory, run at build time after compilation:
+ * <pre>
+ * java liquibase.servicelocator.ServiceIndexGenerator &lt;classes directory&gt; [package...]
+ * </pre>
+ * The packages default to the Liquibase-Package attribute of the directory's META-INF/MANIFEST.MF.  Only classes of
+ * the directory itself are indexed, so extensions can run it with Liquibase on the classpath.
+ */
+public class ServiceIndexGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java " + ServiceIndexGenerator.class.getName() + " <classes directory> [package...]");
+            System.exit(1);
+        }
+
+        File directory = new File(args[0]);
+        List<String> packages = new ArrayList<String>(Arrays.asList(args).subList(1, args.length));
+        if (packages.size() == 0) {
+            packages = readManifestPackages(directory);
+        }
+        if (packages.size() == 0) {
+            System.out.println("No Liquibase-Package in " + directory + ", no service index written");
+            return;
+        }
+
+        ServiceIndex index = generate(directory, packages);
+
+        File indexFile = new File(directory, ServiceIndex.RESOURCE);
+        indexFile.getParentFile().mkdirs();
+        OutputStream out = new FileOutputStream(indexFile);
+        try {
+            index.write(out);
+        } finally {
+            out.close();
+        }
+        System.out.println("Wrote service index of " + packages + " to " + indexFile);
+    }
+
+    /**
+     * Returns the index of the service classes in the given packages of the given classes directory.
+     */
+    public static ServiceIndex generate(File directory, List<String> packages) throws IOException {
+        String root = directory.getCanonicalFile().toURI().toURL().toExternalForm();
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{new URL(root)}, Thread.currentThread().getContextClassLoader());
+
+        DefaultPackageScanClassResolver classResolver = new DefaultPackageScanClassResolver();
+        classResolver.setClassLoaders(new HashSet<ClassLoader>(Arrays.asList(new ClassLoader[]{classLoader})));
+
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Class<?> clazz : classResolver.findImplementations(Object.class, packages.toArray(new String[packages.size()]))) {
+            URL location = classLoader.getResource(clazz.getName().replace('.', '/') + ".class");
+            if (location != null && location.toExternalForm().startsWith(root)) {
+                classes.add(clazz);
+            }
+        }
+        Collections.sort(classes, new Comparator<Class<?>>() {
+            public int compare(Class<?> o1, Class<?> o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+
+        ServiceIndex index = new ServiceIndex(packages);
+        for (Class<?> clazz : classes) {
+            index.add(clazz);
+        }
+        return index;
+    }
+
+    private static List<String> readManifestPackages(File directory) throws IOException {
+        List<String> packages = new ArrayList<String>();
+        File manifestFile = new File(directory, "META-INF/MANIFEST.MF");
+        if (!manifestFile.exists()) {
+            return packages;
+        }
+
+        InputStream in = new FileInputStream(manifestFile);
+        try {
+            String attribute = StringUtils.trimToNull(new Manifest(in).getMainAttributes().getValue("Liquibase-Package"));
+            if (attribute != null) {
+                for (String packageName : attribute.split(",")) {
+                    packages.add(packageName.trim());
+                }
+            }
+        } finally {
+            in.close();
+        }
+        return packages;
+    }
+}
@@ -13,11 +13,17 @@ import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.jar.Manifest;
 
 public class ServiceLocator {
 
-    private static ServiceLocator instance;
+    private static volatile ServiceLocator instance;
 
     static {
         try {
@@ -30,8 +36,13 @@ public class ServiceLocator {
 
     private ResourceAccessor resourceAccessor;
 
-    private Map<Class, List<Class>> classesBySuperclass;
+    /**
+     * Scan of each interface, run by the first thread that asks for it while the others wait for its result.
+     */
+    private volatile ConcurrentMap<Class<?>, FutureTask<Class<?>[]>> classesBySuperclass;
     private List<String> packagesToScan;
+    private List<ServiceIndex> indexes;
+    private volatile List<String> packagesWithoutIndex;
     private Logger logger = new DefaultLogger(); //cannot look up regular logger because you get a stackoverflow since we are in the servicelocator
     private PackageScanClassResolver classResolver;
 
@@ -55,6 +66,22 @@ public class ServiceLocator {
         setResourceAccessor(accessor);
     }
 
+    /**
+     * For subclasses that override {@link #findClasses(Class)} to find services somewhere else than on the class path.
+     * If scanClassPath is false no manifests or service indexes are read until
+     * {@link #setResourceAccessor(ResourceAccessor)} is called.
+     */
+    protected ServiceLocator(boolean scanClassPath) {
+        this.classResolver = defaultClassLoader();
+        if (scanClassPath) {
+            setResourceAccessor(new ClassLoaderResourceAccessor());
+        } else {
+            this.classesBySuperclass = new ConcurrentHashMap<Class<?>, FutureTask<Class<?>[]>>();
+            this.packagesToScan = new CopyOnWriteArrayList<String>();
+            this.indexes = new ArrayList<ServiceIndex>();
+        }
+    }
+
     public static ServiceLocator getInstance() {
         return instance;
     }
@@ -74,11 +101,11 @@ public class ServiceLocator {
 
     public void setResourceAccessor(ResourceAccessor resourceAccessor) {
         this.resourceAccessor = resourceAccessor;
-        this.classesBySuperclass = new HashMap<Class, List<Class>>();
+        this.classesBySuperclass = new ConcurrentHashMap<Class<?>, FutureTask<Class<?>[]>>();
 
         this.classResolver.setClassLoaders(new HashSet<ClassLoader>(Arrays.asList(new ClassLoader[] {resourceAccessor.toClassLoader()})));
 
-        packagesToScan = new ArrayList<String>();
+        packagesToScan = new CopyOnWriteArrayList<String>();
         String packagesToScanSystemProp = System.getProperty("liquibase.scan.packages");
         if ((packagesToScanSystemProp != null) &&
         	((packagesToScanSystemProp = StringUtils.trimToNull(packagesToScanSystemProp)) != null)) {
@@ -118,33 +145,55 @@ public class ServiceLocator {
                 addPackageToScan("liquibase.ext");
             }
         }
+
+        indexes = new ArrayList<ServiceIndex>();
+        packagesWithoutIndex = null;
+        try {
+            Enumeration<URL> indexUrls = resourceAccessor.toClassLoader().getResources(ServiceIndex.RESOURCE);
+            while (indexUrls.hasMoreElements()) {
+                URL url = indexUrls.nextElement();
+                try {
+                    indexes.add(ServiceIndex.read(url));
+                } catch (IOException e) {
+                    logger.info("Cannot read service index " + url + ", scanning its packages instead: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.info("Cannot look up service indexes, scanning all packages: " + e.getMessage());
+        }
     }
 
     public void addPackageToScan(String packageName) {
         packagesToScan.add(packageName);
+        packagesWithoutIndex = null;
     }
 
     public Class findClass(Class requiredInterface) throws ServiceNotFoundException {
-        Class[] classes = findClasses(requiredInterface);
+        Class<?>[] classes = findClasses(requiredInterface);
         if (PrioritizedService.class.isAssignableFrom(requiredInterface)) {
             PrioritizedService returnObject = null;
-            for (Class clazz : classes) {
-                PrioritizedService newInstance;
-                try {
-                    newInstance = (PrioritizedService) clazz.newInstance();
-                } catch (Exception e) {
-                    throw new UnexpectedLiquibaseException(e);
+            Class<?> returnClass = null;
+            int returnPriority = 0;
+            for (Class<?> clazz : classes) {
+                Integer priority = getIndexedPriority(clazz);
+                if (priority == null) {
+                    try {
+                        priority = ((PrioritizedService) clazz.newInstance()).getPriority();
+                    } catch (Exception e) {
+                        throw new UnexpectedLiquibaseException(e);
+                    }
                 }
 
-                if (returnObject == null || newInstance.getPriority() > returnObject.getPriority()) {
-                    returnObject = newInstance;
+                if (returnClass == null || priority > returnPriority) {
+                    returnClass = clazz;
+                    returnPriority = priority;
                 }
             }
 
-            if (returnObject == null) {
+            if (returnClass == null) {
                 throw new ServiceNotFoundException("Could not find implementation of " + requiredInterface.getName());
             }
-            return returnObject.getClass();
+            return returnClass;
         }
 
         if (classes.length != 1) {
@@ -154,22 +203,36 @@ public class ServiceLocator {
         return classes[0];
     }
 
-    public Class[] findClasses(Class requiredInterface) throws ServiceNotFoundException {
+    public Class[] findClasses(final Class requiredInterface) throws ServiceNotFoundException {
         logger.debug("ServiceLocator.findClasses for "+requiredInterface.getName());
 
-            try {
-                Class.forName(requiredInterface.getName());
+        ConcurrentMap<Class<?>, FutureTask<Class<?>[]>> classesBySuperclass = this.classesBySuperclass;
+        FutureTask<Class<?>[]> classes = classesBySuperclass.get(requiredInterface);
+        if (classes == null) {
+            FutureTask<Class<?>[]> scan = new FutureTask<Class<?>[]>(new Callable<Class<?>[]>() {
+                public Class<?>[] call() throws Exception {
+                    Class.forName(requiredInterface.getName());
 
-                if (!classesBySuperclass.containsKey(requiredInterface)) {
-                    classesBySuperclass.put(requiredInterface, findClassesImpl(requiredInterface));
+                    HashSet<Class<?>> uniqueClasses = new HashSet<Class<?>>(findClassesImpl(requiredInterface));
+                    return uniqueClasses.toArray(new Class<?>[uniqueClasses.size()]);
                 }
-            } catch (Exception e) {
-                throw new ServiceNotFoundException(e);
+            });
+            classes = classesBySuperclass.putIfAbsent(requiredInterface, scan);
+            if (classes == null) {
+                classes = scan;
+                scan.run();
             }
+        }
 
-        List<Class> classes = classesBySuperclass.get(requiredInterface);
-        HashSet<Class> uniqueClasses = new HashSet<Class>(classes);
-        return uniqueClasses.toArray(new Class[uniqueClasses.size()]);
+        try {
+            return classes.get().clone();
+        } catch (ExecutionException e) {
+            classesBySuperclass.remove(requiredInterface, classes); //let the next call try again
+            throw new ServiceNotFoundException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceNotFoundException(e);
+        }
     }
 
     public Object newInstance(Class requiredInterface) throws ServiceNotFoundException {
@@ -180,13 +243,32 @@ public class ServiceLocator {
         }
     }
 
-    private List<Class> findClassesImpl(Class requiredInterface) throws Exception {
+    private List<Class<?>> findClassesImpl(Class<?> requiredInterface) throws Exception {
         logger.debug("ServiceLocator finding classes matching interface " + requiredInterface.getName());
 
-        List<Class> classes = new ArrayList<Class>();
+        Set<Class<?>> candidates = new LinkedHashSet<Class<?>>();
+        ClassLoader classLoader = resourceAccessor.toClassLoader();
+        for (ServiceIndex index : indexes) {
+            for (String className : index.getClassNames(requiredInterface.getName())) {
+                if (isInPackagesToScan(className)) {
+                    Class<?> clazz = Class.forName(className, false, classLoader);
+                    if (requiredInterface.isAssignableFrom(clazz)) {
+                        candidates.add(clazz);
+                    }
+                }
+            }
+        }
+
+        List<String> unindexedPackages = getPackagesWithoutIndex();
+        if (unindexedPackages.size() > 0) {
+            synchronized (classResolver) { //resolvers are not thread safe
+                classResolver.addClassLoader(classLoader);
+                candidates.addAll(classResolver.findImplementations(requiredInterface, unindexedPackages.toArray(new String[unindexedPackages.size()])));
+            }
+        }
 
-        classResolver.addClassLoader(resourceAccessor.toClassLoader());
-        for (Class<?> clazz : classResolver.findImplementations(requiredInterface, packagesToScan.toArray(new String[packagesToScan.size()]))) {
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Class<?> clazz : candidates) {
             if (clazz.getAnnotation(LiquibaseService.class ) != null  && clazz.getAnnotation(LiquibaseService.class).skip()) {
                 continue;
             }
@@ -206,6 +288,79 @@ public class ServiceLocator {
         return classes;
     }
 
+    /**
+     * Returns the packages to scan that are not entirely covered by service indexes.  A package is covered when every
+     * jar or directory that contains it has an index listing it.
+     */
+    private List<String> getPackagesWithoutIndex() throws IOException {
+        if (packagesWithoutIndex != null) {
+            return packagesWithoutIndex;
+        }
+
+        List<String> packages = new ArrayList<String>();
+        for (String packageName : packagesToScan) {
+            if (!isIndexed(packageName)) {
+                packages.add(packageName);
+            }
+        }
+        logger.debug("ServiceLocator scanning packages without a service index: " + packages);
+        packagesWithoutIndex = packages;
+        return packages;
+    }
+
+    private boolean isIndexed(String packageName) throws IOException {
+        if (indexes.size() == 0) {
+            return false;
+        }
+
+        String packagePath = packageName.replace('.', '/');
+        Enumeration<URL> packageUrls = resourceAccessor.toClassLoader().getResources(packagePath);
+        if (!packageUrls.hasMoreElements()) {
+            return false; //leave it to the class resolver
+        }
+        while (packageUrls.hasMoreElements()) {
+            String url = packageUrls.nextElement().toExternalForm();
+            if (url.endsWith("/")) {
+                url = url.substring(0, url.length() - 1);
+            }
+            if (!url.endsWith(packagePath)) {
+                return false;
+            }
+            String root = url.substring(0, url.length() - packagePath.length());
+
+            boolean covered = false;
+            for (ServiceIndex index : indexes) {
+                if (root.equals(index.getRoot()) && index.covers(packageName)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInPackagesToScan(String className) {
+        for (String packageName : packagesToScan) {
+            if (className.startsWith(packageName + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Integer getIndexedPriority(Class<?> clazz) {
+        for (ServiceIndex index : indexes) {
+            Integer priority = index.getPriority(clazz.getName());
+            if (priority != null) {
+                return priority;
+            }
+        }
+        return null;
+    }
+
     public static void reset() {
         instance = new ServiceLocator();
     }
@@ -0,0 +1,57 @@
+package liquibase.sql;
+
+import liquibase.database.structure.DatabaseObject;
+import liquibase.util.JdbcUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sql that can be executed as a prepared statement with bind parameters.
+ * {@link #toSql()} returns the same statement with the parameter values written as literals, which is used wherever the
+ * SQL is output as text rather than executed, such as by updateSQL.
+ */
+public class PreparedSql extends UnparsedSql {
+
+    private String parameterizedSql;
+    private List<Object> parameters;
+    private List<Integer> parameterTypes;
+
+    public PreparedSql(String sql, String parameterizedSql, List<?> parameters, DatabaseObject... affectedDatabaseObjects) {
+        this(sql, parameterizedSql, parameters, Collections.nCopies(parameters.size(), JdbcUtils.TYPE_UNKNOWN), affectedDatabaseObjects);
+    }
+
+    /**
+     * @param parameterTypes the java.sql.Types type of each parameter, or {@link JdbcUtils#TYPE_UNKNOWN} to let the driver decide
+     */
+    public PreparedSql(String sql, String parameterizedSql, List<?> parameters, List<Integer> parameterTypes, DatabaseObject... affectedDatabaseObjects) {
+        this(sql, parameterizedSql, parameters, parameterTypes, ";", affectedDatabaseObjects);
+    }
+
+    public PreparedSql(String sql, String parameterizedSql, List<?> parameters, List<Integer> parameterTypes, String endDelimiter, DatabaseObject... affectedDatabaseObjects) {
+        super(sql, endDelimiter, affectedDatabaseObjects);
+        if (parameters.size() != parameterTypes.size()) {
+            throw new IllegalArgumentException("parameters and parameterTypes must match");
+        }
+        this.parameterizedSql = parameterizedSql.trim();
+        this.parameters = new ArrayList<Object>(parameters);
+        this.parameterTypes = new ArrayList<Integer>(parameterTypes);
+    }
+
+    /**
+     * Returns the statement with a ? for each parameter.  The text only depends on the shape of the statement, not the
+     * parameter values, so databases can reuse its execution plan.
+     */
+    public String getParameterizedSql() {
+        return parameterizedSql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public List<Integer> getParameterTypes() {
+        return parameterTypes;
+    }
+}
@@ -2,7 +2,7 @@ package liquibase.sql.visitor;
 
 import liquibase.change.CheckSum;
 import liquibase.database.Database;
-import liquibase.serializer.core.string.StringChangeLogSerializer;
+import liquibase.serializer.core.string.ChangeCheckSumEncoder;
 
 import java.util.Collection;
 import java.util.Set;
@@ -37,7 +37,7 @@ public abstract class AbstractSqlVisitor implements SqlVisitor {
     }
 
     public CheckSum generateCheckSum() {
-        return CheckSum.compute(new StringChangeLogSerializer().serialize(this));
+        return ChangeCheckSumEncoder.generateCheckSum(this);
     }
 
 }
@@ -0,0 +1,11 @@
+package liquibase.sql.visitor;
+
+/**
+ * Decides which sql visitors of a changeSet are kept.
+ *
+ * @see liquibase.changelog.ChangeSet#filterSqlVisitors(SqlVisitorFilter)
+ */
+public interface SqlVisitorFilter {
+
+    public boolean accepts(SqlVisitor visitor);
+}
@@ -13,6 +13,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * SqlGeneratorFactory is a singleton registry of SqlGenerators.
@@ -21,23 +23,46 @@ import java.util.*;
  */
 public class SqlGeneratorFactory {
 
-    private static SqlGeneratorFactory instance;
+    private static volatile SqlGeneratorFactory instance;
 
-    private List<SqlGenerator> generators = new ArrayList<SqlGenerator>();
+    private List<SqlGenerator> generators = new CopyOnWriteArrayList<SqlGenerator>();
+
+    /**
+     * Generators whose type parameters accept each statement class, in registration order.  Only depends on the
+     * registered generators, so it is cleared whenever they change.
+     */
+    private Map<Class, List<SqlGenerator>> candidatesByStatementClass = new ConcurrentHashMap<Class, List<SqlGenerator>>();
+
+    private volatile boolean loaded;
 
     private SqlGeneratorFactory() {
-        Class[] classes;
-        try {
-            classes = ServiceLocator.getInstance().findClasses(SqlGenerator.class);
+    }
 
-            for (Class clazz : classes) {
-                register((SqlGenerator) clazz.getConstructor().newInstance());
+    /**
+     * Registers the SqlGenerators found by the ServiceLocator the first time the factory is used rather than when it is
+     * created.  The generators are instantiated into a local list and added with one addAll(), and the candidates
+     * cached before that are dropped, so no lookup is resolved against only some of them.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try {
+                List<SqlGenerator> found = new ArrayList<SqlGenerator>();
+                for (Class clazz : ServiceLocator.getInstance().findClasses(SqlGenerator.class)) {
+                    found.add((SqlGenerator) clazz.getConstructor().newInstance());
+                }
+                generators.addAll(found);
+                candidatesByStatementClass.clear();
+                loaded = true;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
             }
-
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
-
     }
 
     /**
@@ -45,25 +70,34 @@ public class SqlGeneratorFactory {
      */
     public static SqlGeneratorFactory getInstance() {
         if (instance == null) {
-            instance = new SqlGeneratorFactory();
+            synchronized (SqlGeneratorFactory.class) {
+                if (instance == null) {
+                    instance = new SqlGeneratorFactory();
+                }
+            }
         }
         return instance;
     }
 
-    public static void reset() {
+    public static synchronized void reset() {
         instance = new SqlGeneratorFactory();
     }
 
 
-    public void register(SqlGenerator generator) {
+    public synchronized void register(SqlGenerator generator) {
+        ensureLoaded();
         generators.add(generator);
+        candidatesByStatementClass.clear();
     }
 
-    public void unregister(SqlGenerator generator) {
+    public synchronized void unregister(SqlGenerator generator) {
+        ensureLoaded();
         generators.remove(generator);
+        candidatesByStatementClass.clear();
     }
 
-    public void unregister(Class generatorClass) {
+    public synchronized void unregister(Class generatorClass) {
+        ensureLoaded();
         SqlGenerator toRemove = null;
         for (SqlGenerator existingGenerator : generators) {
             if (existingGenerator.getClass().equals(generatorClass)) {
@@ -75,36 +109,110 @@ public class SqlGeneratorFactory {
     }
 
 
+    /**
+     * Returns the registered generators.  Iterators see the generators registered when they were created.  Changes made
+     * through the returned collection are registered the same as through register() and unregister().
+     */
     protected Collection<SqlGenerator> getGenerators() {
-        return generators;
+        ensureLoaded();
+        return new AbstractCollection<SqlGenerator>() {
+            @Override
+            public Iterator<SqlGenerator> iterator() {
+                final Iterator<SqlGenerator> iterator = generators.iterator();
+                return new Iterator<SqlGenerator>() {
+                    private SqlGenerator current;
+
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    public SqlGenerator next() {
+                        current = iterator.next();
+                        return current;
+                    }
+
+                    public void remove() {
+                        if (current == null) {
+                            throw new IllegalStateException();
+                        }
+                        unregister(current);
+                        current = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return generators.size();
+            }
+
+            @Override
+            public boolean add(SqlGenerator generator) {
+                register(generator);
+                return true;
+            }
+        };
     }
 
-    protected SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+    /**
+     * Returns the generators that support the given statement on the given database, the one used first at the start.
+     */
+    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
         SortedSet<SqlGenerator> validGenerators = new TreeSet<SqlGenerator>(new SqlGeneratorComparator());
 
-        for (SqlGenerator generator : getGenerators()) {
-            Class clazz = generator.getClass();
-            Type classType = null;
-            while (clazz != null) {
-                if (classType instanceof ParameterizedType) {
-                    checkType(classType, statement, generator, database, validGenerators);
+        for (SqlGenerator generator : getCandidates(statement.getClass())) {
+            //noinspection unchecked
+            if (generator.supports(statement, database)) {
+                validGenerators.add(generator);
+            }
+        }
+        return validGenerators;
+    }
+
+    /**
+     * Returns the generators whose type parameters accept the given statement class, resolved once per class.
+     */
+    private List<SqlGenerator> getCandidates(Class statementClass) {
+        ensureLoaded();
+        List<SqlGenerator> candidates = candidatesByStatementClass.get(statementClass);
+        if (candidates != null) {
+            return candidates;
+        }
+
+        synchronized (this) {
+            candidates = new ArrayList<SqlGenerator>();
+            for (SqlGenerator generator : generators) {
+                if (acceptsStatementClass(generator, statementClass)) {
+                    candidates.add(generator);
                 }
+            }
+            candidates = Collections.unmodifiableList(candidates);
+            candidatesByStatementClass.put(statementClass, candidates);
+        }
+        return candidates;
+    }
 
-                for (Type type : clazz.getGenericInterfaces()) {
-                    if (type instanceof ParameterizedType) {
-                        checkType(type, statement, generator, database, validGenerators);
-                    } else if (isTypeEqual( type, SqlGenerator.class)) {
-                        //noinspection unchecked
-                        if (generator.supports(statement, database)) {
-                            validGenerators.add(generator);
-                        }
+    private boolean acceptsStatementClass(SqlGenerator generator, Class statementClass) {
+        Class clazz = generator.getClass();
+        Type classType = null;
+        while (clazz != null) {
+            if (classType instanceof ParameterizedType && checkType(classType, statementClass)) {
+                return true;
+            }
+
+            for (Type type : clazz.getGenericInterfaces()) {
+                if (type instanceof ParameterizedType) {
+                    if (checkType(type, statementClass)) {
+                        return true;
                     }
+                } else if (isTypeEqual( type, SqlGenerator.class)) {
+                    return true;
                 }
-                classType = clazz.getGenericSuperclass();
-                clazz = clazz.getSuperclass();
             }
+            classType = clazz.getGenericSuperclass();
+            clazz = clazz.getSuperclass();
         }
-        return validGenerators;
+        return false;
     }
 
     private boolean isTypeEqual(Type aType, Class aClass) {
@@ -114,23 +222,21 @@ public class SqlGeneratorFactory {
         return aType.equals(aClass);
     }
     
-    private void checkType(Type type, SqlStatement statement, SqlGenerator generator, Database database, SortedSet<SqlGenerator> validGenerators) {
+    private boolean checkType(Type type, Class statementClass) {
         for (Type typeClass : ((ParameterizedType) type).getActualTypeArguments()) {
             if (typeClass instanceof TypeVariable) {
                 typeClass = ((TypeVariable) typeClass).getBounds()[0];
             }
         
             if (isTypeEqual( typeClass, SqlStatement.class)) {
-                return;
+                return false;
             }
             
-            if (((Class) typeClass).isAssignableFrom(statement.getClass())) {
-                if (generator.supports(statement, database)) {
-                    validGenerators.add(generator);
-                }
+            if (((Class) typeClass).isAssignableFrom(statementClass)) {
+                return true;
             }
         }
-
+        return false;
     }
 
     private SqlGeneratorChain createGeneratorChain(SqlStatement statement, Database database) {
@@ -1,6 +1,7 @@
 package liquibase.sqlgenerator.core;
 
 import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.Warnings;
 import liquibase.sqlgenerator.SqlGenerator;
 import liquibase.sqlgenerator.SqlGeneratorChain;
@@ -24,4 +25,16 @@ public abstract class AbstractSqlGenerator<StatementType extends SqlStatement> i
     public Warnings warn(StatementType statementType, Database database, SqlGeneratorChain sqlGeneratorChain) {
         return sqlGeneratorChain.warn(statementType, database);
     }
+
+    /**
+     * Returns true if the database version is known and at least the given one.
+     */
+    protected boolean isVersionAtLeast(Database database, int major, int minor) {
+        try {
+            int databaseMajor = database.getDatabaseMajorVersion();
+            return databaseMajor > major || (databaseMajor == major && database.getDatabaseMinorVersion() >= minor);
+        } catch (DatabaseException e) {
+            return false;
+        }
+    }
 }
@@ -4,7 +4,6 @@ import liquibase.database.Database;
 import liquibase.database.typeconversion.TypeConverterFactory;
 import liquibase.exception.ValidationErrors;
 import liquibase.sql.Sql;
-import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGenerator;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.statement.core.InsertStatement;
@@ -25,43 +24,55 @@ public class InsertGenerator extends AbstractSqlGenerator<InsertStatement> {
         return validationErrors;
     }
 
+    /**
+     * Returns the insert as {@link liquibase.sql.PreparedSql} with its string, number and date values as bind parameters,
+     * so inserts into the same columns share the same statement text.
+     */
     public Sql[] generateSql(InsertStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
-        StringBuffer sql = new StringBuffer("INSERT INTO " + database.escapeTableName(statement.getSchemaName(), statement.getTableName()) + " (");
+        StringBuffer columns = new StringBuffer();
         for (String column : statement.getColumnValues().keySet()) {
-            sql.append(database.escapeColumnName(statement.getSchemaName(), statement.getTableName(), column)).append(", ");
+            columns.append(database.escapeColumnName(statement.getSchemaName(), statement.getTableName(), column)).append(", ");
         }
-        sql.deleteCharAt(sql.lastIndexOf(" "));
-        sql.deleteCharAt(sql.lastIndexOf(","));
+        columns.deleteCharAt(columns.lastIndexOf(" "));
+        columns.deleteCharAt(columns.lastIndexOf(","));
 
-        sql.append(") VALUES (");
+        PreparedSqlBuilder sql = new PreparedSqlBuilder(database);
+        sql.append("INSERT INTO " + database.escapeTableName(statement.getSchemaName(), statement.getTableName()) + " (" + columns + ") VALUES (");
 
+        boolean first = true;
         for (String column : statement.getColumnValues().keySet()) {
-            Object newValue = statement.getColumnValues().get(column);
-            if (newValue == null || newValue.toString().equalsIgnoreCase("NULL")) {
-                sql.append("NULL");
-            } else if (newValue instanceof String && database.shouldQuoteValue(((String) newValue))) {
-                sql.append("'").append(database.escapeStringForDatabase((String) newValue)).append("'");
-            } else if (newValue instanceof Date) {
-                sql.append(database.getDateLiteral(((Date) newValue)));
-            } else if (newValue instanceof Boolean) {
-                if (((Boolean) newValue)) {
-                    sql.append(TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getTrueBooleanValue());
-                } else {
-                    sql.append(TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getFalseBooleanValue());
-                }
-            } else {
-                sql.append(newValue);
+            if (!first) {
+                sql.append(", ");
             }
-            sql.append(", ");
+            Object newValue = statement.getColumnValues().get(column);
+            sql.appendValue(newValue, convertToString(newValue, database));
+            first = false;
         }
 
-        sql.deleteCharAt(sql.lastIndexOf(" "));
-        sql.deleteCharAt(sql.lastIndexOf(","));
-
         sql.append(")");
 
         return new Sql[] {
-                new UnparsedSql(sql.toString())
+                sql.toSql()
         };
     }
+
+    static String convertToString(Object newValue, Database database) {
+        String sqlString;
+        if (newValue == null || newValue.toString().equalsIgnoreCase("NULL")) {
+            sqlString = "NULL";
+        } else if (newValue instanceof String && database.shouldQuoteValue(((String) newValue))) {
+            sqlString = "'" + database.escapeStringForDatabase((String) newValue) + "'";
+        } else if (newValue instanceof Date) {
+            sqlString = database.getDateLiteral(((Date) newValue));
+        } else if (newValue instanceof Boolean) {
+            if (((Boolean) newValue)) {
+                sqlString = TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getTrueBooleanValue();
+            } else {
+                sqlString = TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getFalseBooleanValue();
+            }
+        } else {
+            sqlString = newValue.toString();
+        }
+        return sqlString;
+    }
 }
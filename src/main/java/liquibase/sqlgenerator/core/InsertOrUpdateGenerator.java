@@ -13,6 +13,7 @@ import liquibase.sql.UnparsedSql;
 
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Map;
 
 public abstract class InsertOrUpdateGenerator extends AbstractSqlGenerator<InsertOrUpdateStatement> {
 
@@ -130,7 +131,39 @@ public abstract class InsertOrUpdateGenerator extends AbstractSqlGenerator<Inser
 
     }
 
+    /**
+     * Whether the generated SQL can contain bind parameters.  False for databases that do not accept them in the
+     * procedural block the statement is wrapped in.
+     */
+    protected boolean supportsBindParameters(Database database) {
+        return true;
+    }
+
+    /**
+     * Returns the statement as {@link liquibase.sql.PreparedSql} with its string, number and date values as bind parameters
+     * if {@link #supportsBindParameters(Database)}.  The parameterized text is generated through the same methods as the
+     * literal text, from a copy of the statement with the values replaced by markers.
+     */
     public Sql[] generateSql(InsertOrUpdateStatement insertOrUpdateStatement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        String sql = generateSqlString(insertOrUpdateStatement, database, sqlGeneratorChain);
+        if (!supportsBindParameters(database)) {
+            return new Sql[]{
+                    new UnparsedSql(sql)
+            };
+        }
+
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(database);
+        InsertOrUpdateStatement markedStatement = new InsertOrUpdateStatement(insertOrUpdateStatement.getSchemaName(), insertOrUpdateStatement.getTableName(), insertOrUpdateStatement.getPrimaryKey());
+        for (Map.Entry<String, Object> columnValue : insertOrUpdateStatement.getColumnValues().entrySet()) {
+            markedStatement.addColumnValue(columnValue.getKey(), builder.mark(columnValue.getValue()));
+        }
+        builder.appendMarked(sql, generateSqlString(markedStatement, database, sqlGeneratorChain));
+        return new Sql[]{
+                builder.toSql()
+        };
+    }
+
+    private String generateSqlString(InsertOrUpdateStatement insertOrUpdateStatement, Database database, SqlGeneratorChain sqlGeneratorChain) {
         StringBuffer completeSql = new StringBuffer();
         String whereClause = getWhereClause(insertOrUpdateStatement, database);
 
@@ -150,8 +183,6 @@ public abstract class InsertOrUpdateGenerator extends AbstractSqlGenerator<Inser
 
         completeSql.append(getPostUpdateStatements());
 
-        return new Sql[]{
-                new UnparsedSql(completeSql.toString())
-        };
+        return completeSql.toString();
     }
 }
@@ -33,6 +33,11 @@ public class InsertOrUpdateGeneratorDB2 extends InsertOrUpdateGenerator {
 	public boolean supports(InsertOrUpdateStatement statement, Database database) {
 		return database instanceof DB2Database;
 	}
+
+	@Override
+	protected boolean supportsBindParameters(Database database) {
+		return false;
+	}
 	
 	@Override
 	protected String getPostUpdateStatements() {
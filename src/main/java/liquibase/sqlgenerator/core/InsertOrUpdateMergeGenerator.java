@@ -0,0 +1,103 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base class of the generators for databases with a MERGE statement, which insert or update a row in one statement
+ * rather than a record check followed by an INSERT or UPDATE:
+ * <pre>
+ * MERGE INTO table t USING (one row) s ON (t.pk = ?)
+ * WHEN MATCHED THEN UPDATE SET col = ?
+ * WHEN NOT MATCHED THEN INSERT (pk, col) VALUES (?, ?)
+ * </pre>
+ * Values are bound the same way as {@link InsertGenerator} does and only appear where their type is given by a column,
+ * so rows with the same columns share the same statement text and can be sent as a JDBC batch.
+ * <p/>
+ * Takes precedence over the {@link InsertOrUpdateGenerator} of the database where {@link #supports} allows it.
+ */
+public abstract class InsertOrUpdateMergeGenerator extends AbstractSqlGenerator<InsertOrUpdateStatement> {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE + 1;
+    }
+
+    /**
+     * Returns the table of one row the target table is merged with, including its alias.
+     */
+    protected abstract String getSourceTable(Database database);
+
+    /**
+     * Returns the text to end the statement with.
+     */
+    protected String getStatementEnd(Database database) {
+        return "";
+    }
+
+    public ValidationErrors validate(InsertOrUpdateStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("tableName", statement.getTableName());
+        validationErrors.checkRequiredField("columns", statement.getColumnValues());
+        validationErrors.checkRequiredField("primaryKey", statement.getPrimaryKey());
+
+        return validationErrors;
+    }
+
+    public Sql[] generateSql(InsertOrUpdateStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        String schemaName = statement.getSchemaName();
+        String tableName = statement.getTableName();
+        String[] pkColumns = statement.getPrimaryKey().split(",");
+        Set<String> pkColumnSet = new HashSet<String>(Arrays.asList(pkColumns));
+
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(database);
+        builder.append("MERGE INTO ").append(database.escapeTableName(schemaName, tableName)).append(" t USING ").append(getSourceTable(database)).append(" ON (");
+        for (int i = 0; i < pkColumns.length; i++) {
+            if (i > 0) {
+                builder.append(" AND ");
+            }
+            Object value = statement.getColumnValue(pkColumns[i]);
+            builder.append("t.").append(database.escapeColumnName(schemaName, tableName, pkColumns[i])).append(" = ");
+            builder.appendValue(value, InsertGenerator.convertToString(value, database));
+        }
+        builder.append(")");
+
+        boolean first = true;
+        for (Map.Entry<String, Object> columnValue : statement.getColumnValues().entrySet()) {
+            if (pkColumnSet.contains(columnValue.getKey())) {
+                continue;
+            }
+            builder.append(first ? " WHEN MATCHED THEN UPDATE SET " : ", ");
+            builder.append(database.escapeColumnName(schemaName, tableName, columnValue.getKey())).append(" = ");
+            builder.appendValue(columnValue.getValue(), InsertGenerator.convertToString(columnValue.getValue(), database));
+            first = false;
+        }
+
+        builder.append(" WHEN NOT MATCHED THEN INSERT (");
+        first = true;
+        for (String column : statement.getColumnValues().keySet()) {
+            builder.append(first ? "" : ", ").append(database.escapeColumnName(schemaName, tableName, column));
+            first = false;
+        }
+        builder.append(") VALUES (");
+        first = true;
+        for (Object value : statement.getColumnValues().values()) {
+            builder.append(first ? "" : ", ");
+            builder.appendValue(value, InsertGenerator.convertToString(value, database));
+            first = false;
+        }
+        builder.append(")").append(getStatementEnd(database));
+
+        return new Sql[]{
+                builder.toSql()
+        };
+    }
+}
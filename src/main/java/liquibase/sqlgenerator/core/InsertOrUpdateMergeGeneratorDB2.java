@@ -0,0 +1,19 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.DB2Database;
+import liquibase.database.core.DB2iDatabase;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+public class InsertOrUpdateMergeGeneratorDB2 extends InsertOrUpdateMergeGenerator {
+
+    @Override
+    public boolean supports(InsertOrUpdateStatement statement, Database database) {
+        return database instanceof DB2Database && !(database instanceof DB2iDatabase) && isVersionAtLeast(database, 9, 1);
+    }
+
+    @Override
+    protected String getSourceTable(Database database) {
+        return "sysibm.sysdummy1";
+    }
+}
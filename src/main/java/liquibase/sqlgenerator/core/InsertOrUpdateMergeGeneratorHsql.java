@@ -0,0 +1,19 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+public class InsertOrUpdateMergeGeneratorHsql extends InsertOrUpdateMergeGenerator {
+
+    @Override
+    public boolean supports(InsertOrUpdateStatement statement, Database database) {
+        //MERGE needs HSQLDB 2.0
+        return database instanceof HsqlDatabase && isVersionAtLeast(database, 2, 0);
+    }
+
+    @Override
+    protected String getSourceTable(Database database) {
+        return "(VALUES(1)) s";
+    }
+}
@@ -0,0 +1,24 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+public class InsertOrUpdateMergeGeneratorMSSQL extends InsertOrUpdateMergeGenerator {
+
+    @Override
+    public boolean supports(InsertOrUpdateStatement statement, Database database) {
+        //MERGE needs SQL Server 2008
+        return database instanceof MSSQLDatabase && isVersionAtLeast(database, 10, 0);
+    }
+
+    @Override
+    protected String getSourceTable(Database database) {
+        return "(SELECT 1 AS one) s";
+    }
+
+    @Override
+    protected String getStatementEnd(Database database) {
+        return ";"; //required after MERGE
+    }
+}
@@ -0,0 +1,19 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+public class InsertOrUpdateMergeGeneratorOracle extends InsertOrUpdateMergeGenerator {
+
+    @Override
+    public boolean supports(InsertOrUpdateStatement statement, Database database) {
+        //a MERGE without a WHEN MATCHED clause needs 10g
+        return database instanceof OracleDatabase && isVersionAtLeast(database, 10, 0);
+    }
+
+    @Override
+    protected String getSourceTable(Database database) {
+        return "dual";
+    }
+}
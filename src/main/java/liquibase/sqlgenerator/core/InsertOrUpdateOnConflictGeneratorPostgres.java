@@ -0,0 +1,84 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.InsertOrUpdateStatement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Inserts or updates a row with INSERT ... ON CONFLICT (pk) DO UPDATE on PostgreSQL 9.5 and later, in place of the
+ * plpgsql block of {@link InsertOrUpdateGeneratorPostgres}.  The statement is bound the same way as
+ * {@link InsertGenerator} does, so rows with the same columns can be sent as a JDBC batch.
+ */
+public class InsertOrUpdateOnConflictGeneratorPostgres extends AbstractSqlGenerator<InsertOrUpdateStatement> {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE + 1;
+    }
+
+    @Override
+    public boolean supports(InsertOrUpdateStatement statement, Database database) {
+        return database instanceof PostgresDatabase && isVersionAtLeast(database, 9, 5);
+    }
+
+    public ValidationErrors validate(InsertOrUpdateStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("tableName", statement.getTableName());
+        validationErrors.checkRequiredField("columns", statement.getColumnValues());
+        validationErrors.checkRequiredField("primaryKey", statement.getPrimaryKey());
+
+        return validationErrors;
+    }
+
+    public Sql[] generateSql(InsertOrUpdateStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        String schemaName = statement.getSchemaName();
+        String tableName = statement.getTableName();
+        String[] pkColumns = statement.getPrimaryKey().split(",");
+        Set<String> pkColumnSet = new HashSet<String>(Arrays.asList(pkColumns));
+
+        PreparedSqlBuilder builder = new PreparedSqlBuilder(database);
+        builder.append("INSERT INTO ").append(database.escapeTableName(schemaName, tableName)).append(" (");
+        boolean first = true;
+        for (String column : statement.getColumnValues().keySet()) {
+            builder.append(first ? "" : ", ").append(database.escapeColumnName(schemaName, tableName, column));
+            first = false;
+        }
+        builder.append(") VALUES (");
+        first = true;
+        for (Object value : statement.getColumnValues().values()) {
+            builder.append(first ? "" : ", ");
+            builder.appendValue(value, InsertGenerator.convertToString(value, database));
+            first = false;
+        }
+
+        builder.append(") ON CONFLICT (");
+        for (int i = 0; i < pkColumns.length; i++) {
+            builder.append(i == 0 ? "" : ", ").append(database.escapeColumnName(schemaName, tableName, pkColumns[i]));
+        }
+        builder.append(")");
+
+        first = true;
+        for (String column : statement.getColumnValues().keySet()) {
+            if (pkColumnSet.contains(column)) {
+                continue;
+            }
+            String escapedColumn = database.escapeColumnName(schemaName, tableName, column);
+            builder.append(first ? " DO UPDATE SET " : ", ").append(escapedColumn).append(" = EXCLUDED.").append(escapedColumn);
+            first = false;
+        }
+        if (first) {
+            builder.append(" DO NOTHING");
+        }
+
+        return new Sql[]{
+                builder.toSql()
+        };
+    }
+}
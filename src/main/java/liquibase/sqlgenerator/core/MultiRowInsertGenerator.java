@@ -0,0 +1,153 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Base class of the generators for databases that accept INSERT ... VALUES (...), (...).  The rows are split over as
+ * few statements as the limits of the database allow, with values bound the same way as {@link InsertGenerator} does.
+ * All statements except possibly the last one have {@link #getRowsPerStatement(MultiRowInsertStatement, Database)}
+ * rows, so they usually share the same parameterized text and can be sent as a JDBC batch.
+ */
+public abstract class MultiRowInsertGenerator extends AbstractSqlGenerator<MultiRowInsertStatement> {
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    /**
+     * Returns the maximum number of rows in one INSERT statement.
+     */
+    protected abstract int getMaxRowsPerStatement(Database database);
+
+    /**
+     * Returns the maximum number of bind parameters in one statement.
+     */
+    protected abstract int getMaxParametersPerStatement(Database database);
+
+    /**
+     * Returns the maximum size of one statement in bytes, or 0 if only the number of rows and parameters is limited.
+     * The size is estimated from the literal text of the statement in UTF-8.
+     */
+    protected int getMaxBytesPerStatement(Database database) {
+        return 0;
+    }
+
+    /**
+     * Returns the number of rows in each generated statement except possibly the last one, which has the rest.
+     */
+    public int getRowsPerStatement(MultiRowInsertStatement statement, Database database) {
+        return getRowsPerStatement(statement, database, getInsert(statement, database), getLiterals(statement, database));
+    }
+
+    private int getRowsPerStatement(MultiRowInsertStatement statement, Database database, String insert, String[][] literals) {
+        //every value is counted as a parameter so each statement stays within the limit whatever its values are
+        int rowsPerStatement = Math.min(getMaxRowsPerStatement(database), getMaxParametersPerStatement(database) / statement.getColumnNames().size());
+
+        int maxBytes = getMaxBytesPerStatement(database);
+        if (maxBytes > 0 && literals.length > 0) {
+            //sized for the longest row, so all statements but the last still have the same number of rows
+            int maxRowBytes = 0;
+            for (String[] rowLiterals : literals) {
+                int rowBytes = "(), ".length();
+                for (String literal : rowLiterals) {
+                    rowBytes += getUtf8Length(literal) + ", ".length();
+                }
+                maxRowBytes = Math.max(maxRowBytes, rowBytes);
+            }
+            rowsPerStatement = Math.min(rowsPerStatement, (maxBytes - getUtf8Length(insert)) / maxRowBytes);
+        }
+        return Math.max(1, rowsPerStatement);
+    }
+
+    private int getUtf8Length(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else {
+                length += 3; //overestimates surrogate pairs, which are 4 bytes rather than 6
+            }
+        }
+        return length;
+    }
+
+    private String getInsert(MultiRowInsertStatement statement, Database database) {
+        StringBuffer columns = new StringBuffer();
+        for (String column : statement.getColumnNames()) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(database.escapeColumnName(statement.getSchemaName(), statement.getTableName(), column));
+        }
+        return "INSERT INTO " + database.escapeTableName(statement.getSchemaName(), statement.getTableName()) + " (" + columns + ") VALUES ";
+    }
+
+    private String[][] getLiterals(MultiRowInsertStatement statement, Database database) {
+        List<String> columnNames = statement.getColumnNames();
+        List<SortedMap<String, Object>> rows = statement.getRows();
+        String[][] literals = new String[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            literals[i] = new String[columnNames.size()];
+            for (int j = 0; j < columnNames.size(); j++) {
+                literals[i][j] = InsertGenerator.convertToString(rows.get(i).get(columnNames.get(j)), database);
+            }
+        }
+        return literals;
+    }
+
+    public ValidationErrors validate(MultiRowInsertStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        ValidationErrors validationErrors = new ValidationErrors();
+        validationErrors.checkRequiredField("tableName", statement.getTableName());
+        validationErrors.checkRequiredField("rows", statement.getRows());
+        validationErrors.checkRequiredField("columns", statement.getColumnNames());
+
+        if (statement.getSchemaName() != null && !database.supportsSchemas()) {
+            validationErrors.addError("Database does not support schemas");
+        }
+
+        return validationErrors;
+    }
+
+    public Sql[] generateSql(MultiRowInsertStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        List<String> columnNames = statement.getColumnNames();
+        String insert = getInsert(statement, database);
+        String[][] literals = getLiterals(statement, database);
+        int rowsPerStatement = getRowsPerStatement(statement, database, insert, literals);
+
+        List<SortedMap<String, Object>> rows = statement.getRows();
+        List<Sql> sql = new ArrayList<Sql>();
+        for (int start = 0; start < rows.size(); start += rowsPerStatement) {
+            PreparedSqlBuilder builder = new PreparedSqlBuilder(database);
+            builder.append(insert);
+            int end = Math.min(rows.size(), start + rowsPerStatement);
+            for (int i = start; i < end; i++) {
+                if (i > start) {
+                    builder.append(", ");
+                }
+                builder.append("(");
+                for (int j = 0; j < columnNames.size(); j++) {
+                    if (j > 0) {
+                        builder.append(", ");
+                    }
+                    builder.appendValue(rows.get(i).get(columnNames.get(j)), literals[i][j]);
+                }
+                builder.append(")");
+            }
+            sql.add(builder.toSql());
+        }
+
+        return sql.toArray(new Sql[sql.size()]);
+    }
+}
@@ -0,0 +1,24 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.DB2Database;
+import liquibase.database.core.DB2iDatabase;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+public class MultiRowInsertGeneratorDB2 extends MultiRowInsertGenerator {
+
+    @Override
+    public boolean supports(MultiRowInsertStatement statement, Database database) {
+        return database instanceof DB2Database && !(database instanceof DB2iDatabase);
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(Database database) {
+        return 1000;
+    }
+
+    @Override
+    protected int getMaxParametersPerStatement(Database database) {
+        return 32767;
+    }
+}
@@ -0,0 +1,23 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+public class MultiRowInsertGeneratorH2 extends MultiRowInsertGenerator {
+
+    @Override
+    public boolean supports(MultiRowInsertStatement statement, Database database) {
+        return database instanceof H2Database;
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(Database database) {
+        return 1000;
+    }
+
+    @Override
+    protected int getMaxParametersPerStatement(Database database) {
+        return Integer.MAX_VALUE; //no limit
+    }
+}
@@ -0,0 +1,24 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+public class MultiRowInsertGeneratorHsql extends MultiRowInsertGenerator {
+
+    @Override
+    public boolean supports(MultiRowInsertStatement statement, Database database) {
+        //multi-row VALUES needs HSQLDB 2.0 or later
+        return database instanceof HsqlDatabase && isVersionAtLeast(database, 2, 0);
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(Database database) {
+        return 1000;
+    }
+
+    @Override
+    protected int getMaxParametersPerStatement(Database database) {
+        return Integer.MAX_VALUE; //no limit
+    }
+}
@@ -0,0 +1,24 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+public class MultiRowInsertGeneratorMSSQL extends MultiRowInsertGenerator {
+
+    @Override
+    public boolean supports(MultiRowInsertStatement statement, Database database) {
+        //row constructors need SQL Server 2008
+        return database instanceof MSSQLDatabase && isVersionAtLeast(database, 10, 0);
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(Database database) {
+        return 1000;
+    }
+
+    @Override
+    protected int getMaxParametersPerStatement(Database database) {
+        return 2000; //the server allows 2100, some drivers add parameters of their own
+    }
+}
@@ -0,0 +1,31 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+public class MultiRowInsertGeneratorMySQL extends MultiRowInsertGenerator {
+
+    @Override
+    public boolean supports(MultiRowInsertStatement statement, Database database) {
+        return database instanceof MySQLDatabase;
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(Database database) {
+        return 1000;
+    }
+
+    @Override
+    protected int getMaxParametersPerStatement(Database database) {
+        return 65535;
+    }
+
+    /**
+     * Statements must fit in max_allowed_packet, which is 1MB by default before MySQL 5.6.6.
+     */
+    @Override
+    protected int getMaxBytesPerStatement(Database database) {
+        return 1024 * 1024;
+    }
+}
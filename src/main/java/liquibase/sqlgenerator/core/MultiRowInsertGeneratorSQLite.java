@@ -0,0 +1,24 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.SQLiteDatabase;
+import liquibase.statement.core.MultiRowInsertStatement;
+
+public class MultiRowInsertGeneratorSQLite extends MultiRowInsertGenerator {
+
+    @Override
+    public boolean supports(MultiRowInsertStatement statement, Database database) {
+        //multi-row VALUES needs 3.7.11 or later, but drivers only report the major and minor version
+        return database instanceof SQLiteDatabase && isVersionAtLeast(database, 3, 8);
+    }
+
+    @Override
+    protected int getMaxRowsPerStatement(Database database) {
+        return 500; //SQLITE_MAX_COMPOUND_SELECT, which also limits VALUES lists
+    }
+
+    @Override
+    protected int getMaxParametersPerStatement(Database database) {
+        return 999; //SQLITE_MAX_VARIABLE_NUMBER
+    }
+}
@@ -0,0 +1,149 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.util.JdbcUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds the literal text and the parameterized text of a generated statement side by side.
+ * <p/>
+ * Strings, numbers and dates are written as ? in the parameterized text and sent as bind parameters, so statements that
+ * only differ in those values share the same text.  Nulls, booleans and anything else, such as computed values, are
+ * written as literals in both.
+ */
+class PreparedSqlBuilder {
+
+    private static final char MARKER = '\u0000';
+
+    private Database database;
+    private StringBuffer sql = new StringBuffer();
+    private StringBuffer parameterizedSql = new StringBuffer();
+    private List<Object> parameters = new ArrayList<Object>();
+    private List<Integer> parameterTypes = new ArrayList<Integer>();
+    private List<Object> markedValues = new ArrayList<Object>();
+
+    PreparedSqlBuilder(Database database) {
+        this.database = database;
+    }
+
+    PreparedSqlBuilder append(String text) {
+        sql.append(text);
+        parameterizedSql.append(text);
+        return this;
+    }
+
+    /**
+     * Appends a value, written as the given literal in the literal text and as a parameter if it can be bound.
+     */
+    PreparedSqlBuilder appendValue(Object value, String literal) {
+        sql.append(literal);
+        Integer type = getParameterType(value, literal);
+        if (type == null) {
+            parameterizedSql.append(literal);
+        } else {
+            parameterizedSql.append("?");
+            parameters.add(getParameterValue(value));
+            parameterTypes.add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Returns a marker to generate SQL with in place of the given value if the value can be bound, otherwise the value
+     * itself.  The markers are written into SQL through their toString() like any other unquoted value, which lets
+     * generators that build their SQL as strings be used unchanged.
+     *
+     * @see #appendMarked(String, String)
+     */
+    Object mark(Object value) {
+        if (getParameterType(value, null) == null || value.toString().equals("")) {
+            return value;
+        }
+        markedValues.add(value);
+        return new Marker(markedValues.size() - 1);
+    }
+
+    /**
+     * Appends SQL generated once from the real values and once from the values returned by {@link #mark(Object)}, with
+     * each marker turned into a parameter.
+     */
+    PreparedSqlBuilder appendMarked(String literalSql, String markedSql) {
+        sql.append(literalSql);
+        int start = 0;
+        int markerStart;
+        while ((markerStart = markedSql.indexOf(MARKER, start)) >= 0) {
+            int markerEnd = markedSql.indexOf(MARKER, markerStart + 1);
+            Object value = markedValues.get(Integer.parseInt(markedSql.substring(markerStart + 1, markerEnd)));
+            parameterizedSql.append(markedSql, start, markerStart).append("?");
+            parameters.add(getParameterValue(value));
+            parameterTypes.add(getParameterType(value, null));
+            start = markerEnd + 1;
+        }
+        parameterizedSql.append(markedSql.substring(start));
+        return this;
+    }
+
+    /**
+     * Returns a {@link PreparedSql} if any parameters were added, otherwise plain {@link UnparsedSql}.
+     */
+    Sql toSql() {
+        if (parameters.size() == 0) {
+            return new UnparsedSql(sql.toString());
+        }
+        return new PreparedSql(sql.toString(), parameterizedSql.toString(), parameters, parameterTypes);
+    }
+
+    /**
+     * Returns the java.sql.Types type the value is bound as, or null if it has to be written as a literal.
+     */
+    private Integer getParameterType(Object value, String literal) {
+        if (value instanceof String) {
+            if (value.toString().equalsIgnoreCase("NULL") || !database.shouldQuoteValue((String) value) || "NULL".equals(literal)) {
+                return null;
+            }
+            //postgres does not convert varchar parameters to other column types the way it does quoted literals
+            return database instanceof PostgresDatabase ? Types.OTHER : Types.VARCHAR;
+        } else if (value instanceof java.sql.Time) {
+            return Types.TIME;
+        } else if (value instanceof java.sql.Timestamp) {
+            return Types.TIMESTAMP;
+        } else if (value instanceof Date) {
+            return Types.DATE;
+        } else if (value instanceof Number) {
+            return JdbcUtils.TYPE_UNKNOWN;
+        }
+        return null;
+    }
+
+    private Object getParameterValue(Object value) {
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof Date && !(value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof java.sql.Timestamp)) {
+            return new java.sql.Date(((Date) value).getTime());
+        }
+        return value;
+    }
+
+    private static class Marker {
+        private int index;
+
+        private Marker(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return MARKER + Integer.toString(index) + MARKER;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package liquibase.sqlgenerator.core;
 
+import liquibase.change.CheckSum;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
 import liquibase.database.Database;
@@ -22,10 +23,11 @@ public class UpdateChangeSetChecksumGenerator extends AbstractSqlGenerator<Updat
 
     public Sql[] generateSql(UpdateChangeSetChecksumStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
         ChangeSet changeSet = statement.getChangeSet();
+        CheckSum checkSum = statement.getCheckSum() == null ? changeSet.generateCheckSum() : statement.getCheckSum();
 
         SqlStatement runStatement = null;
         runStatement = new UpdateStatement(database.getLiquibaseSchemaName(), database.getDatabaseChangeLogTableName())
-                .addNewColumnValue("MD5SUM", changeSet.generateCheckSum().toString())
+                .addNewColumnValue("MD5SUM", checkSum.toString())
                 .setWhereClause("ID=? AND AUTHOR=? AND FILENAME=?")
                 .addWhereParameters(changeSet.getId(), changeSet.getAuthor(), changeSet.getFilePath());
 
@@ -4,7 +4,6 @@ import liquibase.database.Database;
 import liquibase.database.typeconversion.TypeConverterFactory;
 import liquibase.exception.ValidationErrors;
 import liquibase.sql.Sql;
-import liquibase.sql.UnparsedSql;
 import liquibase.sqlgenerator.SqlGenerator;
 import liquibase.sqlgenerator.SqlGeneratorChain;
 import liquibase.statement.core.UpdateStatement;
@@ -20,25 +19,42 @@ public class UpdateGenerator extends AbstractSqlGenerator<UpdateStatement> {
         return validationErrors;
     }
 
+    /**
+     * Returns the update as {@link liquibase.sql.PreparedSql} with its string, number and date values and where parameters
+     * as bind parameters, so updates of the same columns share the same statement text.
+     */
     public Sql[] generateSql(UpdateStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
-        StringBuffer sql = new StringBuffer("UPDATE " + database.escapeTableName(statement.getSchemaName(), statement.getTableName()) + " SET");
+        PreparedSqlBuilder sql = new PreparedSqlBuilder(database);
+        sql.append("UPDATE " + database.escapeTableName(statement.getSchemaName(), statement.getTableName()) + " SET");
+        boolean first = true;
         for (String column : statement.getNewColumnValues().keySet()) {
-            sql.append(" ").append(database.escapeColumnName(statement.getSchemaName(), statement.getTableName(), column)).append(" = ");
-            sql.append(convertToString(statement.getNewColumnValues().get(column), database));
-            sql.append(",");
+            if (!first) {
+                sql.append(",");
+            }
+            sql.append(" " + database.escapeColumnName(statement.getSchemaName(), statement.getTableName(), column) + " = ");
+            Object newValue = statement.getNewColumnValues().get(column);
+            sql.appendValue(newValue, convertToString(newValue, database));
+            first = false;
         }
 
-        sql.deleteCharAt(sql.lastIndexOf(","));
         if (statement.getWhereClause() != null) {
-            String fixedWhereClause = "WHERE " + statement.getWhereClause().trim();
+            String whereClause = statement.getWhereClause().trim();
+            sql.append(" WHERE ");
+            int start = 0;
             for (Object param : statement.getWhereParameters()) {
-                fixedWhereClause = fixedWhereClause.replaceFirst("\\?", convertToString(param, database));
+                int parameterIndex = whereClause.indexOf('?', start);
+                if (parameterIndex < 0) {
+                    break;
+                }
+                sql.append(whereClause.substring(start, parameterIndex));
+                sql.appendValue(param, convertToString(param, database));
+                start = parameterIndex + 1;
             }
-            sql.append(" ").append(fixedWhereClause);
+            sql.append(whereClause.substring(start));
         }
 
         return new Sql[]{
-                new UnparsedSql(sql.toString())
+                sql.toSql()
         };
     }
 
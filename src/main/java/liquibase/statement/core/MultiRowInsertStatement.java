@@ -0,0 +1,55 @@
+package liquibase.statement.core;
+
+import liquibase.statement.AbstractSqlStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Inserts several rows with the same columns into one table.  Generators write the rows as one or more
+ * INSERT ... VALUES (...), (...) statements, as many rows per statement as the database allows.
+ */
+public class MultiRowInsertStatement extends AbstractSqlStatement {
+    private String schemaName;
+    private String tableName;
+    private List<SortedMap<String, Object>> rows = new ArrayList<SortedMap<String, Object>>();
+
+    public MultiRowInsertStatement(String schemaName, String tableName) {
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Adds a row.  All rows must have values for the same columns.
+     */
+    public MultiRowInsertStatement addRow(Map<String, Object> columnValues) {
+        if (rows.size() > 0 && !rows.get(0).keySet().equals(columnValues.keySet())) {
+            throw new IllegalArgumentException("Row columns " + columnValues.keySet() + " do not match " + rows.get(0).keySet());
+        }
+        rows.add(new TreeMap<String, Object>(columnValues));
+
+        return this;
+    }
+
+    public List<String> getColumnNames() {
+        if (rows.size() == 0) {
+            return new ArrayList<String>();
+        }
+        return new ArrayList<String>(rows.get(0).keySet());
+    }
+
+    public List<SortedMap<String, Object>> getRows() {
+        return rows;
+    }
+}
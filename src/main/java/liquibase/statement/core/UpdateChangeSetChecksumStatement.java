@@ -1,17 +1,32 @@
 package liquibase.statement.core;
 
+import liquibase.change.CheckSum;
 import liquibase.changelog.ChangeSet;
 import liquibase.statement.AbstractSqlStatement;
 
 public class UpdateChangeSetChecksumStatement extends AbstractSqlStatement {
 
     private ChangeSet changeSet;
+    private CheckSum checkSum;
 
     public UpdateChangeSetChecksumStatement(ChangeSet changeSet) {
+        this(changeSet, null);
+    }
+
+    /**
+     * Stores the given, already computed checksum.  If it is null the checksum of the change set is computed when the
+     * SQL is generated.
+     */
+    public UpdateChangeSetChecksumStatement(ChangeSet changeSet, CheckSum checkSum) {
         this.changeSet = changeSet;
+        this.checkSum = checkSum;
     }
 
     public ChangeSet getChangeSet() {
         return changeSet;
     }
+
+    public CheckSum getCheckSum() {
+        return checkSum;
+    }
 }
\ No newline at end of file
@@ -2,16 +2,35 @@ package liquibase.util;
 
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.logging.LogFactory;
+import liquibase.logging.LogLevel;
+import liquibase.logging.Logger;
 
 import java.io.InputStream;
-import java.security.DigestInputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.Charset;
 import java.security.MessageDigest;
 
 /**
  * Generates md5-sums based on a string.
+ * Input is digested in fixed size chunks so the full content never needs to be held in memory as bytes.
  */
 public class MD5Util {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final ThreadLocal<byte[]> buffers = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
+
     /**
      * Used to build output as Hex
      */
@@ -27,14 +46,17 @@ public class MD5Util {
         MessageDigest digest;
         try {
             digest = MessageDigest.getInstance("MD5");
-            digest.update(input.getBytes("UTF-8"));
+            update(digest, input);
         } catch (Exception e) {
             throw new UnexpectedLiquibaseException(e);
         }
         byte[] digestBytes = digest.digest();
 
         String returnString = new String(encodeHex(digestBytes));
-        LogFactory.getLogger().debug("Computed checksum for "+input+" as "+returnString);
+        Logger logger = LogFactory.getLogger();
+        if (isDebugEnabled(logger)) {
+            logger.debug("Computed checksum for "+input+" as "+returnString);
+        }
         return returnString;
 
     }
@@ -44,9 +66,10 @@ public class MD5Util {
         try {
             digest = MessageDigest.getInstance("MD5");
 
-            DigestInputStream digestStream = new DigestInputStream(stream, digest);
-            while (digestStream.read() != -1) {
-                ; //digest is updating
+            byte[] buffer = buffers.get();
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
             }
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -55,10 +78,44 @@ public class MD5Util {
 
         String returnString = new String(encodeHex(digestBytes));
 
-        LogFactory.getLogger().debug("Computed checksum for "+returnString+" as "+returnString);
+        Logger logger = LogFactory.getLogger();
+        if (isDebugEnabled(logger)) {
+            logger.debug("Computed checksum for stream as "+returnString);
+        }
         return returnString;
     }
 
+    /**
+     * Digests the UTF-8 bytes of the given string, encoding it a buffer at a time.
+     * Characters that cannot be encoded are digested as '?', the same as String.getBytes("UTF-8").
+     */
+    private static void update(MessageDigest digest, String input) {
+        CharsetEncoder encoder = UTF8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        byte[] buffer = buffers.get();
+        ByteBuffer out = ByteBuffer.wrap(buffer);
+        CharBuffer in = CharBuffer.wrap(input);
+
+        CoderResult result;
+        do {
+            result = encoder.encode(in, out, true);
+            digest.update(buffer, 0, out.position());
+            out.clear();
+        } while (result.isOverflow());
+
+        do {
+            result = encoder.flush(out);
+            digest.update(buffer, 0, out.position());
+            out.clear();
+        } while (result.isOverflow());
+    }
+
+    private static boolean isDebugEnabled(Logger logger) {
+        LogLevel logLevel = logger.getLogLevel();
+        return logLevel == null || logLevel.compareTo(LogLevel.DEBUG) <= 0;
+    }
+
     /**
      * Converts an array of bytes into an array of characters representing the hexadecimal values of each byte in order.
      * The returned array will be double the length of the passed array, as it takes two characters to represent any
@@ -68,7 +125,7 @@ public class MD5Util {
      *            a byte[] to convert to Hex characters
      * @return A char[] containing hexadecimal characters
      */
-    private static char[] encodeHex(byte[] data) {
+    public static char[] encodeHex(byte[] data) {
 
         int l = data.length;
 
@@ -3,15 +3,15 @@ package liquibase.util;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import liquibase.statement.DatabaseFunction;
 
 public class ObjectUtil {
 
-	private static Map<Class<?>,Method[]>methodCache = new HashMap<Class<?>, Method[]>();
+	private static Map<Class<?>,Method[]>methodCache = new ConcurrentHashMap<Class<?>, Method[]>();
 	
     public static Object getProperty(Object object, String propertyName) throws IllegalAccessException, InvocationTargetException {
         String methodName = "get" + propertyName.substring(0, 1).toUpperCase(Locale.ENGLISH) + propertyName.substring(1);
@@ -0,0 +1,333 @@
+package liquibase.util.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CSV reader for large files which parses straight out of a reusable char buffer.  It reads the same values as
+ * {@link CSVReader}: lines end at \n, \r or \r\n, a doubled quote character inside quotes is one quote character, a
+ * quoted value may span lines, which are then joined with \n, and a quote character in the middle of a value is kept.
+ * <p/>
+ * Rather than a new String[] per record, {@link #next()} moves to the next record and its values are read from a char
+ * array which is reused for every record, through {@link #getChars()}, {@link #getFieldOffset(int)} and
+ * {@link #getFieldLength(int)}.  {@link #getField(int)} and {@link #readNext()} are there for when Strings are needed
+ * anyway.
+ */
+public class BufferedCSVReader {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private Reader reader;
+    private char separator;
+    private char quotechar;
+    private int skipLines;
+    private boolean linesSkipped;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    private char[] values = new char[1024];
+    private int valuesLength;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    public BufferedCSVReader(Reader reader) {
+        this(reader, CSVReader.DEFAULT_SEPARATOR, CSVReader.DEFAULT_QUOTE_CHARACTER);
+    }
+
+    public BufferedCSVReader(Reader reader, char separator, char quotechar) {
+        this(reader, separator, quotechar, CSVReader.DEFAULT_SKIP_LINES);
+    }
+
+    public BufferedCSVReader(Reader reader, char separator, char quotechar, int skipLines) {
+        this(reader, separator, quotechar, skipLines, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param skipLines  number of lines to skip before the first record
+     * @param bufferSize number of chars read from the reader at a time
+     */
+    public BufferedCSVReader(Reader reader, char separator, char quotechar, int skipLines, int bufferSize) {
+        this.reader = reader;
+        this.separator = separator;
+        this.quotechar = quotechar;
+        this.skipLines = skipLines;
+        this.buffer = new char[Math.max(bufferSize, 2)];
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return false if there are no more records
+     */
+    public boolean next() throws IOException {
+        fieldCount = 0;
+        valuesLength = 0;
+        if (!linesSkipped) {
+            for (int i = 0; i < skipLines; i++) {
+                skipLine();
+            }
+            linesSkipped = true;
+        }
+        if (!ensure(1)) {
+            return false;
+        }
+
+        char separator = this.separator;
+        char quotechar = this.quotechar;
+        boolean inQuotes = false;
+        int fieldStart = 0;
+        int column = 0; //position of the current char in its line
+        char previous = 0; //char before the current one in its line, if column > 0
+
+        while (true) {
+            if (position >= limit && !ensure(1)) {
+                //end of the input ends the line
+                if (inQuotes) {
+                    append('\n');
+                }
+                break;
+            }
+
+            //copy a run of ordinary chars in one go
+            char[] buffer = this.buffer;
+            int start = position;
+            int end = limit;
+            int i = start;
+            char c = 0;
+            while (i < end) {
+                c = buffer[i];
+                if (c == quotechar || c == separator || c == '\n' || c == '\r') {
+                    break;
+                }
+                i++;
+            }
+            if (i > start) {
+                append(buffer, start, i - start);
+                column += i - start;
+                previous = buffer[i - 1];
+                position = i;
+                if (i == end) {
+                    continue;
+                }
+            }
+
+            if (c == '\n' || c == '\r') {
+                position++;
+                if (c == '\r' && ensure(1) && this.buffer[position] == '\n') {
+                    position++;
+                }
+                if (!inQuotes) {
+                    break;
+                }
+                append('\n');
+                if (!ensure(1)) {
+                    break;
+                }
+                column = 0;
+                continue;
+            }
+
+            if (c == quotechar) {
+                boolean hasNext = ensure(2);
+                char next = hasNext ? this.buffer[position + 1] : 0;
+                hasNext = hasNext && next != '\n' && next != '\r';
+                if (inQuotes && hasNext && next == quotechar) {
+                    append(quotechar);
+                    position += 2;
+                    column += 2;
+                    previous = quotechar;
+                } else {
+                    inQuotes = !inQuotes;
+                    if (column > 2 && previous != separator && hasNext && next != separator) {
+                        append(c); //a quote in the middle of a value is part of it
+                    }
+                    position++;
+                    column++;
+                    previous = c;
+                }
+            } else if (!inQuotes) { //separator
+                addField(fieldStart, valuesLength);
+                fieldStart = valuesLength;
+                position++;
+                column++;
+                previous = c;
+            } else {
+                append(c);
+                position++;
+                column++;
+                previous = c;
+            }
+        }
+        addField(fieldStart, valuesLength);
+        return true;
+    }
+
+    /**
+     * Returns the number of values of the current record.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the array holding the values of the current record.  It is overwritten by the next call to
+     * {@link #next()}.
+     */
+    public char[] getChars() {
+        return values;
+    }
+
+    public int getFieldOffset(int field) {
+        checkField(field);
+        return fieldStarts[field];
+    }
+
+    public int getFieldLength(int field) {
+        checkField(field);
+        return fieldEnds[field] - fieldStarts[field];
+    }
+
+    public String getField(int field) {
+        checkField(field);
+        return new String(values, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+    }
+
+    /**
+     * Returns true if the given value of the current record is empty or only whitespace.
+     */
+    public boolean isFieldBlank(int field) {
+        checkField(field);
+        for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+            if (values[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean fieldEqualsIgnoreCase(int field, String value) {
+        checkField(field);
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char a = values[start + i];
+            char b = value.charAt(i);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b) && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next record into a new array, the same as {@link CSVReader#readNext()}.
+     *
+     * @return the values of the record, or null if there are no more records
+     */
+    public String[] readNext() throws IOException {
+        if (!next()) {
+            return null;
+        }
+        String[] record = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            record[i] = getField(i);
+        }
+        return record;
+    }
+
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void skipLine() throws IOException {
+        while (ensure(1)) {
+            char c = buffer[position++];
+            if (c == '\n') {
+                return;
+            }
+            if (c == '\r') {
+                if (ensure(1) && buffer[position] == '\n') {
+                    position++;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes sure at least the given number of chars are buffered after the current position, unless the input ends
+     * first.
+     *
+     * @return false if fewer chars are left
+     */
+    private boolean ensure(int count) throws IOException {
+        if (limit - position >= count) {
+            return true;
+        }
+        if (endOfInput) {
+            return false;
+        }
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        while (limit < count) {
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    private void append(char c) {
+        if (valuesLength == values.length) {
+            values = grow(values, valuesLength + 1);
+        }
+        values[valuesLength++] = c;
+    }
+
+    private void append(char[] chars, int offset, int length) {
+        if (valuesLength + length > values.length) {
+            values = grow(values, valuesLength + length);
+        }
+        System.arraycopy(chars, offset, values, valuesLength, length);
+        valuesLength += length;
+    }
+
+    private static char[] grow(char[] array, int minLength) {
+        char[] grown = new char[Math.max(array.length * 2, minLength)];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            int[] starts = new int[fieldCount * 2];
+            int[] ends = new int[fieldCount * 2];
+            System.arraycopy(fieldStarts, 0, starts, 0, fieldCount);
+            System.arraycopy(fieldEnds, 0, ends, 0, fieldCount);
+            fieldStarts = starts;
+            fieldEnds = ends;
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + field + " of a record with " + fieldCount + " fields");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.ageto.liquibase.internal;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import liquibase.change.ChangeFactory;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.bulkload.BulkLoaderFactory;
+import liquibase.exception.ServiceNotFoundException;
+import liquibase.logging.Logger;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.precondition.PreconditionFactory;
+import liquibase.serializer.ChangeLogSerializerFactory;
+import liquibase.servicelocator.ServiceLocator;
+import liquibase.snapshot.DatabaseSnapshotGeneratorFactory;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+
+import org.osgi.framework.Bundle;
+
+/**
+ * {@link ServiceLocator} that finds services in the bundles tracked by a {@link LiquibaseBundleTracker} instead of
+ * scanning the class path.
+ * <p>
+ * Bundles are added and removed as they are resolved and unresolved. When an added bundle has services of an interface
+ * that was already looked up, or a removed bundle had services in an earlier lookup, the cached lookups are dropped and
+ * the Liquibase factories are reset, so they find the new services or no longer hold instances of the removed ones.
+ * Other bundles are added and removed without touching the factories.
+ * </p>
+ */
+public class BundleServiceLocator extends ServiceLocator {
+
+	private final Map<Bundle, LiquibaseBundle> bundles = new LinkedHashMap<Bundle, LiquibaseBundle>();
+	private final Map<Class<?>, Class<?>[]> classesByInterface = new ConcurrentHashMap<Class<?>, Class<?>[]>();
+	private final Set<Bundle> contributingBundles = new HashSet<Bundle>();
+
+	/**
+	 * Creates a new instance. The class path is not scanned, services only come from the added bundles.
+	 */
+	public BundleServiceLocator() {
+		super(false);
+	}
+
+	synchronized void addBundle(final LiquibaseBundle bundle) {
+		bundles.put(bundle.getBundle(), bundle);
+		for (final Class<?> requiredInterface : classesByInterface.keySet()) {
+			if (!bundle.findClasses(requiredInterface).isEmpty()) {
+				classesByInterface.clear();
+				resetFactories();
+				return;
+			}
+		}
+	}
+
+	synchronized void removeBundle(final LiquibaseBundle bundle) {
+		bundles.remove(bundle.getBundle());
+		if (contributingBundles.remove(bundle.getBundle())) {
+			classesByInterface.clear();
+			resetFactories();
+		}
+	}
+
+	/**
+	 * Drops the services the factories found so far, so they are looked up again when next used. Services registered by
+	 * hand have to be registered again.
+	 */
+	private void resetFactories() {
+		ChangeFactory.reset();
+		DatabaseFactory.reset();
+		SqlGeneratorFactory.reset();
+		BulkLoaderFactory.reset();
+		DatabaseSnapshotGeneratorFactory.resetAll();
+		ChangeLogParserFactory.reset();
+		ChangeLogSerializerFactory.reset();
+		PreconditionFactory.reset();
+	}
+
+	@Override
+	public Class[] findClasses(final Class requiredInterface) throws ServiceNotFoundException {
+		Class<?>[] classes = classesByInterface.get(requiredInterface);
+		if (classes == null) {
+			synchronized (this) {
+				final Set<Class<?>> found = new LinkedHashSet<Class<?>>();
+				for (final LiquibaseBundle bundle : bundles.values()) {
+					final List<Class<?>> bundleClasses = bundle.findClasses(requiredInterface);
+					if (!bundleClasses.isEmpty()) {
+						contributingBundles.add(bundle.getBundle());
+						found.addAll(bundleClasses);
+					}
+				}
+				classes = found.toArray(new Class<?>[found.size()]);
+				classesByInterface.put(requiredInterface, classes);
+			}
+		}
+		return classes.clone();
+	}
+
+	/**
+	 * Returns the logger of this service locator, for the classes of this package.
+	 */
+	Logger getServiceLocatorLogger() {
+		return getLogger();
+	}
+}
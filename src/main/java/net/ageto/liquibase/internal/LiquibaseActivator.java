@@ -9,6 +9,8 @@ public class LiquibaseActivator implements BundleActivator {
 
 	private static BundleContext context;
 
+	private LiquibaseBundleTracker bundleTracker;
+
 	static BundleContext getContext() {
 		return context;
 	}
@@ -17,14 +19,19 @@ public class LiquibaseActivator implements BundleActivator {
 	public void start(BundleContext bundleContext) throws Exception {
 		LiquibaseActivator.context = bundleContext;
 
-		// set Equinox service locator
-		ServiceLocator.setInstance(new EquinoxServiceLocator());
+		// set service locator for the tracked bundles
+		final BundleServiceLocator serviceLocator = new BundleServiceLocator();
+		bundleTracker = new LiquibaseBundleTracker(bundleContext, serviceLocator);
+		bundleTracker.open();
+		ServiceLocator.setInstance(serviceLocator);
 	}
 
 	@Override
 	public void stop(BundleContext bundleContext) throws Exception {
-		// unset Equinox service locator
+		// unset service locator
 		ServiceLocator.setInstance(null);
+		bundleTracker.close();
+		bundleTracker = null;
 
 		LiquibaseActivator.context = null;
 	}
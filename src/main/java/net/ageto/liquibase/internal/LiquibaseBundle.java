@@ -0,0 +1,155 @@
+package net.ageto.liquibase.internal;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+
+import liquibase.logging.Logger;
+import liquibase.servicelocator.ServiceIndex;
+import liquibase.util.StringUtils;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * The Liquibase services of a bundle declaring a <code>Liquibase-Package</code> header.
+ * <p>
+ * Class names are read from the bundle's {@link ServiceIndex} or listed from its wiring, so the bundle content never
+ * has to be extracted. Classes are loaded from the bundle the first time they are looked up.
+ * </p>
+ */
+class LiquibaseBundle {
+
+	static final String LIQUIBASE_PACKAGE = "Liquibase-Package";
+
+	/**
+	 * Returns the services of the given bundle, or <code>null</code> if it does not declare any packages.
+	 */
+	static LiquibaseBundle create(final Bundle bundle, final Logger logger) {
+		final String header = StringUtils.trimToNull(bundle.getHeaders().get(LIQUIBASE_PACKAGE));
+		if (header == null) {
+			return null;
+		}
+
+		final List<String> packages = new ArrayList<String>();
+		for (final String packageName : header.split(",")) {
+			if (packageName.trim().length() > 0) {
+				packages.add(packageName.trim());
+			}
+		}
+		return new LiquibaseBundle(bundle, packages, logger);
+	}
+
+	private final Bundle bundle;
+	private final List<String> packages;
+	private final Logger logger;
+	private ServiceIndex index;
+	private List<String> classNames;
+	private List<Class<?>> serviceClasses;
+
+	private LiquibaseBundle(final Bundle bundle, final List<String> packages, final Logger logger) {
+		this.bundle = bundle;
+		this.packages = packages;
+		this.logger = logger;
+
+		final URL indexUrl = bundle.getEntry(ServiceIndex.RESOURCE);
+		if (indexUrl != null) {
+			try {
+				index = ServiceIndex.read(indexUrl);
+			} catch (final IOException e) {
+				logger.info("Cannot read service index of bundle " + bundle.getSymbolicName() + ", listing its classes instead: " + e.getMessage());
+			}
+		}
+		if (index == null) {
+			classNames = listClassNames();
+		}
+	}
+
+	Bundle getBundle() {
+		return bundle;
+	}
+
+	/**
+	 * Returns the service classes of this bundle that implement the given interface.
+	 */
+	synchronized List<Class<?>> findClasses(final Class<?> requiredInterface) {
+		final List<Class<?>> classes = new ArrayList<Class<?>>();
+		if (index != null) {
+			for (final String className : index.getClassNames(requiredInterface.getName())) {
+				if (isInPackages(className)) {
+					final Class<?> clazz = loadServiceClass(className);
+					if ((clazz != null) && requiredInterface.isAssignableFrom(clazz)) {
+						classes.add(clazz);
+					}
+				}
+			}
+			return classes;
+		}
+
+		if (serviceClasses == null) {
+			serviceClasses = new ArrayList<Class<?>>();
+			for (final String className : classNames) {
+				final Class<?> clazz = loadServiceClass(className);
+				if (clazz != null) {
+					serviceClasses.add(clazz);
+				}
+			}
+			classNames = null;
+		}
+		for (final Class<?> clazz : serviceClasses) {
+			if (requiredInterface.isAssignableFrom(clazz)) {
+				classes.add(clazz);
+			}
+		}
+		return classes;
+	}
+
+	private boolean isInPackages(final String className) {
+		for (final String packageName : packages) {
+			if (className.startsWith(packageName + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<String> listClassNames() {
+		final List<String> names = new ArrayList<String>();
+		final BundleWiring wiring = bundle.adapt(BundleWiring.class);
+		for (final String packageName : packages) {
+			final String path = packageName.replace('.', '/');
+			if (wiring != null) {
+				final Collection<String> resources = wiring.listResources(path, "*.class", BundleWiring.LISTRESOURCES_LOCAL | BundleWiring.LISTRESOURCES_RECURSE);
+				if (resources != null) {
+					for (final String resource : resources) {
+						names.add(toClassName(resource));
+					}
+				}
+			} else {
+				final Enumeration<URL> entries = bundle.findEntries(path, "*.class", true);
+				while ((entries != null) && entries.hasMoreElements()) {
+					names.add(toClassName(entries.nextElement().getPath()));
+				}
+			}
+		}
+		return names;
+	}
+
+	private String toClassName(final String resource) {
+		final String path = resource.startsWith("/") ? resource.substring(1) : resource;
+		return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+	}
+
+	private Class<?> loadServiceClass(final String className) {
+		try {
+			final Class<?> clazz = bundle.loadClass(className);
+			return ServiceIndex.isServiceClass(clazz) ? clazz : null;
+		} catch (final Throwable e) {
+			logger.debug("Cannot load " + className + " from bundle " + bundle.getSymbolicName() + ": " + e.getMessage());
+			return null;
+		}
+	}
+}
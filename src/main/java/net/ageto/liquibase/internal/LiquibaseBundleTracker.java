@@ -0,0 +1,37 @@
+package net.ageto.liquibase.internal;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.util.tracker.BundleTracker;
+
+/**
+ * Tracks the resolved bundles declaring a <code>Liquibase-Package</code> header and adds their services to a
+ * {@link BundleServiceLocator}.
+ */
+public class LiquibaseBundleTracker extends BundleTracker<LiquibaseBundle> {
+
+	private final BundleServiceLocator serviceLocator;
+
+	/**
+	 * Creates a new instance.
+	 */
+	public LiquibaseBundleTracker(final BundleContext context, final BundleServiceLocator serviceLocator) {
+		super(context, Bundle.RESOLVED | Bundle.STARTING | Bundle.ACTIVE | Bundle.STOPPING, null);
+		this.serviceLocator = serviceLocator;
+	}
+
+	@Override
+	public LiquibaseBundle addingBundle(final Bundle bundle, final BundleEvent event) {
+		final LiquibaseBundle liquibaseBundle = LiquibaseBundle.create(bundle, serviceLocator.getServiceLocatorLogger());
+		if (liquibaseBundle != null) {
+			serviceLocator.addBundle(liquibaseBundle);
+		}
+		return liquibaseBundle;
+	}
+
+	@Override
+	public void removedBundle(final Bundle bundle, final BundleEvent event, final LiquibaseBundle liquibaseBundle) {
+		serviceLocator.removeBundle(liquibaseBundle);
+	}
+}
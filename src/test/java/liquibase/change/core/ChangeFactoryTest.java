@@ -2,10 +2,14 @@ package liquibase.change.core;
 
 import liquibase.change.Change;
 import liquibase.change.ChangeFactory;
+import liquibase.test.ConcurrentFirstUse;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+
 /**
  * Tests for {@link liquibase.change.ChangeFactory}
  */
@@ -24,6 +28,22 @@ public class ChangeFactoryTest {
         assertTrue(ChangeFactory.getInstance() == ChangeFactory.getInstance());
     }
 
+    @Test
+    public void concurrentFirstUseFindsChanges() throws Exception {
+        List<Change> changes = ConcurrentFirstUse.run(new Runnable() {
+            public void run() {
+                ChangeFactory.reset();
+            }
+        }, new Callable<Change>() {
+            public Change call() {
+                return ChangeFactory.getInstance().create("createTable");
+            }
+        });
+        for (Change change : changes) {
+            assertTrue(change instanceof CreateTableChange);
+        }
+    }
+
     @Test
     public void register() {
         ChangeFactory.getInstance().getRegistry().clear();
@@ -1,14 +1,26 @@
 package liquibase.change.core;
 
 import liquibase.change.AbstractChangeTest;
+import liquibase.database.Database;
 import liquibase.database.core.MockDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseException;
 import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.sql.visitor.SqlVisitor;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.InsertStatement;
+import liquibase.util.csv.BufferedCSVReader;
+import liquibase.util.csv.CSVReader;
 
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Tests for {@link liquibase.change.core.AlterSequenceChange}
  */
@@ -47,6 +59,88 @@ public class LoadDataChangeTest extends AbstractChangeTest {
         assertEquals("jdoe", ((InsertStatement) sqlStatements[1]).getColumnValue("username"));
     }
 
+    @Test
+    public void bulkLoadIsOptIn() throws Exception {
+        assertFalse(new LoadDataChange().isBulkLoad());
+    }
+
+    @Test
+    public void generateStatement_overriddenCSVReader() throws Exception {
+        LoadDataChange refactoring = new LoadDataChange() {
+            @Override
+            protected CSVReader getCSVReader() throws IOException {
+                return new CSVReader(new StringReader("name,username\nBob Johnson,NULL\n\n"));
+            }
+        };
+        refactoring.setTableName("TABLE_NAME");
+        LoadDataColumnConfig column = new LoadDataColumnConfig();
+        column.setHeader("username");
+        column.setType("STRING");
+        refactoring.addColumn(column);
+
+        SqlStatement[] sqlStatements = refactoring.generateStatements(new MockDatabase());
+
+        assertEquals(1, sqlStatements.length);
+        assertEquals("Bob Johnson", ((InsertStatement) sqlStatements[0]).getColumnValue("name"));
+        assertEquals("NULL", ((InsertStatement) sqlStatements[0]).getColumnValue("username"));
+    }
+
+    @Test
+    public void executeRows_chunksAndCommits() throws Exception {
+        RecordingDatabase database = new RecordingDatabase();
+        executeRows(7, database, 3, 5);
+
+        //chunks end at the chunk size and at each commit
+        assertEquals("[3, 2, 2]", database.chunkSizes.toString());
+        assertEquals("[2]", database.commitsAfterChunk.toString());
+    }
+
+    @Test
+    public void executeRows_errorsNameTheRowsOfTheChunk() throws Exception {
+        RecordingDatabase database = new RecordingDatabase();
+        database.failingChunk = 3;
+        try {
+            executeRows(10, database, 3, 6);
+            fail("Loading should fail");
+        } catch (DatabaseException e) {
+            assertEquals("Loading rows 7 to 9 failed, statement 1 being row 7 and rows 1 to 6 committed: Error executing SQL (statement 2)", e.getMessage());
+        }
+    }
+
+    private void executeRows(int rows, Database database, int chunkSize, int commitInterval) throws Exception {
+        StringBuffer data = new StringBuffer("id\n");
+        for (int i = 1; i <= rows; i++) {
+            data.append(i).append("\n");
+        }
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        BufferedCSVReader reader = change.openCSVReader(new ByteArrayInputStream(data.toString().getBytes("UTF-8")));
+        String[] headers = reader.readNext();
+        change.executeRows(reader, headers, database, new ArrayList<SqlVisitor>(), chunkSize, commitInterval);
+    }
+
+    /**
+     * Records the number of statements of each execute() and the number of executes before each commit.
+     */
+    private static class RecordingDatabase extends MockDatabase {
+        private List<Integer> chunkSizes = new ArrayList<Integer>();
+        private List<Integer> commitsAfterChunk = new ArrayList<Integer>();
+        private int failingChunk = -1;
+
+        @Override
+        public void execute(SqlStatement[] statements, List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+            if (chunkSizes.size() + 1 == failingChunk) {
+                throw new DatabaseException("Error executing SQL (statement 2)");
+            }
+            chunkSizes.add(statements.length);
+        }
+
+        @Override
+        public void commit() {
+            commitsAfterChunk.add(chunkSizes.size());
+        }
+    }
+
     @Test
     public void generateStatement_excel() throws Exception {
         LoadDataChange refactoring = new LoadDataChange();
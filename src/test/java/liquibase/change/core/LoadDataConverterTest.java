@@ -0,0 +1,50 @@
+package liquibase.change.core;
+
+import static org.junit.Assert.*;
+import liquibase.change.ColumnConfig;
+import liquibase.util.csv.BufferedCSVReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+public class LoadDataConverterTest {
+
+    @Test
+    public void sameValuesAsColumnConfig() {
+        String[] numbers = new String[]{"15", "(21)", "1.5", "12.", "-3", "1e5", "", "now()"};
+        LoadDataConverter numeric = LoadDataConverter.forColumn(column("NUMERIC"));
+        for (String number : numbers) {
+            assertEquals(number, String.valueOf(new ColumnConfig().setValueNumeric(number).getValueObject()), String.valueOf(numeric.convert(number)));
+        }
+
+        String[] dates = new String[]{"2010-03-04", "12:30:00", "2010-03-04T12:30:00", "2010-03-04 12:30:00", "2010-03-04T12:30:00.5", "NOW()"};
+        LoadDataConverter date = LoadDataConverter.forColumn(column("DATETIME"));
+        for (String value : dates) {
+            Object expected = new ColumnConfig().setValueDate(value).getValueObject();
+            Object actual = date.convert(value);
+            assertEquals(value, expected.getClass(), actual.getClass());
+            assertEquals(value, expected.toString(), actual.toString());
+        }
+
+        LoadDataConverter bool = LoadDataConverter.forColumn(column("BOOLEAN"));
+        assertEquals(Boolean.TRUE, bool.convert("TRUE"));
+        assertEquals(Boolean.FALSE, bool.convert("no"));
+    }
+
+    @Test
+    public void nullValues() throws IOException {
+        BufferedCSVReader reader = new BufferedCSVReader(new StringReader("null,NULL"));
+        reader.next();
+
+        assertEquals("null", LoadDataConverter.forColumn(null).convert(reader, 0));
+        assertEquals("NULL", LoadDataConverter.forColumn(column(null)).convert(reader, 0));
+        assertEquals("NULL", LoadDataConverter.forColumn(column("NUMERIC")).convert(reader, 1));
+    }
+
+    private LoadDataColumnConfig column(String type) {
+        LoadDataColumnConfig column = new LoadDataColumnConfig();
+        column.setType(type);
+        return column;
+    }
+}
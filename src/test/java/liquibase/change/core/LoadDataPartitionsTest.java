@@ -0,0 +1,133 @@
+package liquibase.change.core;
+
+import static org.junit.Assert.*;
+import liquibase.database.core.MockDatabase;
+import liquibase.resource.ResourceAccessor;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+
+public class LoadDataPartitionsTest {
+
+    @Test
+    public void rangesStartAtRecordBoundaries() throws Exception {
+        StringBuffer data = new StringBuffer("id,text\n");
+        for (int i = 0; i < 5000; i++) {
+            data.append(i).append(i % 7 == 0 ? ",\"two\nlines\"\n" : ",\"one line\"\n");
+        }
+        byte[] bytes = data.toString().getBytes("UTF-8");
+
+        long[] ranges = partitions(bytes, 4, null).findRanges();
+
+        assertEquals(5, ranges.length);
+        assertEquals("id,text\n".length(), ranges[0]);
+        assertEquals(bytes.length, ranges[4]);
+        for (int i = 1; i < ranges.length - 1; i++) {
+            assertTrue(ranges[i] > ranges[i - 1]);
+            assertEquals(ranges[i] + " follows a line break", '\n', bytes[(int) ranges[i] - 1]);
+            assertTrue(ranges[i] + " is outside quotes", isOutsideQuotes(bytes, (int) ranges[i]));
+        }
+    }
+
+    @Test
+    public void smallFilesAreNotSplit() throws Exception {
+        assertNull(partitions("id\n1\n2\n".getBytes("UTF-8"), 4, null).findRanges());
+    }
+
+    @Test
+    public void changeSetsInATransactionAreNotSplit() throws Exception {
+        LoadDataChange change = new LoadDataChange();
+        change.setFile("data.csv");
+        change.setPartitions(2);
+        MockDatabase database = new MockDatabase() {
+            @Override
+            public boolean isAutoCommit() {
+                return false;
+            }
+
+            @Override
+            public void commit() {
+                fail("The transaction of the change set must not be committed");
+            }
+        };
+        assertFalse(new LoadDataPartitions(change, database, null).execute());
+    }
+
+    @Test
+    public void lineBreaksInQuotesAreNotBoundaries() throws Exception {
+        StringBuffer data = new StringBuffer("id,text\n1,\"");
+        for (int i = 0; i < 3000; i++) {
+            data.append('\n');
+        }
+        data.append("\"\n");
+        int recordEnd = data.length();
+        data.append("2,x\n");
+
+        List<Long> boundaries = new ArrayList<Long>();
+        long length = partitions(data.toString().getBytes("UTF-8"), 2, null).scanRecordBoundaries(boundaries);
+
+        assertEquals(data.length(), length);
+        assertEquals(Arrays.asList(8L, (long) recordEnd), boundaries);
+    }
+
+    @Test
+    public void recordsEndAtCrLfAndCr() throws Exception {
+        List<Long> boundaries = new ArrayList<Long>();
+        partitions("id\r\n1\r\n".getBytes("UTF-8"), 2, null).scanRecordBoundaries(boundaries);
+        assertEquals(Arrays.asList(4L), boundaries);
+
+        boundaries.clear();
+        partitions("id\r1\r".getBytes("UTF-8"), 2, null).scanRecordBoundaries(boundaries);
+        assertEquals(Arrays.asList(3L), boundaries);
+    }
+
+    @Test
+    public void onlyAsciiCompatibleEncodingsAreSplit() throws Exception {
+        byte[] bytes = new byte[0];
+        assertTrue(partitions(bytes, 2, "UTF-8").isAsciiCompatible());
+        assertTrue(partitions(bytes, 2, "ISO-8859-1").isAsciiCompatible());
+        assertTrue(partitions(bytes, 2, "Cp1252").isAsciiCompatible());
+        assertFalse(partitions(bytes, 2, "UTF-16").isAsciiCompatible());
+        assertFalse(partitions(bytes, 2, "IBM037").isAsciiCompatible());
+        assertFalse(partitions(bytes, 2, "Shift_JIS").isAsciiCompatible());
+        assertFalse(partitions(bytes, 2, "no-such-encoding").isAsciiCompatible());
+    }
+
+    private boolean isOutsideQuotes(byte[] bytes, int end) {
+        int quotes = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+
+    private LoadDataPartitions partitions(final byte[] bytes, int partitions, String encoding) {
+        LoadDataChange change = new LoadDataChange();
+        change.setFile("data.csv");
+        change.setPartitions(partitions);
+        change.setEncoding(encoding);
+        change.setResourceAccessor(new ResourceAccessor() {
+            public InputStream getResourceAsStream(String file) throws IOException {
+                return new ByteArrayInputStream(bytes);
+            }
+
+            public Enumeration<URL> getResources(String packageName) throws IOException {
+                return null;
+            }
+
+            public ClassLoader toClassLoader() {
+                return getClass().getClassLoader();
+            }
+        });
+        return new LoadDataPartitions(change, null, null);
+    }
+}
@@ -1,12 +1,20 @@
 package liquibase.changelog;
 
+import liquibase.change.Change;
 import liquibase.change.CheckSum;
 import liquibase.change.core.AddDefaultValueChange;
 import liquibase.change.core.CreateTableChange;
 import liquibase.change.core.InsertDataChange;
+import liquibase.database.core.MockDatabase;
+import liquibase.exception.LiquibaseException;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.statement.SqlStatement;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Tests for {@link liquibase.changelog.ChangeSet}
  */
@@ -77,4 +85,57 @@ public class ChangeSetTest {
 
         assertTrue(changeSet.isCheckSumValid(checkSum));
     }
+
+    @Test
+    public void generateCheckSum_cachedUntilChanged() {
+        ChangeSet changeSet = new ChangeSet("testId", "testAuthor", false, false, "path/changelog", null, null);
+
+        AddDefaultValueChange change = new AddDefaultValueChange();
+        change.setTableName("TABLE_NAME");
+        change.setColumnName("COLUMN_NAME");
+        change.setDefaultValue("DEF STRING");
+        changeSet.addChange(change);
+
+        CheckSum md5Sum1 = changeSet.generateCheckSum();
+        assertSame(md5Sum1, changeSet.generateCheckSum());
+        changeSet.isCheckSumValid(md5Sum1);
+        changeSet.toString(true);
+        assertEquals(1, changeSet.getCheckSumComputationCount());
+
+        change.setSchemaName("SCHEMA_NAME");
+        CheckSum md5Sum2 = changeSet.generateCheckSum();
+        assertFalse(md5Sum1.equals(md5Sum2));
+        assertEquals(2, changeSet.getCheckSumComputationCount());
+    }
+
+    @Test
+    public void execute_insertsAreNotCombinedWithoutMultiRowInserts() throws Exception {
+        ChangeSet changeSet = new ChangeSet("1", "2", false, false, "/test.xml", null, null);
+        InsertDataChange insert1 = new InsertDataChange();
+        insert1.setTableName("TABLE_NAME");
+        InsertDataChange insert2 = new InsertDataChange();
+        insert2.setTableName("TABLE_NAME");
+        changeSet.addChange(insert1);
+        changeSet.addChange(insert2);
+
+        final List<Change> executedChanges = new ArrayList<Change>();
+        final List<SqlStatement[]> executedStatements = new ArrayList<SqlStatement[]>();
+        MockDatabase database = new MockDatabase() {
+            @Override
+            public void executeStatements(Change change, DatabaseChangeLog changeLog, List<SqlVisitor> sqlVisitors) {
+                executedChanges.add(change);
+            }
+
+            @Override
+            public void execute(SqlStatement[] statements, List<SqlVisitor> sqlVisitors) throws LiquibaseException {
+                executedStatements.add(statements);
+            }
+        };
+
+        assertEquals(ChangeSet.ExecType.EXECUTED, changeSet.execute(new DatabaseChangeLog(), database));
+        assertEquals(2, executedChanges.size());
+        assertSame(insert1, executedChanges.get(0));
+        assertSame(insert2, executedChanges.get(1));
+        assertEquals(0, executedStatements.size());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package liquibase.changelog;
+
+import liquibase.change.CheckSum;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class RanChangeSetListTest {
+
+    @Test
+    public void getRanChangeSet_empty() {
+        assertNull(new RanChangeSetList().getRanChangeSet(new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null)));
+    }
+
+    @Test
+    public void getRanChangeSet() {
+        RanChangeSetList list = new RanChangeSetList();
+        RanChangeSet ranChangeSet1 = new RanChangeSet("path/changelog", "1", "testAuthor", CheckSum.parse("12345"), new Date(), null, null);
+        RanChangeSet ranChangeSet2 = new RanChangeSet("path\\changelog", "2", "testAuthor", CheckSum.parse("12345"), new Date(), null, null);
+        list.add(ranChangeSet1);
+        list.add(ranChangeSet2);
+
+        assertSame(ranChangeSet1, list.getRanChangeSet(new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null)));
+        assertSame(ranChangeSet1, list.getRanChangeSet(new ChangeSet("1", "TESTAUTHOR", false, false, "PATH/changelog", null, null)));
+        assertSame(ranChangeSet2, list.getRanChangeSet(new ChangeSet("2", "testAuthor", false, false, "path/changelog", null, null)));
+
+        assertNull(list.getRanChangeSet(new ChangeSet("3", "testAuthor", false, false, "path/changelog", null, null)));
+        assertNull(list.getRanChangeSet(new ChangeSet("1", "otherAuthor", false, false, "path/changelog", null, null)));
+        assertNull(list.getRanChangeSet(new ChangeSet("1", "testAuthor", false, false, "other/changelog", null, null)));
+    }
+
+    @Test
+    public void getRanChangeSet_afterRemove() {
+        RanChangeSetList list = new RanChangeSetList();
+        RanChangeSet first = new RanChangeSet("path/changelog", "1", "testAuthor", CheckSum.parse("12345"), new Date(), null, null);
+        RanChangeSet second = new RanChangeSet("PATH/changelog", "1", "testAuthor", CheckSum.parse("67890"), new Date(), null, null);
+        list.add(first);
+        list.add(second);
+
+        ChangeSet changeSet = new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null);
+        assertSame(first, list.getRanChangeSet(changeSet));
+
+        list.remove(first);
+        assertSame(second, list.getRanChangeSet(changeSet));
+
+        list.remove(second);
+        assertNull(list.getRanChangeSet(changeSet));
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void indexed() {
+        List<RanChangeSet> plainList = new ArrayList<RanChangeSet>();
+        plainList.add(new RanChangeSet("path/changelog", "1", "testAuthor", CheckSum.parse("12345"), new Date(), null, null));
+
+        RanChangeSetList indexed = RanChangeSetList.indexed(plainList);
+        assertEquals(1, indexed.size());
+        assertNotNull(indexed.getRanChangeSet(new ChangeSet("1", "testAuthor", false, false, "path/changelog", null, null)));
+
+        assertSame(indexed, RanChangeSetList.indexed(indexed));
+    }
+}
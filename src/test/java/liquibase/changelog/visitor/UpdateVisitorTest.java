@@ -22,7 +22,7 @@ public class UpdateVisitorTest {
         database.markChangeSetExecStatus(changeSet, ChangeSet.ExecType.EXECUTED);
         expectLastCall();
 
-        database.commit();
+        database.commitChangeSetExecStatus();
         expectLastCall();
 
 
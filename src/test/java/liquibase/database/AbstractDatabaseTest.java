@@ -57,6 +57,33 @@ public abstract class AbstractDatabaseTest {
         assertEquals("schemaName.tableName", database.escapeTableName("schemaName", "tableName"));
     }
 
+    @Test
+    public void batchSettingsBelowOneAreRejected() {
+        AbstractDatabase database = getDatabase();
+        assertTrue(database.getDatabaseChangeLogBatchSize() >= 1);
+        assertTrue(database.getStatementBatchSize() >= 1);
+        assertTrue(database.getCheckSumThreads() >= 1);
+
+        try {
+            database.setDatabaseChangeLogBatchSize(0);
+            fail("databaseChangeLogBatchSize 0 accepted");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+        try {
+            database.setStatementBatchSize(0);
+            fail("statementBatchSize 0 accepted");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+        try {
+            database.setCheckSumThreads(-1);
+            fail("checkSumThreads -1 accepted");
+        } catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+
 //    @Test
 //    public void getColumnType_javaTypes() throws SQLException {
 //        Database database = getDatabase();
@@ -0,0 +1,241 @@
+package liquibase.database;
+
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetList;
+import liquibase.database.core.H2Database;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.jvm.JdbcExecutor;
+import liquibase.parser.core.xml.XMLChangeLogSAXParser;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.UpdateChangeSetChecksumStatement;
+import liquibase.test.JUnitResourceAccessor;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the batched writes to the change log table: the group-commit mode of
+ * {@link AbstractDatabase#markChangeSetExecStatus(ChangeSet, ChangeSet.ExecType)} and the checksum updates.
+ */
+public class DatabaseChangeLogBatchTest {
+
+    private TestDatabase database;
+    private RecordingJdbcExecutor executor;
+
+    @Before
+    public void setup() {
+        database = new TestDatabase();
+        database.setDatabaseChangeLogBatchSize(3);
+        executor = new RecordingJdbcExecutor();
+        executor.setDatabase(database);
+        ExecutorService.getInstance().setExecutor(database, executor);
+    }
+
+    @After
+    public void cleanup() {
+        ExecutorService.getInstance().clearExecutor(database);
+    }
+
+    @Test
+    public void rowsAreWrittenInOneBatch() throws Exception {
+        database.markChangeSetExecStatus(changeSet("1"), ChangeSet.ExecType.EXECUTED);
+        database.markChangeSetExecStatus(changeSet("2"), ChangeSet.ExecType.EXECUTED);
+        assertEquals(0, executor.batches.size());
+        assertEquals(0, database.commits);
+        assertEquals(2, database.getRanChangeSetList().size());
+
+        database.markChangeSetExecStatus(changeSet("3"), ChangeSet.ExecType.EXECUTED);
+        assertEquals(1, executor.batches.size());
+        assertEquals(3, executor.batches.get(0).size());
+        assertEquals(1, database.commits);
+
+        database.commit();
+        assertEquals("nothing left to write", 1, executor.batches.size());
+    }
+
+    @Test
+    public void groupedRowsAreNotCommittedAfterEachChangeSet() throws Exception {
+        database.markChangeSetExecStatus(changeSet("1"), ChangeSet.ExecType.EXECUTED);
+        database.commitChangeSetExecStatus();
+        assertEquals(0, executor.batches.size());
+        assertEquals(0, database.commits);
+
+        database.setDatabaseChangeLogBatchSize(1);
+        database.commitChangeSetExecStatus();
+        assertEquals("rows are committed once grouping is off", 1, database.commits);
+        assertEquals(1, executor.batches.size());
+    }
+
+    @Test
+    public void rolledBackRowsAreWrittenAgain() throws Exception {
+        database.markChangeSetExecStatus(changeSet("1"), ChangeSet.ExecType.EXECUTED);
+        database.writePendingChangeSetExecStatus();
+        assertEquals(1, executor.batches.size());
+
+        database.rollback();
+        database.commit();
+        assertEquals(2, executor.batches.size());
+        assertEquals(1, executor.batches.get(1).size());
+    }
+
+    @Test
+    public void failedRowsAreNotWrittenAgain() throws Exception {
+        database.markChangeSetExecStatus(changeSet("1"), ChangeSet.ExecType.EXECUTED);
+        database.markChangeSetExecStatus(changeSet("2"), ChangeSet.ExecType.EXECUTED);
+        executor.failNextBatch = true;
+        try {
+            database.markChangeSetExecStatus(changeSet("3"), ChangeSet.ExecType.EXECUTED);
+            fail("Writing the rows should fail");
+        } catch (DatabaseException e) {
+            //expected
+        }
+        assertEquals("failed change sets count as not ran", 0, database.getRanChangeSetList().size());
+
+        database.commit();
+        assertEquals(0, executor.batches.size());
+
+        database.markChangeSetExecStatus(changeSet("4"), ChangeSet.ExecType.EXECUTED);
+        database.commit();
+        assertEquals(1, executor.batches.size());
+        assertEquals(1, executor.batches.get(0).size());
+        assertEquals(1, database.getRanChangeSetList().size());
+    }
+
+    @Test
+    public void checkSumsAreWrittenInOnePreparedBatch() throws Exception {
+        database.setCheckSumThreads(4);
+        List<ChangeSet> changeSets = new ArrayList<ChangeSet>();
+        for (int i = 0; i < 20; i++) {
+            changeSets.add(changeSet(String.valueOf(i)));
+        }
+        database.updateCheckSums(changeSets);
+
+        assertEquals(0, executor.batches.size());
+        assertEquals(1, executor.preparedBatches.size());
+        assertEquals(1, database.commits);
+        List<PreparedSql> sqls = executor.preparedBatches.get(0);
+        assertEquals(20, sqls.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("UPDATE DATABASECHANGELOG SET MD5SUM = ? WHERE ID=? AND AUTHOR=? AND FILENAME=?", sqls.get(i).getParameterizedSql());
+            assertEquals(Arrays.<Object>asList(changeSets.get(i).generateCheckSum().toString(), String.valueOf(i), "test", "changelog.xml"), sqls.get(i).getParameters());
+        }
+    }
+
+    @Test
+    public void checkSumsAreCommittedAfterEachBatch() throws Exception {
+        database.setCheckSumThreads(4);
+        List<ChangeSet> changeSets = new ArrayList<ChangeSet>();
+        for (int i = 0; i < 2500; i++) {
+            changeSets.add(changeSet(String.valueOf(i)));
+        }
+        database.updateCheckSums(changeSets);
+
+        assertEquals(3, executor.preparedBatches.size());
+        assertEquals(1000, executor.preparedBatches.get(0).size());
+        assertEquals(1000, executor.preparedBatches.get(1).size());
+        assertEquals(500, executor.preparedBatches.get(2).size());
+        assertEquals(3, database.commits);
+        assertEquals("2000", executor.preparedBatches.get(2).get(0).getParameters().get(1));
+    }
+
+    @Test
+    public void checkSumsOfUnloadedChangeSetsAreComputedInParallel() throws Exception {
+        String fileName = "liquibase/parser/core/xml/multiChangeSetChangeLog.xml";
+        DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse(fileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+        XMLChangeLogSAXParser lazyParser = new XMLChangeLogSAXParser();
+        lazyParser.setLazyChangeSets(true);
+        DatabaseChangeLog lazyChangeLog = lazyParser.parse(fileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+
+        database.setCheckSumThreads(4);
+        database.updateCheckSums(lazyChangeLog.getChangeSets());
+
+        assertEquals(1, executor.preparedBatches.size());
+        List<PreparedSql> sqls = executor.preparedBatches.get(0);
+        assertEquals(changeLog.getChangeSets().size(), sqls.size());
+        for (int i = 0; i < sqls.size(); i++) {
+            assertEquals(changeLog.getChangeSets().get(i).generateCheckSum().toString(), sqls.get(i).getParameters().get(0));
+            assertFalse(lazyChangeLog.getChangeSets().get(i).isBodyLoaded());
+        }
+    }
+
+    @Test
+    public void checkSumSqlEscapesTheChangeSet() throws Exception {
+        ChangeSet changeSet = new ChangeSet("1", "o'brien", false, false, "it's.xml", null, null);
+        Sql[] sql = SqlGeneratorFactory.getInstance().generateSql(new UpdateChangeSetChecksumStatement(changeSet, changeSet.generateCheckSum()), new H2Database());
+
+        assertEquals(1, sql.length);
+        assertEquals("UPDATE DATABASECHANGELOG SET MD5SUM = '" + changeSet.generateCheckSum() + "' WHERE ID='1' AND AUTHOR='o''brien' AND FILENAME='it''s.xml'", sql[0].toSql());
+    }
+
+    private ChangeSet changeSet(String id) {
+        return new ChangeSet(id, "test", false, false, "changelog.xml", null, null);
+    }
+
+    private static class TestDatabase extends H2Database {
+        private int commits = 0;
+        private List<RanChangeSet> ranChangeSets = new RanChangeSetList();
+
+        @Override
+        public DatabaseConnection getConnection() {
+            return (DatabaseConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{DatabaseConnection.class}, new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    if (method.getName().equals("commit")) {
+                        commits++;
+                    } else if (method.getName().equals("getAutoCommit")) {
+                        return false;
+                    } else if (method.getName().equals("getURL")) {
+                        return "jdbc:h2:mem:test";
+                    }
+                    return null;
+                }
+            });
+        }
+
+        @Override
+        public List<RanChangeSet> getRanChangeSetList() throws DatabaseException {
+            return ranChangeSets;
+        }
+    }
+
+    /**
+     * Records the batches it is given instead of executing them.
+     */
+    private static class RecordingJdbcExecutor extends JdbcExecutor {
+        private List<List<SqlStatement>> batches = new ArrayList<List<SqlStatement>>();
+        private List<List<PreparedSql>> preparedBatches = new ArrayList<List<PreparedSql>>();
+        private boolean failNextBatch = false;
+
+        @Override
+        public int[] executeBatch(List<? extends SqlStatement> sqlStatements, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+            if (failNextBatch) {
+                failNextBatch = false;
+                throw new DatabaseException(new BatchUpdateException());
+            }
+            batches.add(new ArrayList<SqlStatement>(sqlStatements));
+            return new int[sqlStatements.size()];
+        }
+
+        @Override
+        public int[] executePreparedBatch(List<PreparedSql> sqls) throws DatabaseException {
+            preparedBatches.add(new ArrayList<PreparedSql>(sqls));
+            return new int[sqls.size()];
+        }
+    }
+}
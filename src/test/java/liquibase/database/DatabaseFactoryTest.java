@@ -1,12 +1,40 @@
 package liquibase.database;
 
+import liquibase.test.ConcurrentFirstUse;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+
 public class DatabaseFactoryTest {
     
     @Test
     public void getInstance() {
         assertNotNull(DatabaseFactory.getInstance());
     }
+
+    @Test
+    public void concurrentFirstUseSeesAllDatabases() throws Exception {
+        DatabaseFactory.reset();
+        int expected = DatabaseFactory.getInstance().getImplementedDatabases().size();
+        assertTrue(expected > 0);
+
+        try {
+            List<Integer> sizes = ConcurrentFirstUse.run(new Runnable() {
+                public void run() {
+                    DatabaseFactory.reset();
+                }
+            }, new Callable<Integer>() {
+                public Integer call() {
+                    return DatabaseFactory.getInstance().getImplementedDatabases().size();
+                }
+            });
+            for (Integer size : sizes) {
+                assertEquals(expected, size.intValue());
+            }
+        } finally {
+            DatabaseFactory.reset();
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package liquibase.database.bulkload;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.LiquibaseException;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+public class BulkLoaderFactoryTest {
+
+    @After
+    public void reset() {
+        BulkLoaderFactory.reset();
+    }
+
+    @Test
+    public void getBulkLoader() {
+        BulkLoaderFactory factory = BulkLoaderFactory.getInstance();
+        for (BulkLoader loader : factory.getLoaders().toArray(new BulkLoader[factory.getLoaders().size()])) {
+            factory.unregister(loader);
+        }
+        LoadDataChange change = new LoadDataChange();
+        assertNull(factory.getBulkLoader(change, new H2Database()));
+
+        BulkLoader h2Loader = new TestBulkLoader(BulkLoader.PRIORITY_DATABASE, H2Database.class);
+        BulkLoader preferredH2Loader = new TestBulkLoader(BulkLoader.PRIORITY_DATABASE + 1, H2Database.class);
+        BulkLoader mysqlLoader = new TestBulkLoader(BulkLoader.PRIORITY_DATABASE + 5, MySQLDatabase.class);
+        factory.register(h2Loader);
+        factory.register(mysqlLoader);
+        assertSame(h2Loader, factory.getBulkLoader(change, new H2Database()));
+
+        factory.register(preferredH2Loader);
+        assertSame(preferredH2Loader, factory.getBulkLoader(change, new H2Database()));
+        assertSame(mysqlLoader, factory.getBulkLoader(change, new MySQLDatabase()));
+    }
+
+    private static class TestBulkLoader implements BulkLoader {
+        private int priority;
+        private Class<? extends Database> databaseClass;
+
+        private TestBulkLoader(int priority, Class<? extends Database> databaseClass) {
+            this.priority = priority;
+            this.databaseClass = databaseClass;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public boolean supports(LoadDataChange change, Database database) {
+            return databaseClass.isInstance(database);
+        }
+
+        public boolean load(LoadDataChange change, Database database) throws LiquibaseException {
+            return false;
+        }
+    }
+}
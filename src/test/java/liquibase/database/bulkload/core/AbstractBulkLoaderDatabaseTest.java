@@ -0,0 +1,120 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.change.core.LoadDataColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Loads bulkload.csv into a table of an in-process database through the loader of that database and reads the rows
+ * back, to check the data file is read the way the insert statements would have written the values.
+ */
+public abstract class AbstractBulkLoaderDatabaseTest {
+
+    protected Database database;
+    protected Connection connection;
+
+    /**
+     * Returns the database, connected to an empty in-process database.
+     */
+    protected abstract Database createDatabase() throws Exception;
+
+    protected abstract AbstractBulkLoader createLoader();
+
+    /**
+     * Returns the column type booleans are stored as.
+     */
+    protected abstract String getBooleanType();
+
+    @Before
+    public void setup() throws Exception {
+        database = createDatabase();
+        connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        execute("CREATE TABLE LOAD_TEST (ID INT, NAME VARCHAR(50), DESCRIPTION VARCHAR(50), ACTIVE " + getBooleanType()
+                + ", BIRTH_DATE DATE, LAST_UPDATE TIMESTAMP)");
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        try {
+            execute("DROP TABLE LOAD_TEST");
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void load() throws Exception {
+        AbstractBulkLoader loader = createLoader();
+        LoadDataChange change = createChange("LOAD_TEST");
+        assertTrue(loader.supports(change, database));
+        assertTrue(loader.load(change, database));
+
+        ResultSet resultSet = connection.createStatement().executeQuery("SELECT ID, NAME, DESCRIPTION, ACTIVE, BIRTH_DATE, LAST_UPDATE FROM LOAD_TEST ORDER BY ID");
+        try {
+            assertTrue(resultSet.next());
+            assertEquals(1, resultSet.getInt("ID"));
+            assertEquals("Bob Johnson", resultSet.getString("NAME"));
+            assertEquals("an empty field is an empty string", "", resultSet.getString("DESCRIPTION"));
+            assertTrue(resultSet.getBoolean("ACTIVE"));
+            assertEquals(java.sql.Date.valueOf("1970-01-02"), resultSet.getDate("BIRTH_DATE"));
+            assertEquals(Timestamp.valueOf("2011-02-03 04:05:06"), resultSet.getTimestamp("LAST_UPDATE"));
+
+            assertTrue(resultSet.next());
+            assertEquals(2, resultSet.getInt("ID"));
+            assertEquals("John \"Jack\" Doe", resultSet.getString("NAME"));
+            assertNull(resultSet.getString("DESCRIPTION"));
+            assertFalse(resultSet.getBoolean("ACTIVE"));
+            assertFalse(resultSet.wasNull());
+            assertNull(resultSet.getDate("BIRTH_DATE"));
+            assertNull(resultSet.getTimestamp("LAST_UPDATE"));
+
+            assertFalse(resultSet.next());
+        } finally {
+            resultSet.close();
+        }
+    }
+
+    /**
+     * Returns a change loading bulkload.csv into the given table, with the "full name" column going to NAME.
+     */
+    protected LoadDataChange createChange(String tableName) {
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName(tableName);
+        change.setFile("liquibase/database/bulkload/core/bulkload.csv");
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+        change.addColumn(column("id", null, "NUMERIC"));
+        change.addColumn(column("full name", "NAME", "STRING"));
+        change.addColumn(column("active", null, "BOOLEAN"));
+        change.addColumn(column("birth_date", null, "DATE"));
+        change.addColumn(column("last_update", null, "DATETIME"));
+        return change;
+    }
+
+    private LoadDataColumnConfig column(String header, String name, String type) {
+        LoadDataColumnConfig column = new LoadDataColumnConfig();
+        column.setHeader(header);
+        column.setName(name);
+        column.setType(type);
+        return column;
+    }
+
+    protected void execute(String sql) throws Exception {
+        Statement statement = connection.createStatement();
+        try {
+            statement.execute(sql);
+        } finally {
+            statement.close();
+        }
+    }
+}
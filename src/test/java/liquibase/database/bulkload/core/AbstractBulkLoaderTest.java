@@ -0,0 +1,95 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.change.core.LoadDataColumnConfig;
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.typeconversion.TypeConverterFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.statement.DatabaseFunction;
+import liquibase.util.StreamUtil;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class AbstractBulkLoaderTest {
+
+    private AbstractBulkLoader loader = new AbstractBulkLoader() {
+        @Override
+        protected void load(LoadDataChange change, Database database, List<String> columnNames, File dataFile) throws DatabaseException {
+        }
+    };
+
+    @Test
+    public void toText() {
+        H2Database database = new H2Database();
+        assertNull(loader.toText(null, database));
+        assertNull(loader.toText("null", database));
+        assertEquals("a \"quoted\" value", loader.toText("a \"quoted\" value", database));
+        assertEquals("", loader.toText("", database));
+        assertEquals("1000", loader.toText(new BigDecimal("1E+3"), database));
+        assertEquals(TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getTrueBooleanValue(), loader.toText(Boolean.TRUE, database));
+        assertEquals(TypeConverterFactory.getInstance().findTypeConverter(database).getBooleanType().getFalseBooleanValue(), loader.toText(Boolean.FALSE, database));
+        assertEquals("2011-02-03", loader.toText(java.sql.Date.valueOf("2011-02-03"), database));
+        assertEquals("2011-02-03 04:05:06.0", loader.toText(new Date(Timestamp.valueOf("2011-02-03 04:05:06").getTime()), database));
+    }
+
+    @Test(expected = UnexpectedLiquibaseException.class)
+    public void toText_computedValue() {
+        loader.toText(new DatabaseFunction("NOW()"), new H2Database());
+    }
+
+    @Test
+    public void writeDataFile() throws Exception {
+        H2Database database = new H2Database();
+        LoadDataChange change = new LoadDataChange();
+        change.setTableName("TABLE_NAME");
+        change.setFile("liquibase/change/core/sample.data1-excel.csv");
+        change.setResourceAccessor(new ClassLoaderResourceAccessor());
+        LoadDataColumnConfig activeConfig = new LoadDataColumnConfig();
+        activeConfig.setHeader("active");
+        activeConfig.setType("BOOLEAN");
+        change.addColumn(activeConfig);
+
+        File dataFile = File.createTempFile("liquibase-test", ".csv");
+        try {
+            List<String> columnNames = loader.writeDataFile(change, database, dataFile);
+            assertEquals(new HashSet<String>(Arrays.asList("name", "username", "age", "active")), new HashSet<String>(columnNames));
+
+            Map<String, String> row1 = new HashMap<String, String>();
+            row1.put("name", "Bob Johnson");
+            row1.put("username", "bjohnson");
+            row1.put("age", "15");
+            row1.put("active", loader.toText(Boolean.TRUE, database));
+            Map<String, String> row2 = new HashMap<String, String>();
+            row2.put("name", "John Doe");
+            row2.put("username", "jdoe");
+            row2.put("age", "21");
+            row2.put("active", loader.toText(Boolean.FALSE, database));
+
+            StringBuffer expected = new StringBuffer();
+            for (Map<String, String> row : Arrays.asList(row1, row2)) {
+                for (int i = 0; i < columnNames.size(); i++) {
+                    expected.append(i > 0 ? "," : "").append('"').append(row.get(columnNames.get(i))).append('"');
+                }
+                expected.append('\n');
+            }
+            assertEquals(expected.toString(), StreamUtil.getReaderContents(new InputStreamReader(new FileInputStream(dataFile), "UTF-8")));
+        } finally {
+            dataFile.delete();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.core.DerbyDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+
+public class DerbyBulkLoaderTest extends AbstractBulkLoaderDatabaseTest {
+
+    @Override
+    protected Database createDatabase() throws Exception {
+        Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+        Database database = new DerbyDatabase();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:derby:memory:bulkload;create=true")));
+        return database;
+    }
+
+    @Override
+    protected AbstractBulkLoader createLoader() {
+        return new DerbyBulkLoader();
+    }
+
+    @Override
+    protected String getBooleanType() {
+        return "SMALLINT";
+    }
+
+    @Test
+    public void getCatalogName() {
+        DerbyBulkLoader loader = new DerbyBulkLoader();
+        assertEquals("LOAD_TEST", loader.getCatalogName("load_test"));
+        assertEquals("LoadTest", loader.getCatalogName("\"LoadTest\""));
+        assertEquals("Load \"Test\"", loader.getCatalogName("\"Load \"\"Test\"\"\""));
+        assertNull(loader.getCatalogName("load test"));
+        assertNull(loader.getCatalogName("\"Load\"Test\""));
+    }
+
+    @Test
+    public void loadIntoQuotedTable() throws Exception {
+        execute("CREATE TABLE \"LoadTest\" (ID INT, NAME VARCHAR(50), DESCRIPTION VARCHAR(50), ACTIVE SMALLINT, BIRTH_DATE DATE, LAST_UPDATE TIMESTAMP)");
+        try {
+            assertTrue(createLoader().load(createChange("\"LoadTest\""), database));
+
+            ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM \"LoadTest\"");
+            try {
+                assertTrue(resultSet.next());
+                assertEquals(2, resultSet.getInt(1));
+            } finally {
+                resultSet.close();
+            }
+        } finally {
+            execute("DROP TABLE \"LoadTest\"");
+        }
+    }
+
+    @Test
+    public void quotedColumnIsInsertedTheUsualWay() throws Exception {
+        LoadDataChange change = createChange("LOAD_TEST");
+        change.getColumns().get(1).setName("\"Name\"");
+
+        assertFalse(createLoader().load(change, database));
+    }
+}
@@ -0,0 +1,28 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.jvm.JdbcConnection;
+
+import java.sql.DriverManager;
+
+public class H2BulkLoaderTest extends AbstractBulkLoaderDatabaseTest {
+
+    @Override
+    protected Database createDatabase() throws Exception {
+        Class.forName("org.h2.Driver");
+        Database database = new H2Database();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:h2:mem:bulkload", "sa", "")));
+        return database;
+    }
+
+    @Override
+    protected AbstractBulkLoader createLoader() {
+        return new H2BulkLoader();
+    }
+
+    @Override
+    protected String getBooleanType() {
+        return "BOOLEAN";
+    }
+}
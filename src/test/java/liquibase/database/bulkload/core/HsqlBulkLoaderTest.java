@@ -0,0 +1,77 @@
+package liquibase.database.bulkload.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.HsqlDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.DriverManager;
+
+/**
+ * Uses a file database, since HSQLDB only keeps text tables for those, in a directory that is removed afterwards.  The
+ * database is shut down when its connection is closed.
+ */
+public class HsqlBulkLoaderTest extends AbstractBulkLoaderDatabaseTest {
+
+    private File directory;
+    private String allowFullPath;
+
+    @Override
+    protected Database createDatabase() throws Exception {
+        allowFullPath = System.setProperty("textdb.allow_full_path", "true");
+        directory = new File(System.getProperty("java.io.tmpdir"), "liquibase-bulkload-" + System.currentTimeMillis());
+
+        Class.forName("org.hsqldb.jdbcDriver");
+        Database database = new HsqlDatabase();
+        database.setConnection(new JdbcConnection(DriverManager.getConnection("jdbc:hsqldb:file:" + new File(directory, "bulkload").getAbsolutePath() + ";shutdown=true", "sa", "")));
+        return database;
+    }
+
+    @After
+    @Override
+    public void cleanup() throws Exception {
+        try {
+            super.cleanup();
+        } finally {
+            if (allowFullPath == null) {
+                System.clearProperty("textdb.allow_full_path");
+            } else {
+                System.setProperty("textdb.allow_full_path", allowFullPath);
+            }
+            delete(directory);
+        }
+    }
+
+    private void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Override
+    protected AbstractBulkLoader createLoader() {
+        return new HsqlBulkLoader();
+    }
+
+    @Override
+    protected String getBooleanType() {
+        return "BOOLEAN";
+    }
+
+    @Test
+    public void notUsedInTransaction() throws Exception {
+        database.setAutoCommit(false);
+        try {
+            assertFalse(createLoader().supports(createChange("LOAD_TEST"), database));
+        } finally {
+            database.setAutoCommit(true);
+        }
+    }
+}
@@ -348,6 +348,10 @@ public class MockDatabase implements Database {
         ;
     }
 
+    public void commitChangeSetExecStatus() throws DatabaseException {
+        ;
+    }
+
     public List<RanChangeSet> getRanChangeSetList() throws DatabaseException {
         return null;
     }
@@ -2,10 +2,18 @@ package liquibase.database.core;
 
 import liquibase.database.AbstractDatabaseTest;
 import liquibase.database.Database;
+import liquibase.executor.ExecutorService;
+import liquibase.executor.LoggingExecutor;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
 import org.junit.Assert;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+
 /**
  * Tests for {@link MySQLDatabase}
  */
@@ -56,4 +64,28 @@ public class MySQLDatabaseTest extends AbstractDatabaseTest {
         assertEquals("`schemaName`.`tableName`", database.escapeTableName("schemaName", "tableName"));
     }
 
+    @Test
+    public void multiRowInsertsAreOptIn() {
+        assertFalse(new MySQLDatabase().isMultiRowInserts());
+    }
+
+    @Test
+    public void execute_updateSqlDoesNotCombineInserts() throws Exception {
+        MySQLDatabase database = new MySQLDatabase();
+        database.setMultiRowInserts(true);
+        StringWriter output = new StringWriter();
+        ExecutorService.getInstance().setExecutor(database, new LoggingExecutor(null, output, database));
+        try {
+            database.execute(new SqlStatement[]{
+                    new InsertStatement(null, "mytable").addColumnValue("id", 1),
+                    new InsertStatement(null, "mytable").addColumnValue("id", 2)
+            }, new ArrayList<SqlVisitor>());
+        } finally {
+            ExecutorService.getInstance().clearExecutor(database);
+        }
+
+        assertTrue(output.toString(), output.toString().contains("INSERT INTO `mytable` (`id`) VALUES (1);"));
+        assertTrue(output.toString(), output.toString().contains("INSERT INTO `mytable` (`id`) VALUES (2);"));
+    }
+
 }
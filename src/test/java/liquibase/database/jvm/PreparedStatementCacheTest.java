@@ -0,0 +1,91 @@
+package liquibase.database.jvm;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.Set;
+
+public class PreparedStatementCacheTest {
+
+    private Set<Object> closed = new HashSet<Object>();
+
+    private PreparedStatement createStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{PreparedStatement.class}, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("close")) {
+                    closed.add(proxy);
+                } else if (method.getName().equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                }
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void takeAndRelease() {
+        PreparedStatementCache cache = new PreparedStatementCache(10);
+        assertNull(cache.take("SELECT 1"));
+
+        PreparedStatement statement = createStatement();
+        cache.release("SELECT 1", statement);
+        assertEquals(1, cache.size());
+
+        assertSame(statement, cache.take("SELECT 1"));
+        assertNull("statement is not handed out twice", cache.take("SELECT 1"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, closed.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        PreparedStatementCache cache = new PreparedStatementCache(2);
+        PreparedStatement statement1 = createStatement();
+        PreparedStatement statement2 = createStatement();
+        PreparedStatement statement3 = createStatement();
+        cache.release("SQL 1", statement1);
+        cache.release("SQL 2", statement2);
+
+        cache.release("SQL 1", cache.take("SQL 1"));
+        cache.release("SQL 3", statement3);
+
+        assertEquals(2, cache.size());
+        assertTrue(closed.contains(statement2));
+        assertNull(cache.take("SQL 2"));
+        assertSame(statement1, cache.take("SQL 1"));
+        assertSame(statement3, cache.take("SQL 3"));
+    }
+
+    @Test
+    public void zeroSizeClosesStatements() {
+        PreparedStatementCache cache = new PreparedStatementCache(0);
+        PreparedStatement statement = createStatement();
+        cache.release("SELECT 1", statement);
+
+        assertEquals(0, cache.size());
+        assertTrue(closed.contains(statement));
+    }
+
+    @Test
+    public void clearClosesStatements() {
+        PreparedStatementCache cache = new PreparedStatementCache(10);
+        PreparedStatement statement1 = createStatement();
+        PreparedStatement statement2 = createStatement();
+        cache.release("SQL 1", statement1);
+        cache.release("SQL 2", statement2);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertTrue(closed.contains(statement1));
+        assertTrue(closed.contains(statement2));
+    }
+}
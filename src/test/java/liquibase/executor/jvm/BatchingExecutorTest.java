@@ -0,0 +1,194 @@
+package liquibase.executor.jvm;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.sql.UnparsedSql;
+import liquibase.sql.visitor.SqlVisitor;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.sqlgenerator.SqlGeneratorFactory;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+import liquibase.statement.AbstractSqlStatement;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.MultiRowInsertStatement;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchingExecutorTest {
+
+    private Database database = new MySQLDatabase() {
+        @Override
+        public DatabaseConnection getConnection() {
+            return (DatabaseConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{DatabaseConnection.class}, new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    return method.getName().equals("getURL") ? "jdbc:mysql://localhost/test" : null;
+                }
+            });
+        }
+    };
+
+    @Test
+    public void consecutiveInsertsAreBatched() throws Exception {
+        RecordingJdbcExecutor delegate = new RecordingJdbcExecutor();
+        BatchingExecutor executor = new BatchingExecutor(delegate, database, 2);
+
+        executor.execute(new InsertStatement(null, "mytable").addColumnValue("id", 1));
+        assertEquals(0, delegate.batches.size());
+        executor.execute(new InsertStatement(null, "mytable").addColumnValue("id", 2));
+        assertEquals("batch size reached", 1, delegate.batches.size());
+        assertEquals(2, delegate.batches.get(0).size());
+
+        executor.execute(new InsertStatement(null, "mytable").addColumnValue("id", 3));
+        executor.execute(new InsertStatement(null, "othertable").addColumnValue("id", 4));
+        assertEquals("other sql flushes the batch", 1, delegate.executed.size());
+
+        executor.flush();
+        assertEquals(2, delegate.executed.size());
+        assertEquals(1, delegate.batches.size());
+    }
+
+    @Test
+    public void unpreparedStatementIsGeneratedOnce() throws Exception {
+        CountingSqlGenerator generator = new CountingSqlGenerator();
+        SqlGeneratorFactory.getInstance().register(generator);
+        try {
+            RecordingJdbcExecutor delegate = new RecordingJdbcExecutor();
+            BatchingExecutor executor = new BatchingExecutor(delegate, database, 10);
+
+            executor.execute(new InsertStatement(null, "mytable").addColumnValue("id", 1));
+            executor.execute(new CountedStatement());
+
+            assertEquals(1, generator.generated);
+            assertEquals("pending insert is sent first", 1, delegate.executed.size());
+            assertEquals(1, delegate.executedSql.size());
+            assertEquals("SELECT 1", delegate.executedSql.get(0)[0].toSql());
+        } finally {
+            SqlGeneratorFactory.getInstance().unregister(generator);
+        }
+    }
+
+    @Test
+    public void failedStatementIsFoundFromUpdateCountsOfDriversStoppingAtTheFailure() throws Exception {
+        RecordingJdbcExecutor delegate = new RecordingJdbcExecutor();
+        delegate.failureUpdateCounts = new int[]{1, 1};
+        assertFailedStatement(delegate, "(statement 4)");
+    }
+
+    @Test
+    public void failedStatementIsFoundFromUpdateCountsOfDriversGoingOn() throws Exception {
+        RecordingJdbcExecutor delegate = new RecordingJdbcExecutor();
+        delegate.failureUpdateCounts = new int[]{1, 1, Statement.EXECUTE_FAILED, 1};
+        assertFailedStatement(delegate, "(statement 4)");
+    }
+
+    /**
+     * Runs a single insert followed by a failing batch of four inserts, the third of which is statement 4.
+     */
+    private void assertFailedStatement(RecordingJdbcExecutor delegate, String expected) throws Exception {
+        BatchingExecutor executor = new BatchingExecutor(delegate, database, 10);
+        executor.execute(new InsertStatement(null, "othertable").addColumnValue("id", 0));
+        for (int i = 1; i <= 4; i++) {
+            executor.execute(new InsertStatement(null, "mytable").addColumnValue("id", i));
+        }
+        try {
+            executor.flush();
+            fail("Batch should fail");
+        } catch (DatabaseException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(expected));
+            assertTrue(e.getMessage(), e.getMessage().contains("VALUES (3)"));
+        }
+        assertEquals(1, delegate.executed.size());
+        assertEquals(1, delegate.batches.size());
+    }
+
+    @Test
+    public void failedMultiRowInsertNamesItsRows() throws Exception {
+        RecordingJdbcExecutor delegate = new RecordingJdbcExecutor();
+        delegate.failingSql = 1;
+        BatchingExecutor executor = new BatchingExecutor(delegate, database, 10);
+
+        executor.execute(new InsertStatement(null, "mytable").addColumnValue("name", "first"));
+        MultiRowInsertStatement multiRowInsert = new MultiRowInsertStatement(null, "mytable");
+        for (int i = 0; i < 2500; i++) {
+            multiRowInsert.addRow(new InsertStatement(null, "mytable").addColumnValue("id", i).getColumnValues());
+        }
+        //split into INSERTs of 1000, 1000 and 500 rows, which are statements 2 to 1001, 1002 to 2001 and 2002 to 2501
+        try {
+            executor.execute(multiRowInsert);
+            fail("Batch should fail");
+        } catch (DatabaseException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("(statements 1002 to 2001)"));
+        }
+        assertEquals(1, delegate.executed.size());
+        assertEquals(1, delegate.batches.size());
+        assertEquals(2, delegate.batches.get(0).size());
+    }
+
+    /**
+     * Records the batches it is given instead of executing them.  A batch fails if it contains the sql with the given
+     * index, or if update counts for the failure are given.
+     */
+    private static class RecordingJdbcExecutor extends JdbcExecutor {
+        private List<PreparedSql> executed = new ArrayList<PreparedSql>();
+        private List<Sql[]> executedSql = new ArrayList<Sql[]>();
+        private List<List<PreparedSql>> batches = new ArrayList<List<PreparedSql>>();
+        private int failingSql = -1;
+        private int[] failureUpdateCounts;
+
+        @Override
+        public Object execute(PreparedSql sql, PreparedStatementCallback action) throws DatabaseException {
+            executed.add(sql);
+            return false;
+        }
+
+        @Override
+        public void execute(SqlStatement sql, Sql[] generatedSql, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+            executedSql.add(generatedSql);
+        }
+
+        @Override
+        public int[] executePreparedBatch(List<PreparedSql> sqls) throws DatabaseException {
+            batches.add(new ArrayList<PreparedSql>(sqls));
+            if (failureUpdateCounts != null) {
+                throw new DatabaseException(new BatchUpdateException("Duplicate entry", failureUpdateCounts));
+            }
+            if (failingSql >= 0 && failingSql < sqls.size()) {
+                int[] updateCounts = new int[failingSql];
+                throw new DatabaseException(new BatchUpdateException("Duplicate entry", updateCounts));
+            }
+            return new int[sqls.size()];
+        }
+    }
+
+    private static class CountedStatement extends AbstractSqlStatement {
+    }
+
+    /**
+     * Generates plain, unprepared SQL for a CountedStatement and counts how often it did.
+     */
+    private static class CountingSqlGenerator extends AbstractSqlGenerator<CountedStatement> {
+        private int generated = 0;
+
+        public ValidationErrors validate(CountedStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+            return new ValidationErrors();
+        }
+
+        public Sql[] generateSql(CountedStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+            generated++;
+            return new Sql[]{new UnparsedSql("SELECT 1")};
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package liquibase.parser.core.xml;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+public class XMLChangeLogCacheTest {
+
+    private File directory;
+    private XMLChangeLogCache cache;
+
+    @Before
+    public void setup() {
+        directory = new File(System.getProperty("java.io.tmpdir"), "liquibase-changelog-cache-" + System.currentTimeMillis());
+        cache = new XMLChangeLogCache(directory);
+    }
+
+    @After
+    public void cleanup() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void recordingIsReadBack() throws Exception {
+        cache.put("changelog.xml", "hash", recording());
+
+        XMLChangeLogCache.Recording read = new XMLChangeLogCache(directory).get("changelog.xml", "hash");
+        assertNotNull(read);
+        assertEquals(1, read.getElements("changeSet").size());
+        assertEquals("1", read.getElements("changeSet").get(0).getValue("id"));
+        assertNull(cache.get("changelog.xml", "otherHash"));
+        assertNull(cache.get("other.xml", "hash"));
+        assertEquals("no temporary files are left", 1, directory.listFiles().length);
+    }
+
+    @Test
+    public void rewrittenEntryReplacesTheOldOne() throws Exception {
+        cache.put("changelog.xml", "hash", recording());
+        cache.put("changelog.xml", "newHash", recording());
+
+        assertNull(cache.get("changelog.xml", "hash"));
+        assertNotNull(cache.get("changelog.xml", "newHash"));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void damagedFileIsNotReplayed() throws Exception {
+        cache.put("changelog.xml", "hash", recording());
+        File file = directory.listFiles()[0];
+
+        RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            long position = file.length() - 30;
+            out.seek(position);
+            byte value = out.readByte();
+            out.seek(position);
+            out.writeByte(value ^ 1);
+        } finally {
+            out.close();
+        }
+
+        assertNull(cache.get("changelog.xml", "hash"));
+    }
+
+    @Test
+    public void truncatedFileIsNotReplayed() throws Exception {
+        cache.put("changelog.xml", "hash", recording());
+        File file = directory.listFiles()[0];
+
+        RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            out.setLength(file.length() - 10);
+        } finally {
+            out.close();
+        }
+
+        assertNull(cache.get("changelog.xml", "hash"));
+    }
+
+    private XMLChangeLogCache.Recording recording() throws Exception {
+        XMLChangeLogCache.Recording recording = new XMLChangeLogCache.Recording();
+        recording.startElement("", "databaseChangeLog", "databaseChangeLog", new AttributesImpl());
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute("", "id", "id", "CDATA", "1");
+        attributes.addAttribute("", "author", "author", "CDATA", "nvoxland");
+        recording.startElement("", "changeSet", "changeSet", attributes);
+        char[] comment = "Some comments go here".toCharArray();
+        recording.characters(comment, 0, comment.length);
+        recording.endElement("", "changeSet", "changeSet");
+        recording.endElement("", "databaseChangeLog", "databaseChangeLog");
+        return recording;
+    }
+}
@@ -9,7 +9,15 @@ import liquibase.change.custom.ExampleCustomSqlChange;
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.DatabaseChangeLog;
 import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeLogIterator;
+import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.filter.ChangeSetFilter;
+import liquibase.changelog.filter.ContextChangeSetFilter;
+import liquibase.changelog.filter.DbmsChangeSetFilter;
+import liquibase.changelog.visitor.ValidatingVisitor;
+import liquibase.database.core.MySQLDatabase;
 import liquibase.exception.ChangeLogParseException;
+import liquibase.parser.ChangeLogParserFactory;
 import liquibase.precondition.core.OrPrecondition;
 import liquibase.precondition.core.PreconditionContainer;
 import liquibase.test.JUnitResourceAccessor;
@@ -17,6 +25,10 @@ import static org.junit.Assert.*;
 
 import org.junit.Test;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
 public class XMLChangeLogSAXParserTest {
 
     @Test
@@ -116,6 +128,68 @@ public class XMLChangeLogSAXParserTest {
 
     }
 
+    @Test
+    public void multiChangeSetChangeLog_lazyChangeSets() throws Exception {
+        final String fileName = "liquibase/parser/core/xml/multiChangeSetChangeLog.xml";
+        DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse(fileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+        XMLChangeLogSAXParser lazyParser = new XMLChangeLogSAXParser();
+        lazyParser.setLazyChangeSets(true);
+        DatabaseChangeLog lazyChangeLog = lazyParser.parse(fileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+
+        assertEquals(4, lazyChangeLog.getChangeSets().size());
+        for (int i = 0; i < changeLog.getChangeSets().size(); i++) {
+            ChangeSet changeSet = changeLog.getChangeSets().get(i);
+            ChangeSet lazyChangeSet = lazyChangeLog.getChangeSets().get(i);
+            assertFalse(lazyChangeSet.isBodyLoaded());
+            assertEquals(changeSet.toString(false), lazyChangeSet.toString(false));
+            assertEquals(changeSet.shouldAlwaysRun(), lazyChangeSet.shouldAlwaysRun());
+            assertEquals(changeSet.shouldRunOnChange(), lazyChangeSet.shouldRunOnChange());
+            assertEquals(changeSet.generateCheckSum(), lazyChangeSet.generateCheckSum());
+            assertFalse("computing the checksum should not load the body", lazyChangeSet.isBodyLoaded());
+        }
+
+        ChangeSet lazyChangeSet = lazyChangeLog.getChangeSets().get(1);
+        assertEquals(2, lazyChangeSet.getChanges().size());
+        assertTrue(lazyChangeSet.isBodyLoaded());
+        assertTrue(lazyChangeSet.getChanges().get(0) instanceof AddColumnChange);
+        assertEquals("Testing add column", lazyChangeSet.getComments());
+        assertEquals(2, lazyChangeSet.getRollBackChanges().length);
+        assertEquals(changeLog.getChangeSets().get(1).generateCheckSum(), lazyChangeSet.generateCheckSum());
+    }
+
+    @Test
+    public void lazyChangeSets_validateAlreadyRanChangeLog() throws Exception {
+        final String fileName = "liquibase/parser/core/xml/modifySqlChangeLog.xml";
+        MySQLDatabase database = new MySQLDatabase();
+
+        DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse(fileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+        List<RanChangeSet> ranChangeSets = new ArrayList<RanChangeSet>();
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            new DbmsChangeSetFilter(database).accepts(changeSet);
+            new ContextChangeSetFilter("test").accepts(changeSet);
+            assertEquals(1, changeSet.getSqlVisitors().size());
+            ranChangeSets.add(new RanChangeSet(changeSet));
+        }
+
+        XMLChangeLogSAXParser lazyParser = new XMLChangeLogSAXParser();
+        lazyParser.setLazyChangeSets(true);
+        DatabaseChangeLog lazyChangeLog = lazyParser.parse(fileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+
+        ValidatingVisitor validatingVisitor = new ValidatingVisitor(ranChangeSets);
+        new ChangeLogIterator(lazyChangeLog, new DbmsChangeSetFilter(database), new ContextChangeSetFilter("test")).run(validatingVisitor, database);
+        assertTrue(validatingVisitor.validationPassed());
+
+        for (int i = 0; i < lazyChangeLog.getChangeSets().size(); i++) {
+            ChangeSet lazyChangeSet = lazyChangeLog.getChangeSets().get(i);
+            assertFalse("filtering and validating an already ran changeSet should not load the body", lazyChangeSet.isBodyLoaded());
+            assertEquals(ranChangeSets.get(i).getLastCheckSum(), lazyChangeSet.generateCheckSum());
+
+            assertEquals(1, lazyChangeSet.getSqlVisitors().size());
+            assertEquals(changeLog.getChangeSets().get(i).getSqlVisitors().get(0).generateCheckSum(), lazyChangeSet.getSqlVisitors().get(0).generateCheckSum());
+            assertEquals(ranChangeSets.get(i).getLastCheckSum(), lazyChangeSet.generateCheckSum());
+        }
+    }
+
     @Test
     public void logicalPathChangeLog() throws Exception {
         DatabaseChangeLog changeLog = new XMLChangeLogSAXParser().parse("liquibase/parser/core/xml/logicalPathChangeLog.xml", new ChangeLogParameters(), new JUnitResourceAccessor());
@@ -211,6 +285,39 @@ public class XMLChangeLogSAXParserTest {
 	}
 
 
+    @Test
+    public void nestedChangeLog_cached() throws Exception {
+    	final String nestedFileName = "liquibase/parser/core/xml/nestedChangeLog.xml";
+        File cacheDir = File.createTempFile("changelogcache", "");
+        cacheDir.delete();
+
+        String originalCacheDir = System.getProperty("liquibase.changeLogCacheDir");
+        System.setProperty("liquibase.changeLogCacheDir", cacheDir.getAbsolutePath());
+        ChangeLogParserFactory.reset();
+        try {
+            XMLChangeLogSAXParser parser = new XMLChangeLogSAXParser();
+            DatabaseChangeLog parsedChangeLog = parser.parse(nestedFileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+            assertEquals("nested and included file should be cached", 2, cacheDir.listFiles().length);
+
+            DatabaseChangeLog cachedChangeLog = parser.parse(nestedFileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+            nestedFileAssertions(cachedChangeLog, nestedFileName);
+            for (int i = 0; i < parsedChangeLog.getChangeSets().size(); i++) {
+                assertEquals(parsedChangeLog.getChangeSets().get(i).generateCheckSum(), cachedChangeLog.getChangeSets().get(i).generateCheckSum());
+            }
+        } finally {
+            if (originalCacheDir == null) {
+                System.getProperties().remove("liquibase.changeLogCacheDir");
+            } else {
+                System.setProperty("liquibase.changeLogCacheDir", originalCacheDir);
+            }
+            ChangeLogParserFactory.reset();
+            for (File file : cacheDir.listFiles()) {
+                file.delete();
+            }
+            cacheDir.delete();
+        }
+    }
+
     @Test
     public void doubleNestedChangeLog() throws Exception {
     	final String doubleNestedFileName = "liquibase/parser/core/xml/doubleNestedChangeLog.xml";
@@ -221,6 +328,18 @@ public class XMLChangeLogSAXParserTest {
 				changeLog);
     }
 
+    @Test
+    public void doubleNestedChangeLog_parallelIncludes() throws Exception {
+    	final String doubleNestedFileName = "liquibase/parser/core/xml/doubleNestedChangeLog.xml";
+    	final String nestedFileName = "liquibase/parser/core/xml/nestedChangeLog.xml";
+        XMLChangeLogSAXParser parser = new XMLChangeLogSAXParser();
+        parser.setIncludeParseThreads(4);
+        DatabaseChangeLog changeLog = parser.parse(doubleNestedFileName, new ChangeLogParameters(), new JUnitResourceAccessor());
+
+        doubleNestedFileAssertions(doubleNestedFileName, nestedFileName,
+				changeLog);
+    }
+
     @Test
     public void doubleNestedRelativeChangeLog() throws Exception {
     	final String doubleNestedFileName = "liquibase/parser/core/xml/doubleNestedRelativeChangeLog.xml";
@@ -0,0 +1,29 @@
+package liquibase.parser.core.xml;
+
+import liquibase.resource.ClassLoaderResourceAccessor;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import javax.xml.validation.Schema;
+
+public class XMLChangeLogSchemasTest {
+
+    private static final String SCHEMA_LOCATION = "http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-2.0.xsd";
+
+    @Test
+    public void getSchema_compiledOnce() throws Exception {
+        XMLChangeLogSchemas.clear();
+
+        Schema schema = XMLChangeLogSchemas.getSchema(SCHEMA_LOCATION, new ClassLoaderResourceAccessor(), "liquibase/");
+        assertNotNull(schema);
+        assertSame(schema, XMLChangeLogSchemas.getSchema(SCHEMA_LOCATION, new ClassLoaderResourceAccessor(), "other/"));
+    }
+
+    @Test
+    public void getSchema_clear() throws Exception {
+        Schema schema = XMLChangeLogSchemas.getSchema(SCHEMA_LOCATION, new ClassLoaderResourceAccessor(), "liquibase/");
+        XMLChangeLogSchemas.clear();
+
+        assertNotSame(schema, XMLChangeLogSchemas.getSchema(SCHEMA_LOCATION, new ClassLoaderResourceAccessor(), "liquibase/"));
+    }
+}
@@ -237,6 +237,28 @@ public class StringChangeLogSerializerTest {
         }
     }
 
+    @Test
+    public void checkSumEncoder_matchesSerializerForAllChanges() throws Exception {
+        for (SortedSet<Class<? extends Change>> changeClassSet : ChangeFactory.getInstance().getRegistry().values()) {
+            for (Class<? extends Change> changeClass : changeClassSet) {
+                Change change = changeClass.getConstructor().newInstance();
+                assertEquals(changeClass.getName(), CheckSum.compute(new StringChangeLogSerializer().serialize(change)), ChangeCheckSumEncoder.generateCheckSum(change));
+
+                setFields(change);
+                assertEquals(changeClass.getName(), CheckSum.compute(new StringChangeLogSerializer().serialize(change)), ChangeCheckSumEncoder.generateCheckSum(change));
+            }
+        }
+    }
+
+    @Test
+    public void checkSumEncoder_matchesSerializerForNewlinesAndNonAscii() {
+        RawSQLChange change = new RawSQLChange();
+        change.setSql("select 'caf\u00e9', '\u4e2d', '\ud83d\ude00'\r\nfrom dual\r\rwhere x = '\ud800'\r");
+        change.setComments("line one\rline two\n");
+
+        assertEquals(CheckSum.compute(new StringChangeLogSerializer().serialize(change)), ChangeCheckSumEncoder.generateCheckSum(change));
+    }
+
     private void setFields(Object object) throws Exception {
         Class clazz = object.getClass();
         if (clazz.getName().indexOf(".ext.") > 0) {
@@ -0,0 +1,61 @@
+package liquibase.servicelocator;
+
+import liquibase.logging.core.DefaultLogger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class PackageScanCacheTest {
+
+    @Test
+    public void entriesAreKeptUntilTheJarChanges() throws Exception {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "liquibase-scan-cache-" + System.currentTimeMillis());
+        directory.mkdirs();
+        File jar = new File(directory, "test.jar");
+        File otherJar = new File(directory, "other.jar");
+        File cacheFile = new File(directory, "scan.cache");
+        try {
+            writeFile(jar, 10);
+            writeFile(otherJar, 10);
+            Set<String> classNames = new HashSet<String>(Arrays.asList("a/A.class", "a/b/B.class"));
+
+            PackageScanCache cache = new PackageScanCache(cacheFile, new DefaultLogger());
+            assertNull(cache.get(jar));
+            cache.put(jar, classNames);
+            cache.save();
+            assertTrue(cacheFile.exists());
+
+            PackageScanCache otherRun = new PackageScanCache(cacheFile, new DefaultLogger());
+            assertEquals(classNames, otherRun.get(jar));
+            otherRun.put(otherJar, new HashSet<String>(Arrays.asList("c/C.class")));
+            otherRun.save();
+
+            cache.put(jar, classNames);
+            cache.save();
+            assertEquals(classNames, new PackageScanCache(cacheFile, new DefaultLogger()).get(jar));
+            assertEquals(new HashSet<String>(Arrays.asList("c/C.class")), new PackageScanCache(cacheFile, new DefaultLogger()).get(otherJar));
+
+            writeFile(jar, 20);
+            assertNull(new PackageScanCache(cacheFile, new DefaultLogger()).get(jar));
+        } finally {
+            jar.delete();
+            otherJar.delete();
+            cacheFile.delete();
+            directory.delete();
+        }
+    }
+
+    private void writeFile(File file, int length) throws Exception {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[length]);
+        } finally {
+            out.close();
+        }
+    }
+}
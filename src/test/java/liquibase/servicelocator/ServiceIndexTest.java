@@ -0,0 +1,62 @@
+package liquibase.servicelocator;
+
+import liquibase.database.Database;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.OracleDatabase;
+import liquibase.sqlgenerator.SqlGenerator;
+import liquibase.sqlgenerator.core.AbstractSqlGenerator;
+import liquibase.sqlgenerator.core.InsertGenerator;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public class ServiceIndexTest {
+
+    @Test
+    public void writeAndRead() throws Exception {
+        ServiceIndex index = new ServiceIndex(Arrays.asList("liquibase.database", "liquibase.sqlgenerator"));
+        assertTrue(index.add(OracleDatabase.class));
+        assertTrue(index.add(H2Database.class));
+        assertTrue(index.add(InsertGenerator.class));
+        assertFalse(index.add(AbstractSqlGenerator.class));
+        assertFalse(index.add(SqlGenerator.class));
+
+        File directory = new File(System.getProperty("java.io.tmpdir"), "liquibase-service-index-" + System.currentTimeMillis());
+        File indexFile = new File(directory, ServiceIndex.RESOURCE);
+        indexFile.getParentFile().mkdirs();
+        OutputStream out = new FileOutputStream(indexFile);
+        try {
+            index.write(out);
+        } finally {
+            out.close();
+        }
+
+        try {
+            ServiceIndex read = ServiceIndex.read(indexFile.toURI().toURL());
+
+            assertEquals(directory.toURI().toURL().toExternalForm(), read.getRoot());
+            assertEquals(Arrays.asList("liquibase.database", "liquibase.sqlgenerator"), read.getPackages());
+            assertTrue(read.covers("liquibase.database"));
+            assertTrue(read.covers("liquibase.database.core"));
+            assertFalse(read.covers("liquibase.databasex"));
+            assertFalse(read.covers("liquibase.change"));
+
+            assertEquals(Arrays.asList(OracleDatabase.class.getName(), H2Database.class.getName()), read.getClassNames(Database.class.getName()));
+            assertEquals(Arrays.asList(InsertGenerator.class.getName()), read.getClassNames(SqlGenerator.class.getName()));
+            assertEquals(Arrays.asList(InsertGenerator.class.getName()), read.getClassNames(AbstractSqlGenerator.class.getName()));
+            assertEquals(0, read.getClassNames(Object.class.getName()).size());
+
+            assertEquals(new Integer(new OracleDatabase().getPriority()), read.getPriority(OracleDatabase.class.getName()));
+            assertEquals(new Integer(new InsertGenerator().getPriority()), read.getPriority(InsertGenerator.class.getName()));
+        } finally {
+            indexFile.delete();
+            indexFile.getParentFile().delete();
+            indexFile.getParentFile().getParentFile().delete();
+            directory.delete();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package liquibase.sqlgenerator;
 
 import liquibase.database.Database;
 import liquibase.database.core.H2Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
 import liquibase.exception.ValidationErrors;
 import liquibase.exception.Warnings;
 import liquibase.sql.Sql;
@@ -11,11 +14,20 @@ import liquibase.sqlgenerator.core.AddAutoIncrementGeneratorHsqlH2;
 import liquibase.sqlgenerator.core.AddColumnGenerator;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.AddAutoIncrementStatement;
+import liquibase.statement.core.AddColumnStatement;
+import liquibase.statement.core.CreateTableStatement;
+import liquibase.statement.core.DropTableStatement;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.RawSqlStatement;
+import liquibase.statement.core.UpdateStatement;
 import org.junit.After;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.SortedSet;
 
 public class SqlGeneratorFactoryTest {
@@ -125,6 +137,82 @@ public class SqlGeneratorFactoryTest {
         assertEquals(1, allGenerators.size());        
     }
 
+    @Test
+    public void generatorRegisteredAfterFirstLookupIsReturned() {
+        AddAutoIncrementStatement statement = new AddAutoIncrementStatement(null, "person", "name", "varchar(255)", null, null);
+        assertEquals(1, SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).size());
+
+        SqlGenerator generator = addGenerator(AddAutoIncrementStatement.class, H2Database.class, 100);
+
+        SortedSet<SqlGenerator> generators = SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database());
+        assertEquals(2, generators.size());
+        assertSame(generator, generators.first());
+    }
+
+    @Test
+    public void unregisteredGeneratorIsNoLongerReturned() {
+        AddAutoIncrementStatement statement = new AddAutoIncrementStatement(null, "person", "name", "varchar(255)", null, null);
+        SqlGenerator generator = addGenerator(AddAutoIncrementStatement.class, H2Database.class, 100);
+        assertTrue(SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).contains(generator));
+
+        SqlGeneratorFactory.getInstance().unregister(generator);
+
+        SortedSet<SqlGenerator> generators = SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database());
+        assertFalse(generators.contains(generator));
+        assertEquals(1, generators.size());
+    }
+
+    @Test
+    public void removingThroughGeneratorCollectionIsSeenByLookups() {
+        AddAutoIncrementStatement statement = new AddAutoIncrementStatement(null, "person", "name", "varchar(255)", null, null);
+        SqlGenerator generator = addGenerator(AddAutoIncrementStatement.class, H2Database.class, 100);
+        assertTrue(SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).contains(generator));
+
+        Iterator<SqlGenerator> iterator = SqlGeneratorFactory.getInstance().getGenerators().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == generator) {
+                iterator.remove();
+            }
+        }
+        assertFalse(SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).contains(generator));
+
+        SqlGeneratorFactory.getInstance().getGenerators().clear();
+        assertEquals(0, SqlGeneratorFactory.getInstance().getGenerators(statement, new H2Database()).size());
+    }
+
+    @Test
+    public void cachedGeneratorsMatchFirstLookup() {
+        List<SqlStatement> statements = new ArrayList<SqlStatement>();
+        statements.add(new AddAutoIncrementStatement(null, "person", "name", "varchar(255)", null, null));
+        statements.add(new AddColumnStatement(null, "person", "name", "varchar(255)", null));
+        statements.add(new CreateTableStatement(null, "person"));
+        statements.add(new DropTableStatement(null, "person", false));
+        statements.add(new InsertStatement(null, "person"));
+        statements.add(new UpdateStatement(null, "person"));
+        statements.add(new RawSqlStatement("select 1"));
+        Database[] databases = new Database[] { new H2Database(), new MySQLDatabase(), new OracleDatabase(), new PostgresDatabase() };
+
+        SqlGeneratorFactory cachedFactory = SqlGeneratorFactory.getInstance();
+        for (int round = 0; round < 2; round++) {
+            for (SqlStatement statement : statements) {
+                for (Database database : databases) {
+                    SqlGeneratorFactory.reset();
+                    List<Class> expected = classesOf(SqlGeneratorFactory.getInstance().getGenerators(statement, database));
+
+                    assertEquals(statement.getClass().getName() + " on " + database.getClass().getName(), expected, classesOf(cachedFactory.getGenerators(statement, database)));
+                }
+            }
+        }
+    }
+
+    private List<Class> classesOf(SortedSet<SqlGenerator> generators) {
+        List<Class> classes = new ArrayList<Class>();
+        for (SqlGenerator generator : generators) {
+            classes.add(generator.getClass());
+        }
+        return classes;
+    }
+
     private SqlGenerator addGenerator(final Class<? extends SqlStatement> sqlStatementClass, final Class<? extends Database> sqlDatabaseClass, final int level) {
     	
         SqlGenerator generator = new SqlGenerator() {
@@ -4,7 +4,10 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import liquibase.statement.core.InsertOrUpdateStatement;
 import liquibase.database.core.OracleDatabase;
+import liquibase.sql.PreparedSql;
 import liquibase.sql.Sql;
+
+import java.util.Arrays;
 import static junit.framework.Assert.assertTrue;
 
 
@@ -79,4 +82,26 @@ END;*/
 
     }
 
+    @Test
+    public void parameterizedSqlIsSameForSameColumns(){
+        OracleDatabase database = new OracleDatabase();
+        InsertOrUpdateGeneratorOracle generator = new InsertOrUpdateGeneratorOracle();
+        InsertOrUpdateStatement statement1 = new InsertOrUpdateStatement("myschema","mytable","pk_col1");
+        statement1.addColumnValue("pk_col1","value1");
+        statement1.addColumnValue("col2","value2");
+        InsertOrUpdateStatement statement2 = new InsertOrUpdateStatement("myschema","mytable","pk_col1");
+        statement2.addColumnValue("pk_col1","other1");
+        statement2.addColumnValue("col2","other2");
+
+        PreparedSql sql1 = (PreparedSql) generator.generateSql(statement1, database, null)[0];
+        PreparedSql sql2 = (PreparedSql) generator.generateSql(statement2, database, null)[0];
+
+        assertEquals(sql1.getParameterizedSql(), sql2.getParameterizedSql());
+        assertTrue(sql1.getParameterizedSql().contains("SELECT COUNT(*) INTO v_reccount FROM myschema.mytable WHERE pk_col1 = ?;"));
+        assertTrue(sql1.getParameterizedSql().contains("INSERT INTO myschema.mytable (col2, pk_col1) VALUES (?, ?);"));
+        assertTrue(sql1.getParameterizedSql().contains("UPDATE myschema.mytable SET col2 = ? WHERE pk_col1 = ?;"));
+        assertEquals(Arrays.asList((Object) "value1", "value2", "value1", "value2", "value1"), sql1.getParameters());
+        assertTrue(sql1.toSql().contains("INSERT INTO myschema.mytable (col2, pk_col1) VALUES ('value2', 'value1');"));
+    }
+
 }
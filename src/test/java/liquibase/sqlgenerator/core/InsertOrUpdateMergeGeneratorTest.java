@@ -0,0 +1,60 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.statement.core.InsertOrUpdateStatement;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class InsertOrUpdateMergeGeneratorTest {
+
+    @Test
+    public void generateSql() {
+        Sql[] sql = new InsertOrUpdateMergeGeneratorOracle().generateSql(createStatement("value1", "value2"), new OracleDatabase(), null);
+        assertEquals(1, sql.length);
+        assertEquals("MERGE INTO myschema.mytable t USING dual ON (t.pk_col1 = 'value1')"
+                + " WHEN MATCHED THEN UPDATE SET col2 = 'value2'"
+                + " WHEN NOT MATCHED THEN INSERT (col2, pk_col1) VALUES ('value2', 'value1')", sql[0].toSql());
+        assertEquals(Arrays.asList((Object) "value1", "value2", "value2", "value1"), ((PreparedSql) sql[0]).getParameters());
+    }
+
+    @Test
+    public void parameterizedSqlIsSameForSameColumns() {
+        InsertOrUpdateMergeGeneratorMSSQL generator = new InsertOrUpdateMergeGeneratorMSSQL();
+        PreparedSql sql1 = (PreparedSql) generator.generateSql(createStatement("value1", "value2"), new MSSQLDatabase(), null)[0];
+        PreparedSql sql2 = (PreparedSql) generator.generateSql(createStatement("other1", "other2"), new MSSQLDatabase(), null)[0];
+
+        assertEquals(sql1.getParameterizedSql(), sql2.getParameterizedSql());
+        assertTrue(sql1.getParameterizedSql().endsWith("WHEN NOT MATCHED THEN INSERT ([col2], [pk_col1]) VALUES (?, ?);"));
+    }
+
+    @Test
+    public void onlyPrimaryKeyColumns() {
+        InsertOrUpdateStatement statement = new InsertOrUpdateStatement(null, "mytable", "pk_col1");
+        statement.addColumnValue("pk_col1", 1);
+
+        assertEquals("MERGE INTO mytable t USING dual ON (t.pk_col1 = 1) WHEN NOT MATCHED THEN INSERT (pk_col1) VALUES (1)",
+                new InsertOrUpdateMergeGeneratorOracle().generateSql(statement, new OracleDatabase(), null)[0].toSql());
+        assertEquals("INSERT INTO mytable (pk_col1) VALUES (1) ON CONFLICT (pk_col1) DO NOTHING",
+                new InsertOrUpdateOnConflictGeneratorPostgres().generateSql(statement, new PostgresDatabase(), null)[0].toSql());
+    }
+
+    @Test
+    public void onConflict() {
+        Sql[] sql = new InsertOrUpdateOnConflictGeneratorPostgres().generateSql(createStatement("value1", "value2"), new PostgresDatabase(), null);
+        assertEquals("INSERT INTO myschema.mytable (col2, pk_col1) VALUES (?, ?) ON CONFLICT (pk_col1) DO UPDATE SET col2 = EXCLUDED.col2",
+                ((PreparedSql) sql[0]).getParameterizedSql());
+    }
+
+    private InsertOrUpdateStatement createStatement(String pkValue, String value) {
+        InsertOrUpdateStatement statement = new InsertOrUpdateStatement("myschema", "mytable", "pk_col1");
+        statement.addColumnValue("pk_col1", pkValue);
+        statement.addColumnValue("col2", value);
+        return statement;
+    }
+}
@@ -0,0 +1,70 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.SQLiteDatabase;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.statement.core.InsertStatement;
+import liquibase.statement.core.MultiRowInsertStatement;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class MultiRowInsertGeneratorTest {
+
+    @Test
+    public void generateSql() {
+        MultiRowInsertStatement statement = new MultiRowInsertStatement(null, "mytable");
+        statement.addRow(new InsertStatement(null, "mytable").addColumnValue("name", "it's").addColumnValue("id", 1).getColumnValues());
+        statement.addRow(new InsertStatement(null, "mytable").addColumnValue("name", null).addColumnValue("id", 2).getColumnValues());
+
+        Sql[] sql = new MultiRowInsertGeneratorMySQL().generateSql(statement, new MySQLDatabase(), null);
+        assertEquals(1, sql.length);
+        assertEquals("INSERT INTO `mytable` (`id`, `name`) VALUES (1, 'it''s'), (2, NULL)", sql[0].toSql());
+        assertEquals("INSERT INTO `mytable` (`id`, `name`) VALUES (?, ?), (?, NULL)", ((PreparedSql) sql[0]).getParameterizedSql());
+    }
+
+    @Test
+    public void rowsAreSplitByParameterLimit() {
+        MultiRowInsertStatement statement = new MultiRowInsertStatement(null, "mytable");
+        for (int i = 0; i < 700; i++) {
+            statement.addRow(new InsertStatement(null, "mytable").addColumnValue("a", i).addColumnValue("b", i).addColumnValue("c", i).getColumnValues());
+        }
+
+        //SQLite allows 999 parameters, so 333 rows of 3 columns
+        Sql[] sql = new MultiRowInsertGeneratorSQLite().generateSql(statement, new SQLiteDatabase(), null);
+        assertEquals(3, sql.length);
+        assertEquals(999, ((PreparedSql) sql[0]).getParameters().size());
+        assertEquals(((PreparedSql) sql[0]).getParameterizedSql(), ((PreparedSql) sql[1]).getParameterizedSql());
+        assertEquals(102, ((PreparedSql) sql[2]).getParameters().size());
+    }
+
+    @Test
+    public void rowsAreSplitByByteLimit() {
+        StringBuffer value = new StringBuffer();
+        for (int i = 0; i < 10000; i++) {
+            value.append('x');
+        }
+        MultiRowInsertStatement statement = new MultiRowInsertStatement(null, "mytable");
+        for (int i = 0; i < 300; i++) {
+            statement.addRow(new InsertStatement(null, "mytable").addColumnValue("id", i).addColumnValue("text", value.toString()).getColumnValues());
+        }
+
+        //MySQL statements must fit in 1MB, so far fewer than the 1000 rows allowed per statement
+        MultiRowInsertGeneratorMySQL generator = new MultiRowInsertGeneratorMySQL();
+        Sql[] sql = generator.generateSql(statement, new MySQLDatabase(), null);
+        int rowsPerStatement = generator.getRowsPerStatement(statement, new MySQLDatabase());
+        assertTrue(rowsPerStatement > 1 && rowsPerStatement < 300);
+        assertEquals((300 + rowsPerStatement - 1) / rowsPerStatement, sql.length);
+        for (Sql generated : sql) {
+            assertTrue(generated.toSql().length() <= 1024 * 1024);
+        }
+        assertEquals(rowsPerStatement * 2, ((PreparedSql) sql[0]).getParameters().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowsMustHaveSameColumns() {
+        MultiRowInsertStatement statement = new MultiRowInsertStatement(null, "mytable");
+        statement.addRow(new InsertStatement(null, "mytable").addColumnValue("a", 1).getColumnValues());
+        statement.addRow(new InsertStatement(null, "mytable").addColumnValue("b", 1).getColumnValues());
+    }
+}
@@ -1,6 +1,41 @@
 package liquibase.sqlgenerator.core;
 
-public abstract class UpdateGeneratorTest {
+import liquibase.database.core.H2Database;
+import liquibase.sql.PreparedSql;
+import liquibase.sql.Sql;
+import liquibase.statement.core.UpdateStatement;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class UpdateGeneratorTest {
+
+    @Test
+    public void generateSql_whereParametersArePositional() {
+        UpdateStatement statement = new UpdateStatement(null, "mytable")
+                .addNewColumnValue("name", "new")
+                .setWhereClause("a=? AND b=? AND c=?")
+                .addWhereParameters("what?", "$1 and \\0", 3);
+
+        Sql[] sql = new UpdateGenerator().generateSql(statement, new H2Database(), null);
+        assertEquals(1, sql.length);
+        assertEquals("UPDATE mytable SET name = 'new' WHERE a='what?' AND b='$1 and \\0' AND c=3", sql[0].toSql());
+        assertEquals("UPDATE mytable SET name = ? WHERE a=? AND b=? AND c=?", ((PreparedSql) sql[0]).getParameterizedSql());
+        assertEquals(Arrays.asList((Object) "new", "what?", "$1 and \\0", 3), ((PreparedSql) sql[0]).getParameters());
+    }
+
+    @Test
+    public void generateSql_extraWhereParametersAreIgnored() {
+        UpdateStatement statement = new UpdateStatement(null, "mytable")
+                .addNewColumnValue("name", null)
+                .setWhereClause("a=?")
+                .addWhereParameters("x", "y");
+
+        Sql[] sql = new UpdateGenerator().generateSql(statement, new H2Database(), null);
+        assertEquals("UPDATE mytable SET name = NULL WHERE a='x'", sql[0].toSql());
+        assertEquals("UPDATE mytable SET name = NULL WHERE a=?", ((PreparedSql) sql[0]).getParameterizedSql());
+    }
 ////    @Test
 ////    public void addNewColumnValue_nullValue() throws Exception {
 ////        new DatabaseTestTemplate().testOnAllDatabases(new DatabaseTest() {
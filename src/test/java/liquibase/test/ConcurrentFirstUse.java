@@ -0,0 +1,50 @@
+package liquibase.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the first use of a lazily loaded singleton from several threads at once, for tests that check no thread sees it
+ * partly loaded.
+ */
+public class ConcurrentFirstUse {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    /**
+     * Runs a number of rounds that each call reset and then the given first use from all threads together, released at
+     * the same moment.  Returns what every call returned, in no particular order.
+     */
+    public static <T> List<T> run(Runnable reset, final Callable<T> firstUse) throws Exception {
+        List<T> results = new ArrayList<T>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                reset.run();
+                final CountDownLatch start = new CountDownLatch(1);
+                List<Future<T>> futures = new ArrayList<Future<T>>();
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(executor.submit(new Callable<T>() {
+                        public T call() throws Exception {
+                            start.await();
+                            return firstUse.call();
+                        }
+                    }));
+                }
+                start.countDown();
+                for (Future<T> future : futures) {
+                    results.add(future.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+}
@@ -4,6 +4,10 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Random;
 
 public class MD5UtilTest {
 
@@ -35,4 +39,34 @@ public class MD5UtilTest {
 		assertEquals(TEST_STRING_MD5_HASH, hexString);
 	}
 
+	@Test
+	public void testComputeMD5LargeString() throws Exception {
+		StringBuffer buffer = new StringBuffer();
+		while (buffer.length() < 200000) {
+			buffer.append("caf\u00e9 \u4e2d \ud83d\ude00 \ud800 ");
+		}
+		String input = buffer.toString();
+
+		assertEquals(MD5Util.computeMD5(new ByteArrayInputStream(input.getBytes("UTF-8"))), MD5Util.computeMD5(input));
+	}
+
+	@Test
+	public void testComputeMD5FileInputStream() throws Exception {
+		byte[] bytes = new byte[3 * 1024 * 1024];
+		new Random().nextBytes(bytes);
+		File file = File.createTempFile("md5util", ".dat");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(bytes);
+		out.close();
+
+		FileInputStream in = new FileInputStream(file);
+		try {
+			assertEquals(MD5Util.computeMD5(new ByteArrayInputStream(bytes)), MD5Util.computeMD5(in));
+		} finally {
+			in.close();
+		}
+		assertTrue("the file is not held open after the stream is closed", file.delete());
+	}
+
 }
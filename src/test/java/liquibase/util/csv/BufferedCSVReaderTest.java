@@ -0,0 +1,120 @@
+package liquibase.util.csv;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BufferedCSVReaderTest {
+
+    private static final String[] SAMPLES = new String[]{
+            "",
+            "a",
+            "a,b,c",
+            "a,b,c\n",
+            "a,b\n\nc,d\n",
+            "a,b\r\nc,d\r\n",
+            "a,b\rc,d\r",
+            "a,,\n,b,\n",
+            "\"a\",\"b,c\",d",
+            "\"a \"\"quoted\"\" value\",b",
+            "\"\"\"\",\"\"",
+            "\"multi\nline\",b\nc,d",
+            "\"multi\r\nline\r\nvalue\",b",
+            "\"unterminated\nvalue",
+            "\"unterminated\n",
+            "ab\"cd\"ef,g",
+            "abcd\"ef,g",
+            "a\"b,c",
+            "x,abc\"d\",e",
+            "\"a\"b,c",
+            "a,b\"\"c,d",
+            "  a , b  ,  ",
+            "id,name\n1,\"one\"\n2,\"two, \"\"2\"\"\"\n3,NULL\n",
+    };
+
+    @Test
+    public void sameRecordsAsCSVReader() throws IOException {
+        for (String sample : SAMPLES) {
+            for (int bufferSize = 2; bufferSize <= 8; bufferSize++) {
+                assertSameRecords(sample, ',', '"', 0, bufferSize);
+            }
+            assertSameRecords(sample, ',', '"', 0, BufferedCSVReader.DEFAULT_BUFFER_SIZE);
+            assertSameRecords(sample, ',', '"', 1, 3);
+            assertSameRecords(sample, ';', '\'', 0, 3);
+        }
+    }
+
+    @Test
+    public void sameRecordsAsCSVReaderForRandomInput() throws IOException {
+        Random random = new Random(42);
+        char[] alphabet = new char[]{'a', 'b', ' ', ',', ',', '"', '"', '\n', '\r', ';'};
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sample = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                sample.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertSameRecords(sample.toString(), ',', '"', 0, 2 + random.nextInt(6));
+            assertSameRecords(sample.toString(), ',', '"', random.nextInt(3), 2 + random.nextInt(6));
+        }
+    }
+
+    @Test
+    public void fieldSlices() throws IOException {
+        BufferedCSVReader reader = new BufferedCSVReader(new StringReader("id,name\n1,\"a \"\"b\"\"\"\n  ,null\n"));
+
+        assertTrue(reader.next());
+        assertEquals(2, reader.getFieldCount());
+        assertEquals("name", new String(reader.getChars(), reader.getFieldOffset(1), reader.getFieldLength(1)));
+
+        assertTrue(reader.next());
+        assertEquals("1", reader.getField(0));
+        assertEquals("a \"b\"", reader.getField(1));
+        assertFalse(reader.isFieldBlank(1));
+
+        assertTrue(reader.next());
+        assertTrue(reader.isFieldBlank(0));
+        assertTrue(reader.fieldEqualsIgnoreCase(1, "NULL"));
+        assertFalse(reader.fieldEqualsIgnoreCase(1, "NUL"));
+
+        assertFalse(reader.next());
+        assertNull(reader.readNext());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fieldOutOfRange() throws IOException {
+        BufferedCSVReader reader = new BufferedCSVReader(new StringReader("a,b"));
+        reader.next();
+        reader.getField(2);
+    }
+
+    private void assertSameRecords(String sample, char separator, char quotechar, int skipLines, int bufferSize) throws IOException {
+        List<String> expected = new ArrayList<String>();
+        CSVReader csvReader = new CSVReader(new StringReader(sample), separator, quotechar, skipLines);
+        String[] record;
+        while ((record = csvReader.readNext()) != null) {
+            expected.add(toString(record));
+        }
+
+        List<String> actual = new ArrayList<String>();
+        BufferedCSVReader bufferedReader = new BufferedCSVReader(new StringReader(sample), separator, quotechar, skipLines, bufferSize);
+        while ((record = bufferedReader.readNext()) != null) {
+            actual.add(toString(record));
+        }
+
+        assertEquals("Records of [" + sample + "] with buffer size " + bufferSize + " and " + skipLines + " skipped lines", expected, actual);
+    }
+
+    private String toString(String[] record) {
+        StringBuilder string = new StringBuilder("[");
+        for (String value : record) {
+            string.append("<").append(value).append(">");
+        }
+        return string.append("]").toString();
+    }
+}
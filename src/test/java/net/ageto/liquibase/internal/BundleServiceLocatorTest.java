@@ -0,0 +1,156 @@
+package net.ageto.liquibase.internal;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Hashtable;
+import java.util.List;
+
+import liquibase.change.Change;
+import liquibase.change.ChangeFactory;
+import liquibase.change.core.AddColumnChange;
+import liquibase.change.core.CreateTableChange;
+import liquibase.precondition.core.TableExistsPrecondition;
+import liquibase.servicelocator.ServiceLocator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.wiring.BundleWiring;
+
+public class BundleServiceLocatorTest {
+
+	private BundleServiceLocator serviceLocator;
+
+	@Before
+	public void setup() {
+		serviceLocator = new BundleServiceLocator();
+		ServiceLocator.setInstance(serviceLocator);
+		ChangeFactory.reset();
+	}
+
+	@After
+	public void cleanup() {
+		ServiceLocator.reset();
+		ChangeFactory.reset();
+	}
+
+	@Test
+	public void addedBundleIsFoundByEarlierLookups() throws Exception {
+		assertEquals(0, serviceLocator.findClasses(Change.class).length);
+		final ChangeFactory changeFactory = ChangeFactory.getInstance();
+
+		serviceLocator.addBundle(bundle("changes", AddColumnChange.class));
+
+		assertEquals(Arrays.<Class<?>> asList(AddColumnChange.class), Arrays.asList(serviceLocator.findClasses(Change.class)));
+		assertNotSame("factories are reset to find the new services", changeFactory, ChangeFactory.getInstance());
+		assertNotNull(ChangeFactory.getInstance().create("addColumn"));
+	}
+
+	@Test
+	public void addedBundleWithoutLookedUpServicesKeepsFactories() throws Exception {
+		serviceLocator.addBundle(bundle("changes", AddColumnChange.class));
+		assertEquals(1, serviceLocator.findClasses(Change.class).length);
+		final ChangeFactory changeFactory = ChangeFactory.getInstance();
+
+		serviceLocator.addBundle(bundle("preconditions", TableExistsPrecondition.class));
+
+		assertSame(changeFactory, ChangeFactory.getInstance());
+		assertEquals(1, serviceLocator.findClasses(Change.class).length);
+	}
+
+	@Test
+	public void removedBundleIsNoLongerFound() throws Exception {
+		final LiquibaseBundle addColumn = bundle("addColumn", AddColumnChange.class);
+		serviceLocator.addBundle(addColumn);
+		serviceLocator.addBundle(bundle("createTable", CreateTableChange.class));
+		assertEquals(2, serviceLocator.findClasses(Change.class).length);
+		final ChangeFactory changeFactory = ChangeFactory.getInstance();
+
+		serviceLocator.removeBundle(addColumn);
+
+		assertEquals(Arrays.<Class<?>> asList(CreateTableChange.class), Arrays.asList(serviceLocator.findClasses(Change.class)));
+		assertNotSame("factories are reset to drop the removed services", changeFactory, ChangeFactory.getInstance());
+		assertNull(ChangeFactory.getInstance().create("addColumn"));
+	}
+
+	@Test
+	public void removedBundleWithoutLookedUpServicesKeepsFactories() throws Exception {
+		final LiquibaseBundle preconditions = bundle("preconditions", TableExistsPrecondition.class);
+		serviceLocator.addBundle(bundle("changes", AddColumnChange.class));
+		serviceLocator.addBundle(preconditions);
+		assertEquals(1, serviceLocator.findClasses(Change.class).length);
+		final ChangeFactory changeFactory = ChangeFactory.getInstance();
+
+		serviceLocator.removeBundle(preconditions);
+
+		assertSame(changeFactory, ChangeFactory.getInstance());
+		assertEquals(1, serviceLocator.findClasses(Change.class).length);
+	}
+
+	@Test
+	public void bundleWithoutHeaderIsIgnored() {
+		assertNull(LiquibaseBundle.create(bundle(new Hashtable<String, String>(), new ArrayList<String>()), serviceLocator.getServiceLocatorLogger()));
+	}
+
+	/**
+	 * Returns a bundle without a service index whose wiring lists the given classes, declaring their packages.
+	 */
+	private LiquibaseBundle bundle(final String name, final Class<?>... classes) {
+		final Hashtable<String, String> headers = new Hashtable<String, String>();
+		final List<String> resources = new ArrayList<String>();
+		final StringBuilder packages = new StringBuilder();
+		for (final Class<?> clazz : classes) {
+			resources.add(clazz.getName().replace('.', '/') + ".class");
+			packages.append(packages.length() > 0 ? "," : "").append(clazz.getPackage().getName());
+		}
+		headers.put(LiquibaseBundle.LIQUIBASE_PACKAGE, packages.toString());
+		headers.put("Bundle-SymbolicName", name);
+		return LiquibaseBundle.create(bundle(headers, resources), serviceLocator.getServiceLocatorLogger());
+	}
+
+	private Bundle bundle(final Hashtable<String, String> headers, final Collection<String> resources) {
+		final BundleWiring wiring = (BundleWiring) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BundleWiring.class }, new InvocationHandler() {
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				if (method.getName().equals("listResources")) {
+					final List<String> listed = new ArrayList<String>();
+					for (final String resource : resources) {
+						if (resource.startsWith(args[0] + "/")) {
+							listed.add(resource);
+						}
+					}
+					return listed;
+				}
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+		return (Bundle) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Bundle.class }, new InvocationHandler() {
+			public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+				if (method.getName().equals("getHeaders")) {
+					return headers;
+				} else if (method.getName().equals("getSymbolicName")) {
+					return headers.get("Bundle-SymbolicName");
+				} else if (method.getName().equals("adapt")) {
+					return args[0] == BundleWiring.class ? wiring : null;
+				} else if (method.getName().equals("loadClass")) {
+					return Class.forName((String) args[0]);
+				} else if (method.getName().equals("getEntry")) {
+					return null;
+				} else if (method.getName().equals("hashCode")) {
+					return System.identityHashCode(proxy);
+				} else if (method.getName().equals("equals")) {
+					return proxy == args[0];
+				} else if (method.getName().equals("toString")) {
+					return "bundle " + headers.get("Bundle-SymbolicName");
+				}
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+}